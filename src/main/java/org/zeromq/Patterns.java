@@ -5,12 +5,26 @@ import org.slf4j.LoggerFactory;
 import org.zeromq.api.BinaryStarReactor;
 import org.zeromq.api.CloneClient;
 import org.zeromq.api.CloneServer;
+import org.zeromq.api.MajordomoClient;
+import org.zeromq.api.ParanoidPirateBroker;
 import org.zeromq.api.Socket;
 import org.zeromq.jzmq.beacon.BeaconReactorBuilder;
 import org.zeromq.jzmq.bstar.BinaryStarReactorBuilder;
 import org.zeromq.jzmq.bstar.BinaryStarSocketBuilder;
 import org.zeromq.jzmq.clone.CloneClientBuilder;
 import org.zeromq.jzmq.clone.CloneServerBuilder;
+import org.zeromq.jzmq.durable.DurableBrokerBuilder;
+import org.zeromq.jzmq.freelance.FreelanceClientBuilder;
+import org.zeromq.jzmq.freelance.FreelanceServerBuilder;
+import org.zeromq.jzmq.majordomo.MajordomoBrokerBuilder;
+import org.zeromq.jzmq.majordomo.MajordomoWorkerBuilder;
+import org.zeromq.jzmq.pirate.ParanoidPirateBrokerBuilder;
+import org.zeromq.jzmq.pirate.ParanoidPirateWorkerBuilder;
+import org.zeromq.jzmq.pubsub.ReliablePublisherBuilder;
+import org.zeromq.jzmq.pubsub.ReliableSubscriberBuilder;
+import org.zeromq.jzmq.rpc.RpcClientBuilder;
+import org.zeromq.jzmq.rpc.RpcServerBuilder;
+import org.zeromq.jzmq.titanic.TitanicBuilder;
 
 /**
  * Class containing utility methods for creating objects for different patterns
@@ -121,6 +135,152 @@ public class Patterns {
             .build();
     }
 
+    /**
+     * Create a new Paranoid Pirate broker, which will route requests to idle
+     * workers and expire workers that stop sending heartbeats.
+     *
+     * @return A builder for constructing a ParanoidPirateBroker
+     */
+    public static ParanoidPirateBrokerBuilder buildParanoidPirateBroker() {
+        return ContextFactory.context().buildParanoidPirateBroker();
+    }
+
+    /**
+     * Create a new Paranoid Pirate broker and start it up.
+     *
+     * @param frontendUrl The url to bind for clients
+     * @param backendUrl The url to bind for workers
+     * @return A new ParanoidPirateBroker
+     */
+    public static ParanoidPirateBroker newParanoidPirateBroker(String frontendUrl, String backendUrl) {
+        return buildParanoidPirateBroker()
+            .withFrontendUrl(frontendUrl)
+            .withBackendUrl(backendUrl)
+            .start();
+    }
+
+    /**
+     * Create a new Paranoid Pirate worker, which will heartbeat with a broker
+     * and reconnect when the broker goes silent.
+     *
+     * @return A builder for constructing a ParanoidPirateWorker
+     */
+    public static ParanoidPirateWorkerBuilder buildParanoidPirateWorker() {
+        return ContextFactory.context().buildParanoidPirateWorker();
+    }
+
+    /**
+     * Create a new Majordomo broker, which will route requests by service
+     * name to workers over a single socket.
+     *
+     * @return A builder for constructing a MajordomoBroker
+     */
+    public static MajordomoBrokerBuilder buildMajordomoBroker() {
+        return ContextFactory.context().buildMajordomoBroker();
+    }
+
+    /**
+     * Create a new Majordomo worker, which will offer a service through a
+     * Majordomo broker.
+     *
+     * @return A builder for constructing a MajordomoWorker
+     */
+    public static MajordomoWorkerBuilder buildMajordomoWorker() {
+        return ContextFactory.context().buildMajordomoWorker();
+    }
+
+    /**
+     * Create a new Majordomo client, connected to a Majordomo broker.
+     *
+     * @param brokerUrl The broker's url to connect to
+     * @return A new MajordomoClient
+     */
+    public static MajordomoClient newMajordomoClient(String brokerUrl) {
+        return ContextFactory.context().buildMajordomoClient()
+            .withBrokerUrl(brokerUrl)
+            .build();
+    }
+
+    /**
+     * Create a new reliable publisher, which will stamp messages with
+     * sequence numbers and serve recovery requests for missed messages.
+     *
+     * @return A builder for constructing a ReliablePublisher
+     */
+    public static ReliablePublisherBuilder buildReliablePublisher() {
+        return ContextFactory.context().buildReliablePublisher();
+    }
+
+    /**
+     * Create a new reliable subscriber, which will detect gaps in the
+     * messages of a reliable publisher and recover the missing messages.
+     *
+     * @return A builder for constructing a ReliableSubscriber
+     */
+    public static ReliableSubscriberBuilder buildReliableSubscriber() {
+        return ContextFactory.context().buildReliableSubscriber();
+    }
+
+    /**
+     * Create a new durable broker, which will store messages in a log on
+     * disk and replay them to readers from any offset.
+     *
+     * @return A builder for constructing a DurableBroker
+     */
+    public static DurableBrokerBuilder buildDurableBroker() {
+        return ContextFactory.context().buildDurableBroker();
+    }
+
+    /**
+     * Create a new Titanic service, which will store requests to Majordomo
+     * services on disk and keep their replies until they are fetched.
+     *
+     * @return A builder for constructing a Titanic
+     */
+    public static TitanicBuilder buildTitanic() {
+        return ContextFactory.context().buildTitanic();
+    }
+
+    /**
+     * Create a new Freelance client, which will send requests to the fastest
+     * of several stateless servers.
+     *
+     * @return A builder for constructing a FreelanceClient
+     */
+    public static FreelanceClientBuilder buildFreelanceClient() {
+        return ContextFactory.context().buildFreelanceClient();
+    }
+
+    /**
+     * Create a new Freelance server, which will answer requests and pings
+     * from Freelance clients.
+     *
+     * @return A builder for constructing a FreelanceServer
+     */
+    public static FreelanceServerBuilder buildFreelanceServer() {
+        return ContextFactory.context().buildFreelanceServer();
+    }
+
+    /**
+     * Create a new RPC client, which will keep many requests in flight over
+     * a single socket and complete a future for each reply.
+     *
+     * @return A builder for constructing an RpcClient
+     */
+    public static RpcClientBuilder buildRpcClient() {
+        return ContextFactory.context().buildRpcClient();
+    }
+
+    /**
+     * Create a new RPC server, which will handle requests on a pool of
+     * worker threads.
+     *
+     * @return A builder for constructing an RpcServer
+     */
+    public static RpcServerBuilder buildRpcServer() {
+        return ContextFactory.context().buildRpcServer();
+    }
+
     /**
      * Create a new BeaconReactor, which will send and receive UDP beacons
      * on a broadcast address, with event-driven handling of received beacons.
@@ -4,6 +4,7 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 
 import org.zeromq.api.Backgroundable;
+import org.zeromq.api.Device;
 import org.zeromq.api.DeviceType;
 import org.zeromq.api.LoopHandler;
 import org.zeromq.api.PollListener;
@@ -226,9 +227,10 @@ public class Sockets {
      * @param deviceType The device type, specifying the pattern to use
      * @param frontendUrl The front-end socket which will be proxied to/from the back-end
      * @param backendUrl The back-end socket which will be proxied to/from the front-end
+     * @return A handle for steering and measuring the running device
      */
-    public static void start(DeviceType deviceType, String frontendUrl, String backendUrl) {
-        ContextFactory.context().buildDevice(deviceType)
+    public static Device start(DeviceType deviceType, String frontendUrl, String backendUrl) {
+        return ContextFactory.context().buildDevice(deviceType)
             .withFrontendUrl(frontendUrl)
             .withBackendUrl(backendUrl)
             .start();
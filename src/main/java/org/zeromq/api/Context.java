@@ -6,9 +6,23 @@ import org.zeromq.jzmq.bstar.BinaryStarSocketBuilder;
 import org.zeromq.jzmq.clone.CloneClientBuilder;
 import org.zeromq.jzmq.clone.CloneServerBuilder;
 import org.zeromq.jzmq.device.DeviceBuilder;
+import org.zeromq.jzmq.device.ProxyPipelineBuilder;
+import org.zeromq.jzmq.durable.DurableBrokerBuilder;
+import org.zeromq.jzmq.freelance.FreelanceClientBuilder;
+import org.zeromq.jzmq.freelance.FreelanceServerBuilder;
+import org.zeromq.jzmq.majordomo.MajordomoBrokerBuilder;
+import org.zeromq.jzmq.majordomo.MajordomoClientBuilder;
+import org.zeromq.jzmq.majordomo.MajordomoWorkerBuilder;
+import org.zeromq.jzmq.pubsub.ReliablePublisherBuilder;
+import org.zeromq.jzmq.pubsub.ReliableSubscriberBuilder;
+import org.zeromq.jzmq.pirate.ParanoidPirateBrokerBuilder;
+import org.zeromq.jzmq.pirate.ParanoidPirateWorkerBuilder;
 import org.zeromq.jzmq.poll.PollerBuilder;
 import org.zeromq.jzmq.reactor.ReactorBuilder;
+import org.zeromq.jzmq.rpc.RpcClientBuilder;
+import org.zeromq.jzmq.rpc.RpcServerBuilder;
 import org.zeromq.jzmq.sockets.SocketBuilder;
+import org.zeromq.jzmq.titanic.TitanicBuilder;
 
 import java.io.Closeable;
 import java.nio.channels.SelectableChannel;
@@ -85,6 +99,110 @@ public interface Context extends Closeable {
      */
     CloneClientBuilder buildCloneClient();
 
+    /**
+     * Create a new Paranoid Pirate broker, which will route requests to idle
+     * workers and expire workers that stop sending heartbeats.
+     *
+     * @return A builder for constructing a ParanoidPirateBroker
+     */
+    ParanoidPirateBrokerBuilder buildParanoidPirateBroker();
+
+    /**
+     * Create a new Paranoid Pirate worker, which will heartbeat with a broker
+     * and reconnect when the broker goes silent.
+     *
+     * @return A builder for constructing a ParanoidPirateWorker
+     */
+    ParanoidPirateWorkerBuilder buildParanoidPirateWorker();
+
+    /**
+     * Create a new Majordomo broker, which will route requests by service
+     * name to workers over a single socket.
+     *
+     * @return A builder for constructing a MajordomoBroker
+     */
+    MajordomoBrokerBuilder buildMajordomoBroker();
+
+    /**
+     * Create a new Majordomo worker, which will offer a service through a
+     * Majordomo broker.
+     *
+     * @return A builder for constructing a MajordomoWorker
+     */
+    MajordomoWorkerBuilder buildMajordomoWorker();
+
+    /**
+     * Create a new Majordomo client, for sending requests to services
+     * through a Majordomo broker.
+     *
+     * @return A builder for constructing a MajordomoClient
+     */
+    MajordomoClientBuilder buildMajordomoClient();
+
+    /**
+     * Create a new reliable publisher, which will stamp messages with
+     * sequence numbers and serve recovery requests for missed messages.
+     *
+     * @return A builder for constructing a ReliablePublisher
+     */
+    ReliablePublisherBuilder buildReliablePublisher();
+
+    /**
+     * Create a new reliable subscriber, which will detect gaps in the
+     * messages of a reliable publisher and recover the missing messages.
+     *
+     * @return A builder for constructing a ReliableSubscriber
+     */
+    ReliableSubscriberBuilder buildReliableSubscriber();
+
+    /**
+     * Create a new durable broker, which will store messages in a log on
+     * disk and replay them to readers from any offset.
+     *
+     * @return A builder for constructing a DurableBroker
+     */
+    DurableBrokerBuilder buildDurableBroker();
+
+    /**
+     * Create a new Titanic service, which will store requests to Majordomo
+     * services on disk and keep their replies until they are fetched.
+     *
+     * @return A builder for constructing a Titanic
+     */
+    TitanicBuilder buildTitanic();
+
+    /**
+     * Create a new Freelance client, which will send requests to the fastest
+     * of several stateless servers.
+     *
+     * @return A builder for constructing a FreelanceClient
+     */
+    FreelanceClientBuilder buildFreelanceClient();
+
+    /**
+     * Create a new Freelance server, which will answer requests and pings
+     * from Freelance clients.
+     *
+     * @return A builder for constructing a FreelanceServer
+     */
+    FreelanceServerBuilder buildFreelanceServer();
+
+    /**
+     * Create a new RPC client, which will keep many requests in flight over
+     * a single socket and complete a future for each reply.
+     *
+     * @return A builder for constructing an RpcClient
+     */
+    RpcClientBuilder buildRpcClient();
+
+    /**
+     * Create a new RPC server, which will handle requests on a pool of
+     * worker threads.
+     *
+     * @return A builder for constructing an RpcServer
+     */
+    RpcServerBuilder buildRpcServer();
+
     /**
      * Create a new BeaconReactor, which will send and receive UDP beacons
      * on a broadcast address, with event-driven handling of received beacons.
@@ -102,6 +220,15 @@ public interface Context extends Closeable {
      */
     DeviceBuilder buildDevice(DeviceType deviceType);
 
+    /**
+     * Create a proxy of type DeviceType, which will pass messages through a
+     * chain of stages before forwarding them between two networks.
+     *
+     * @param deviceType The device type, specifying the pattern to use
+     * @return A builder for constructing proxy pipelines
+     */
+    ProxyPipelineBuilder buildProxyPipeline(DeviceType deviceType);
+
     /**
      * Create a new Pollable from the socket, with the requested options.
      * 
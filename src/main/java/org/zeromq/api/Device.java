@@ -0,0 +1,53 @@
+package org.zeromq.api;
+
+/**
+ * A handle to a running ØMQ Device, which can be steered and measured while
+ * it is forwarding messages between its frontend and backend sockets.
+ * <p>
+ * Commands are delivered to the device thread over its control socket, and
+ * the same commands (PAUSE, RESUME, TERMINATE and STATISTICS) can be sent to
+ * the control url of the device by any other process.
+ */
+public interface Device {
+    String PAUSE = "PAUSE";
+    String RESUME = "RESUME";
+    String TERMINATE = "TERMINATE";
+    String STATISTICS = "STATISTICS";
+
+    /**
+     * Stop forwarding messages, without closing the device sockets. Messages
+     * queue up in the frontend and backend sockets until the device is resumed.
+     */
+    void pause();
+
+    /**
+     * Resume forwarding messages after a call to {@link #pause()}.
+     */
+    void resume();
+
+    /**
+     * Stop the device thread and close the device sockets. Returns when the
+     * device thread has exited.
+     */
+    void terminate();
+
+    /**
+     * @return The number of messages received on the frontend socket
+     */
+    long getFrontendMessages();
+
+    /**
+     * @return The number of bytes received on the frontend socket
+     */
+    long getFrontendBytes();
+
+    /**
+     * @return The number of messages received on the backend socket
+     */
+    long getBackendMessages();
+
+    /**
+     * @return The number of bytes received on the backend socket
+     */
+    long getBackendBytes();
+}
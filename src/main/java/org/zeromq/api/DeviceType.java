@@ -19,7 +19,19 @@ public enum DeviceType {
      * a set of services. Requests are fair-queued from frontend connections and load-balanced between backend
      * connections. Replies automatically return to the client that made the original request.
      */
-    QUEUE(3);
+    QUEUE(3),
+    /**
+     * LOAD_BALANCER collects requests from a set of clients on a ROUTER frontend, and routes each one to a worker
+     * that is known to be idle on a ROUTER backend. Workers announce themselves with a READY message, and become idle
+     * again when they reply. Replies automatically return to the client that made the original request.
+     */
+    LOAD_BALANCER(4),
+    /**
+     * LAST_VALUE_CACHE forwards messages from a set of publishers to a set of subscribers like FORWARDER, and keeps
+     * the latest message of each topic. When a subscriber subscribes, the cached messages matching its subscription
+     * are sent immediately, so it does not wait for the next update of each topic.
+     */
+    LAST_VALUE_CACHE(5);
 
     private final int type;
 
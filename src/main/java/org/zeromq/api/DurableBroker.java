@@ -0,0 +1,47 @@
+package org.zeromq.api;
+
+/**
+ * Broker which appends every message it receives to a log of memory-mapped
+ * segment files on disk, and replays the log to readers from any offset or
+ * time. A reader which has caught up with the log keeps receiving new
+ * messages as they are appended.
+ * <p>
+ * Readers connect a DEALER socket to the replay url and send one of the
+ * following commands, each preceded by an empty delimiter frame:
+ * <ul>
+ * <li>{@link #REPLAY} and an offset, to receive messages from that offset</li>
+ * <li>{@link #SEEK} and a timestamp, to receive messages appended at or after that time</li>
+ * <li>{@link #STOP}, to stop receiving messages</li>
+ * </ul>
+ * Each message is delivered as an empty delimiter frame, its offset, its
+ * timestamp and its original frames.
+ */
+public interface DurableBroker {
+    String REPLAY = "REPLAY";
+    String SEEK = "SEEK";
+    String STOP = "STOP";
+
+    int SEGMENT_SIZE = 64 * 1024 * 1024;
+    long FLUSH_INTERVAL = 1000;
+    int BATCH_SIZE = 100;
+
+    /**
+     * Start the underlying Reactor.
+     */
+    void start();
+
+    /**
+     * Stop the underlying Reactor, and flush and close the log.
+     */
+    void stop();
+
+    /**
+     * @return The offset of the oldest message still in the log
+     */
+    long getStartOffset();
+
+    /**
+     * @return The offset the next message will be appended at
+     */
+    long getEndOffset();
+}
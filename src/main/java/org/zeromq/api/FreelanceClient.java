@@ -0,0 +1,30 @@
+package org.zeromq.api;
+
+/**
+ * Brokerless client for a set of stateless {@link FreelanceServer}s. The
+ * client pings every server and tracks its latency, and sends each request
+ * to the fastest live server. In hedged mode, a request still unanswered
+ * after a delay adapted to recent request latencies is also sent to the
+ * next fastest server, and whichever reply arrives first is used.
+ * <p>
+ * Like the socket it wraps, a client is not thread-safe.
+ */
+public interface FreelanceClient {
+    long PING_INTERVAL = 1000;
+    long SERVER_TTL = 3000;
+    int TIMEOUT = 2500;
+    long HEDGE_DELAY = 50;
+
+    /**
+     * Send a request and wait for the first reply.
+     *
+     * @param request The request body, of at least one frame
+     * @return The reply body, or null if no server replied within the timeout
+     */
+    Message request(Message request);
+
+    /**
+     * Stop the underlying Reactor and close the sockets.
+     */
+    void close();
+}
@@ -0,0 +1,17 @@
+package org.zeromq.api;
+
+/**
+ * Stateless server for {@link FreelanceClient}s, answering pings and
+ * handling requests on a single ROUTER socket.
+ */
+public interface FreelanceServer {
+    /**
+     * Start the underlying Reactor.
+     */
+    void start();
+
+    /**
+     * Stop the underlying Reactor.
+     */
+    void stop();
+}
@@ -0,0 +1,31 @@
+package org.zeromq.api;
+
+/**
+ * A service-oriented broker implementing the Majordomo Protocol (MDP/0.1).
+ * Clients and workers share a single ROUTER socket, and requests are routed
+ * by service name to the least recently used idle worker for that service.
+ * <p>
+ * The broker also answers {@code mmi.service} requests, replying "200" when
+ * the named service has workers and "404" when it does not.
+ * <p>
+ * A worker is expired when it stays silent for the heartbeat liveness while
+ * idle, or for the request timeout while handling a request. Requests waiting
+ * for a worker are bounded, and requests beyond the bound, or still waiting
+ * after the request timeout, are dropped.
+ */
+public interface MajordomoBroker {
+    long HEARTBEAT_INTERVAL = 2500;
+    int HEARTBEAT_LIVENESS = 3;
+    long REQUEST_TIMEOUT = 60000;
+    int MAX_REQUESTS = 10000;
+
+    /**
+     * Start the underlying Reactor.
+     */
+    void start();
+
+    /**
+     * Stop the underlying Reactor.
+     */
+    void stop();
+}
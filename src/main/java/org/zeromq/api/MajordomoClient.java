@@ -0,0 +1,39 @@
+package org.zeromq.api;
+
+/**
+ * A client for services offered through a {@link MajordomoBroker}. Requests
+ * may be pipelined by calling {@link #send} several times before receiving
+ * the replies, which arrive in the order each service answers them.
+ * <p>
+ * Like the socket it wraps, a client is not thread-safe.
+ */
+public interface MajordomoClient {
+    /**
+     * Send a request to the named service without waiting for the reply.
+     *
+     * @param service The service name
+     * @param request The request body
+     */
+    void send(String service, Message request);
+
+    /**
+     * Receive the next reply, waiting at most for the configured timeout.
+     *
+     * @return The reply body, or null if the timeout expired
+     */
+    Message receive();
+
+    /**
+     * Send a request to the named service and wait for its reply.
+     *
+     * @param service The service name
+     * @param request The request body
+     * @return The reply body, or null if the timeout expired
+     */
+    Message request(String service, Message request);
+
+    /**
+     * Close the underlying socket.
+     */
+    void close();
+}
@@ -0,0 +1,21 @@
+package org.zeromq.api;
+
+/**
+ * A worker offering a single service through a {@link MajordomoBroker}.
+ * Heartbeats with the broker, and reconnects with exponential backoff when
+ * the broker goes silent or disconnects the worker.
+ */
+public interface MajordomoWorker {
+    long RECONNECT_INTERVAL = 2500;
+    long RECONNECT_INTERVAL_MAX = 32000;
+
+    /**
+     * Start the underlying Reactor.
+     */
+    void start();
+
+    /**
+     * Stop the underlying Reactor.
+     */
+    void stop();
+}
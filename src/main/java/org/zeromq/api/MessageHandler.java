@@ -0,0 +1,20 @@
+package org.zeromq.api;
+
+/**
+ * Callback from within an event-driven reactor, invoked with a message that
+ * has already been received from a socket.
+ */
+public interface MessageHandler {
+    /**
+     * Handle a received message.
+     * <p>
+     * When invoked on a worker thread, replies must not be sent directly on
+     * the socket. Use {@link Reactor#send(Socket, Message)} instead, which
+     * sends the reply from the reactor thread.
+     * 
+     * @param reactor The Reactor
+     * @param socket The socket the message was received on
+     * @param message The received message
+     */
+    void execute(Reactor reactor, Socket socket, Message message);
+}
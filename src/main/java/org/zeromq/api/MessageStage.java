@@ -0,0 +1,16 @@
+package org.zeromq.api;
+
+/**
+ * A filter or transform applied to each message forwarded by a
+ * {@link ProxyPipeline}.
+ */
+public interface MessageStage {
+    /**
+     * Process a message on its way through the proxy. The message contains
+     * every frame received, including any routing envelope.
+     *
+     * @param message The message received, or returned by the previous stage
+     * @return The message to forward, or null to drop it
+     */
+    Message process(Message message);
+}
@@ -0,0 +1,21 @@
+package org.zeromq.api;
+
+/**
+ * A reliable request-reply broker implementing the Paranoid Pirate pattern.
+ * Requests from clients are routed to the least recently used idle worker,
+ * and workers which stop sending heartbeats are expired.
+ */
+public interface ParanoidPirateBroker {
+    long HEARTBEAT_INTERVAL = 1000;
+    int HEARTBEAT_LIVENESS = 3;
+
+    /**
+     * Start the underlying Reactor.
+     */
+    void start();
+
+    /**
+     * Stop the underlying Reactor.
+     */
+    void stop();
+}
@@ -0,0 +1,21 @@
+package org.zeromq.api;
+
+/**
+ * A worker connected to a {@link ParanoidPirateBroker}, which heartbeats with
+ * the broker and reconnects with exponential backoff when the broker goes
+ * silent.
+ */
+public interface ParanoidPirateWorker {
+    long RECONNECT_INTERVAL = 1000;
+    long RECONNECT_INTERVAL_MAX = 32000;
+
+    /**
+     * Start the underlying Reactor.
+     */
+    void start();
+
+    /**
+     * Stop the underlying Reactor.
+     */
+    void stop();
+}
@@ -1,11 +1,12 @@
 package org.zeromq.api;
 
+import java.io.Closeable;
 import java.nio.channels.SelectableChannel;
 
 /**
  * Poller for polling sockets and receiving callbacks for events.
  */
-public interface Poller {
+public interface Poller extends Closeable {
 
     /**
      * Poll a socket indefinitely.
@@ -53,6 +54,25 @@ public interface Poller {
      */
     boolean disable(SelectableChannel channel);
 
+    /**
+     * Enable a poll item in the poller after it has been disabled.
+     *
+     * @param pollable The pollable registered with the poller to be enabled
+     * @return The new index of the pollable in the poller, for reference
+     */
+    int enable(Pollable pollable);
+
+    /**
+     * Disable a poll item in the poller, preventing it from waking up the
+     * thread when events occur on it. Unlike {@link #disable(Socket)}, this
+     * only affects the given pollable when a socket is registered more than
+     * once (e.g. separately for input and output).
+     *
+     * @param pollable The pollable registered with the poller to be disabled
+     * @return true if the pollable was disabled, false otherwise
+     */
+    boolean disable(Pollable pollable);
+
     /**
      * Register a new poll item.
      *
@@ -78,4 +98,19 @@ public interface Poller {
      */
     boolean unregister(SelectableChannel channel);
 
+    /**
+     * Unregister a poll item from the poller.
+     *
+     * @param pollable The pollable registered with the poller to be unregistered
+     * @return true if the pollable was unregistered, false otherwise
+     */
+    boolean unregister(Pollable pollable);
+
+    /**
+     * Release the resources held by the poller, such as its selector. The
+     * registered sockets and channels are not closed.
+     */
+    @Override
+    void close();
+
 }
\ No newline at end of file
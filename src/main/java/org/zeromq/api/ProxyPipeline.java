@@ -0,0 +1,19 @@
+package org.zeromq.api;
+
+/**
+ * A steerable proxy which passes every message through a chain of
+ * {@link MessageStage}s before forwarding it.
+ */
+public interface ProxyPipeline extends Device {
+    /**
+     * @param stage A stage of this pipeline
+     * @return The total time spent in the stage, in nanoseconds
+     */
+    long getStageTime(MessageStage stage);
+
+    /**
+     * @param stage A stage of this pipeline
+     * @return The number of messages dropped by the stage
+     */
+    long getStageDrops(MessageStage stage);
+}
@@ -1,9 +1,48 @@
 package org.zeromq.api;
 
+import java.util.concurrent.Executor;
+
 /**
  * An event-driven reactor.
  */
 public interface Reactor {
+    /**
+     * Policies for fixed-rate timers which fall behind their schedule.
+     */
+    enum CatchUp {
+        /**
+         * Fire every missed run, back to back, until caught up.
+         */
+        FIRE_ALL,
+        /**
+         * Fire once when late, and drop the missed runs.
+         */
+        SKIP,
+        /**
+         * Fire once when late, counting the missed runs toward the number of
+         * iterations.
+         */
+        COALESCE
+    }
+
+    /**
+     * Priority classes for pollables.
+     */
+    enum Priority {
+        /**
+         * Always serviced first, on every loop iteration.
+         */
+        HIGH,
+        /**
+         * Serviced after high priority pollables. This is the default.
+         */
+        NORMAL,
+        /**
+         * Serviced after normal priority pollables.
+         */
+        LOW
+    }
+
     /**
      * Start the reactor.
      */
@@ -25,6 +64,76 @@ public interface Reactor {
      */
     void addPollable(Pollable pollable, LoopHandler handler);
 
+    /**
+     * Add a new Pollable to this Reactor, allowing the handler to consume a
+     * burst of messages per readiness event.
+     * <p>
+     * The handler is re-invoked while the socket still has input available,
+     * up to {@code maxBatch} times, before returning to the poller. This
+     * avoids a full poll round trip per message, while the cap keeps other
+     * pollables from being starved.
+     * <p>
+     * This method is not thread-safe, and should only be done from inside the
+     * LoopHandler when invoked by the Reactor on its own thread.
+     * 
+     * @param pollable The Pollable with the socket to poll
+     * @param handler The loop handler
+     * @param maxBatch The maximum number of invocations per readiness event
+     */
+    void addPollable(Pollable pollable, LoopHandler handler, int maxBatch);
+
+    /**
+     * Add a new Pollable to this Reactor with the given priority.
+     * <p>
+     * High priority pollables are always serviced before others on each loop
+     * iteration, so control sockets are not stuck behind data sockets. Normal
+     * and low priority pollables share a bounded budget per loop iteration.
+     * <p>
+     * This method is not thread-safe, and should only be done from inside the
+     * LoopHandler when invoked by the Reactor on its own thread.
+     * 
+     * @param pollable The Pollable with the socket to poll
+     * @param handler The loop handler
+     * @param priority The priority class
+     */
+    void addPollable(Pollable pollable, LoopHandler handler, Priority priority);
+
+    /**
+     * Add a new Pollable to this Reactor, offloading message handling to an
+     * executor.
+     * <p>
+     * The reactor thread only receives each message and hands it to the
+     * executor. Messages from this pollable are handled one at a time, in
+     * the order they were received. Replies should be sent using
+     * {@link #send(Socket, Message)}.
+     * <p>
+     * This method is not thread-safe, and should only be done from inside the
+     * LoopHandler when invoked by the Reactor on its own thread.
+     * 
+     * @param pollable The Pollable with the socket to poll
+     * @param handler The message handler, invoked on the executor
+     * @param executor The executor, typically a worker pool
+     */
+    void addPollable(Pollable pollable, MessageHandler handler, Executor executor);
+
+    /**
+     * Add a new Pollable to this Reactor, offloading message handling to an
+     * executor across a number of ordered lanes.
+     * <p>
+     * Messages are assigned to a lane by their routing key (the first frame),
+     * so messages from the same peer of a ROUTER socket are handled in order,
+     * while different peers can be handled in parallel.
+     * <p>
+     * This method is not thread-safe, and should only be done from inside the
+     * LoopHandler when invoked by the Reactor on its own thread.
+     * 
+     * @param pollable The Pollable with the socket to poll
+     * @param handler The message handler, invoked on the executor
+     * @param executor The executor, typically a worker pool
+     * @param lanes The number of ordered lanes
+     */
+    void addPollable(Pollable pollable, MessageHandler handler, Executor executor, int lanes);
+
     /**
      * Add a new ReactorTimer to this Reactor.
      * <p>
@@ -37,6 +146,26 @@ public interface Reactor {
      */
     void addTimer(long initialDelay, int numIterations, LoopHandler handler);
 
+    /**
+     * Add a new fixed-rate ReactorTimer to this Reactor.
+     * <p>
+     * Runs are anchored to the original schedule, so the timer does not drift
+     * by the time spent in handlers or other loop delays. An optional random
+     * jitter is added to each run, without moving the schedule, so that many
+     * nodes started together do not fire in lockstep.
+     * <p>
+     * This method is not thread-safe, and should only be done from inside the
+     * LoopHandler when invoked by the Reactor on its own thread.
+     * 
+     * @param initialDelay The initial delay, in milliseconds
+     * @param period The period between runs, in milliseconds
+     * @param numIterations The number of iterations, after which this timer stop
+     * @param catchUp The policy for runs missed while the reactor was busy
+     * @param jitter The maximum random delay added to each run, in milliseconds
+     * @param handler The loop handler
+     */
+    void addTimer(long initialDelay, long period, int numIterations, CatchUp catchUp, long jitter, LoopHandler handler);
+
     /**
      * Cancel an existing Pollable or ReactorTimer and remove the corresponding
      * LoopHandler from executing.
@@ -47,4 +176,45 @@ public interface Reactor {
      * @param handler The loop handler
      */
     void cancel(LoopHandler handler);
+
+    /**
+     * Cancel an existing offloaded Pollable and remove the corresponding
+     * MessageHandler from executing. Messages already handed to the executor
+     * will still be handled.
+     * <p>
+     * This method is not thread-safe, and should only be done from inside the
+     * LoopHandler when invoked by the Reactor on its own thread.
+     * 
+     * @param handler The message handler
+     */
+    void cancel(MessageHandler handler);
+
+    /**
+     * Link an input Pollable to an output socket for flow control.
+     * <p>
+     * After the input's handler runs, if the output socket can no longer
+     * accept messages (e.g. it has reached its send high watermark), the
+     * input is disabled in the poller until the output becomes writable
+     * again. Backpressure is then propagated to the input's peers without
+     * blocking the reactor, dropping messages, or queueing them.
+     * <p>
+     * This method is not thread-safe, and should only be done from inside the
+     * LoopHandler when invoked by the Reactor on its own thread.
+     * 
+     * @param input The Pollable which reads from the input socket
+     * @param output The socket written to by the input's handler
+     */
+    void link(Pollable input, Socket output);
+
+    /**
+     * Send a message on a socket owned by this Reactor.
+     * <p>
+     * This method is thread-safe. When called from another thread, the message
+     * is queued and sent from the reactor thread, so sockets are never used
+     * from more than one thread.
+     * 
+     * @param socket The socket to send on
+     * @param message The message to send
+     */
+    void send(Socket socket, Message message);
 }
@@ -0,0 +1,32 @@
+package org.zeromq.api;
+
+/**
+ * Publisher which stamps every message with a sequence number per topic, and
+ * keeps a bounded ring of recent messages per topic, so that a
+ * {@link ReliableSubscriber} which misses messages can fetch them again over a
+ * separate recovery socket.
+ */
+public interface ReliablePublisher {
+    int RING_SIZE = 1024;
+
+    /**
+     * Start the underlying Reactor, which serves recovery requests.
+     */
+    void start();
+
+    /**
+     * Stop the underlying Reactor.
+     */
+    void stop();
+
+    /**
+     * Publish a message. The first frame is the topic. The frames are copied
+     * for retransmission, so the message may be reused once this returns.
+     * This method may be called from any one thread at a time.
+     *
+     * @param message The message, starting with its topic frame
+     * @return true if the message was sent, false otherwise
+     * @throws IllegalArgumentException If the message has no topic frame
+     */
+    boolean publish(Message message);
+}
@@ -0,0 +1,36 @@
+package org.zeromq.api;
+
+/**
+ * Subscriber to a {@link ReliablePublisher}, which delivers the messages of
+ * each topic in sequence. When it detects a gap, it holds back later messages
+ * of the topic and fetches only the missing range from the publisher, while
+ * other topics keep flowing.
+ */
+public interface ReliableSubscriber {
+    long RECOVERY_TIMEOUT = 1000;
+    int MAX_PENDING = 1024;
+
+    /**
+     * Start the underlying Reactor.
+     */
+    void start();
+
+    /**
+     * Stop the underlying Reactor.
+     */
+    void stop();
+
+    /**
+     * Callback from the reactor thread when messages cannot be recovered,
+     * because the publisher no longer has them or too many later messages
+     * are waiting for them.
+     */
+    interface LossHandler {
+        /**
+         * @param topic The topic of the lost messages
+         * @param from The first lost sequence number
+         * @param to The last lost sequence number
+         */
+        void execute(byte[] topic, long from, long to);
+    }
+}
@@ -0,0 +1,51 @@
+package org.zeromq.api;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous request-reply client over a DEALER socket, with any number of
+ * requests in flight. Each request carries a request ID as an extra routing
+ * envelope, which servers return untouched, so replies may arrive in any
+ * order.
+ * <p>
+ * Requests may be sent from any thread. Replies complete their futures on
+ * the client's network thread, so dependent actions which block should use
+ * the async variants of {@link CompletableFuture}.
+ */
+public interface RpcClient {
+    int TIMEOUT = 2500;
+    int MAX_PENDING = 10000;
+    long TICK_DURATION = 10;
+
+    /**
+     * Send a request, with the configured timeout.
+     *
+     * @param request The request body
+     * @return A future for the reply body
+     */
+    CompletableFuture<Message> request(Message request);
+
+    /**
+     * Send a request. The future fails with a
+     * {@link java.util.concurrent.TimeoutException} if no reply arrives in
+     * time, or a {@link java.util.concurrent.RejectedExecutionException} if
+     * too many requests are already in flight. Cancelling the future stops
+     * waiting for the reply, but does not recall the request.
+     *
+     * @param request The request body
+     * @param timeout The timeout, in milliseconds
+     * @return A future for the reply body
+     */
+    CompletableFuture<Message> request(Message request, long timeout);
+
+    /**
+     * @return The number of requests waiting for a reply
+     */
+    int getPending();
+
+    /**
+     * Stop the underlying Reactor and close the socket, failing any
+     * requests still in flight.
+     */
+    void close();
+}
@@ -0,0 +1,41 @@
+package org.zeromq.api;
+
+/**
+ * Multi-threaded request-reply server. A ROUTER socket receives requests and
+ * hands each one to the least loaded of a pool of worker threads, and the
+ * routing envelope of the request, including any request ID envelope from
+ * an {@link RpcClient}, is returned with the reply.
+ */
+public interface RpcServer {
+    int QUEUE_SIZE = 1000;
+
+    /**
+     * Start the dispatcher and worker Reactors.
+     */
+    void start();
+
+    /**
+     * Stop the dispatcher and worker Reactors.
+     */
+    void stop();
+
+    /**
+     * @return The number of requests handed to workers
+     */
+    long getReceived();
+
+    /**
+     * @return The number of replies sent
+     */
+    long getReplied();
+
+    /**
+     * @return The number of requests whose handler threw an exception
+     */
+    long getFailed();
+
+    /**
+     * @return The number of requests queued at or being handled by workers
+     */
+    int getInFlight();
+}
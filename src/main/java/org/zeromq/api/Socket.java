@@ -1,6 +1,7 @@
 package org.zeromq.api;
 
 import java.io.Closeable;
+import java.util.Collection;
 
 import org.zeromq.ZMQ;
 
@@ -33,6 +34,37 @@ public interface Socket extends Sender, Receiver, Closeable {
      */
     TransportType getTransportType();
 
+    /**
+     * Subscribe a SUB or XSUB socket to a topic prefix. Subscriptions are
+     * counted, so a prefix subscribed twice must be unsubscribed twice.
+     *
+     * @param topic The topic prefix, or an empty array for all topics
+     * @return true if the subscription was sent, false otherwise
+     * @throws UnsupportedOperationException if this is not a SUB or XSUB socket
+     */
+    boolean subscribe(byte[] topic);
+
+    /**
+     * Remove one subscription of a SUB or XSUB socket to a topic prefix.
+     *
+     * @param topic The topic prefix
+     * @return true if the unsubscription was sent, false otherwise
+     * @throws UnsupportedOperationException if this is not a SUB or XSUB socket
+     */
+    boolean unsubscribe(byte[] topic);
+
+    /**
+     * Change the subscriptions of a SUB or XSUB socket in one burst. New
+     * subscriptions are sent before the removed ones, so a topic covered by
+     * both an old and a new prefix keeps flowing while interest changes.
+     *
+     * @param add The topic prefixes to subscribe to, or null
+     * @param remove The topic prefixes to unsubscribe from, or null
+     * @return true if all changes were sent, false otherwise
+     * @throws UnsupportedOperationException if this is not a SUB or XSUB socket
+     */
+    boolean updateSubscriptions(Collection<byte[]> add, Collection<byte[]> remove);
+
     /**
      * Close this ØMQ Socket.
      */
@@ -0,0 +1,44 @@
+package org.zeromq.api;
+
+/**
+ * Disconnected reliable request-reply on top of a {@link MajordomoBroker}.
+ * Requests are stored on disk and acknowledged as soon as they are durable,
+ * by several workers whose writes share an fsync, then dispatched to the target service when it has workers. Replies are
+ * stored in turn, until the client fetches them and closes the request.
+ * <p>
+ * Clients talk to Titanic with a {@link MajordomoClient}, using three
+ * services:
+ * <ul>
+ * <li>{@link #REQUEST}, with the service name and request body, replies
+ * "200" and the request's UUID</li>
+ * <li>{@link #REPLY}, with a UUID, replies "200" and the reply body, "300"
+ * while the reply is pending, or "400" for an unknown request</li>
+ * <li>{@link #CLOSE}, with a UUID, replies "200" once the request and its
+ * reply are discarded</li>
+ * </ul>
+ */
+public interface Titanic {
+    String REQUEST = "titanic.request";
+    String REPLY = "titanic.reply";
+    String CLOSE = "titanic.close";
+
+    String OK = "200";
+    String PENDING = "300";
+    String UNKNOWN = "400";
+    String FAILED = "500";
+
+    long FILE_SIZE = 16 * 1024 * 1024;
+    int TIMEOUT = 2500;
+    long RETRY_INTERVAL = 1000;
+    int REQUEST_WORKERS = 4;
+
+    /**
+     * Start the Titanic services and the dispatcher.
+     */
+    void start();
+
+    /**
+     * Stop the Titanic services and the dispatcher, and close the store.
+     */
+    void stop();
+}
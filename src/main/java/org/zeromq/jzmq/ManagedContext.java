@@ -28,9 +28,22 @@ import org.zeromq.jzmq.bstar.BinaryStarSocketBuilder;
 import org.zeromq.jzmq.clone.CloneClientBuilder;
 import org.zeromq.jzmq.clone.CloneServerBuilder;
 import org.zeromq.jzmq.device.DeviceBuilder;
+import org.zeromq.jzmq.device.ProxyPipelineBuilder;
+import org.zeromq.jzmq.durable.DurableBrokerBuilder;
+import org.zeromq.jzmq.freelance.FreelanceClientBuilder;
+import org.zeromq.jzmq.freelance.FreelanceServerBuilder;
+import org.zeromq.jzmq.majordomo.MajordomoBrokerBuilder;
+import org.zeromq.jzmq.majordomo.MajordomoClientBuilder;
+import org.zeromq.jzmq.majordomo.MajordomoWorkerBuilder;
+import org.zeromq.jzmq.pirate.ParanoidPirateBrokerBuilder;
+import org.zeromq.jzmq.pirate.ParanoidPirateWorkerBuilder;
 import org.zeromq.jzmq.poll.PollableImpl;
 import org.zeromq.jzmq.poll.PollerBuilder;
+import org.zeromq.jzmq.pubsub.ReliablePublisherBuilder;
+import org.zeromq.jzmq.pubsub.ReliableSubscriberBuilder;
 import org.zeromq.jzmq.reactor.ReactorBuilder;
+import org.zeromq.jzmq.rpc.RpcClientBuilder;
+import org.zeromq.jzmq.rpc.RpcServerBuilder;
 import org.zeromq.jzmq.sockets.DealerSocketBuilder;
 import org.zeromq.jzmq.sockets.PairSocketBuilder;
 import org.zeromq.jzmq.sockets.PubSocketBuilder;
@@ -43,6 +56,7 @@ import org.zeromq.jzmq.sockets.SocketBuilder;
 import org.zeromq.jzmq.sockets.SubSocketBuilder;
 import org.zeromq.jzmq.sockets.XPubSocketBuilder;
 import org.zeromq.jzmq.sockets.XSubSocketBuilder;
+import org.zeromq.jzmq.titanic.TitanicBuilder;
 
 /**
  * Manage JZMQ Context
@@ -235,6 +249,71 @@ public class ManagedContext implements Context {
         return new CloneClientBuilder(this);
     }
 
+    @Override
+    public ParanoidPirateBrokerBuilder buildParanoidPirateBroker() {
+        return new ParanoidPirateBrokerBuilder(this);
+    }
+
+    @Override
+    public ParanoidPirateWorkerBuilder buildParanoidPirateWorker() {
+        return new ParanoidPirateWorkerBuilder(this);
+    }
+
+    @Override
+    public MajordomoBrokerBuilder buildMajordomoBroker() {
+        return new MajordomoBrokerBuilder(this);
+    }
+
+    @Override
+    public MajordomoWorkerBuilder buildMajordomoWorker() {
+        return new MajordomoWorkerBuilder(this);
+    }
+
+    @Override
+    public MajordomoClientBuilder buildMajordomoClient() {
+        return new MajordomoClientBuilder(this);
+    }
+
+    @Override
+    public ReliablePublisherBuilder buildReliablePublisher() {
+        return new ReliablePublisherBuilder(this);
+    }
+
+    @Override
+    public ReliableSubscriberBuilder buildReliableSubscriber() {
+        return new ReliableSubscriberBuilder(this);
+    }
+
+    @Override
+    public DurableBrokerBuilder buildDurableBroker() {
+        return new DurableBrokerBuilder(this);
+    }
+
+    @Override
+    public TitanicBuilder buildTitanic() {
+        return new TitanicBuilder(this);
+    }
+
+    @Override
+    public FreelanceClientBuilder buildFreelanceClient() {
+        return new FreelanceClientBuilder(this);
+    }
+
+    @Override
+    public FreelanceServerBuilder buildFreelanceServer() {
+        return new FreelanceServerBuilder(this);
+    }
+
+    @Override
+    public RpcClientBuilder buildRpcClient() {
+        return new RpcClientBuilder(this);
+    }
+
+    @Override
+    public RpcServerBuilder buildRpcServer() {
+        return new RpcServerBuilder(this);
+    }
+
     @Override
     public BeaconReactorBuilder buildBeaconReactor() {
         return new BeaconReactorBuilder(this);
@@ -245,6 +324,11 @@ public class ManagedContext implements Context {
         return new DeviceBuilder(this, deviceType);
     }
 
+    @Override
+    public ProxyPipelineBuilder buildProxyPipeline(DeviceType deviceType) {
+        return new ProxyPipelineBuilder(this, deviceType);
+    }
+
     @Override
     public void proxy(Socket frontEnd, Socket backEnd) {
         ZMQ.proxy(frontEnd.getZMQSocket(), backEnd.getZMQSocket(), null);
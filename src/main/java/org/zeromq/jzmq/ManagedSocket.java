@@ -1,8 +1,10 @@
 package org.zeromq.jzmq;
 
 import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.zeromq.SocketType;
 import org.zeromq.ZMQ;
 import org.zeromq.ZMQException;
 import org.zeromq.api.Context;
@@ -181,6 +183,59 @@ public class ManagedSocket implements Socket {
         }
     }
 
+    @Override
+    public boolean subscribe(byte[] topic) {
+        checkSubscribable();
+        return subscription(topic, true);
+    }
+
+    @Override
+    public boolean unsubscribe(byte[] topic) {
+        checkSubscribable();
+        return subscription(topic, false);
+    }
+
+    @Override
+    public boolean updateSubscriptions(Collection<byte[]> add, Collection<byte[]> remove) {
+        checkSubscribable();
+        boolean sent = true;
+        if (add != null) {
+            for (byte[] topic : add) {
+                sent &= subscription(topic, true);
+            }
+        }
+        if (remove != null) {
+            for (byte[] topic : remove) {
+                sent &= subscription(topic, false);
+            }
+        }
+        return sent;
+    }
+
+    private boolean subscription(byte[] topic, boolean subscribe) {
+        try {
+            if (socket.getSocketType() == SocketType.SUB) {
+                return subscribe ? socket.subscribe(topic) : socket.unsubscribe(topic);
+            }
+
+            // XSUB subscriptions are messages of a 1 or 0 byte followed by the topic
+            byte[] buf = new byte[topic.length + 1];
+            buf[0] = (byte) (subscribe ? 1 : 0);
+            System.arraycopy(topic, 0, buf, 1, topic.length);
+            return socket.send(buf, 0);
+        } catch (ZMQException ex) {
+            throw ZMQExceptions.wrap(ex);
+        }
+    }
+
+    private void checkSubscribable() {
+        checkClosed();
+        SocketType type = socket.getSocketType();
+        if (type != SocketType.SUB && type != SocketType.XSUB) {
+            throw new UnsupportedOperationException("Only SUB and XSUB sockets have subscriptions, not " + type);
+        }
+    }
+
     @Override
     public void close() {
         if (isClosed.compareAndSet(false, true)) {
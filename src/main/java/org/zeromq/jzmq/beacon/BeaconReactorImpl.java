@@ -34,6 +34,7 @@ public class BeaconReactorImpl implements BeaconReactor {
         this.beacon = beacon;
         this.socket = new UdpSocket(broadcastPort);
         this.reactor = context.buildReactor()
+            .withSelector()
             .build();
     }
 
@@ -70,7 +70,7 @@ public class BinaryStarReactorImpl implements BinaryStarReactor {
 
         updatePeerExpiry();
         reactor.addTimer(heartbeatInterval, -1, new SendState());
-        reactor.addPollable(context.newPollable(stateSub, PollerType.POLL_IN), new ReceiveState());
+        reactor.addPollable(context.newPollable(stateSub, PollerType.POLL_IN), new ReceiveState(), Reactor.Priority.HIGH);
         reactor.start();
     }
 
@@ -13,9 +13,11 @@ import org.zeromq.api.Reactor;
 import org.zeromq.api.Socket;
 import org.zeromq.api.SocketType;
 import org.zeromq.jzmq.ManagedContext;
+import org.zeromq.jzmq.pubsub.TopicTrie;
 
+import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
@@ -24,6 +26,11 @@ import java.util.UUID;
 public class CloneServerImpl implements CloneServer {
     private static final Logger log = LoggerFactory.getLogger(CloneServer.class);
 
+    /**
+     * Maximum number of updates collected per poll.
+     */
+    private static final int COLLECTOR_BATCH = 100;
+
     /**
      * States we can be in.
      */
@@ -50,7 +57,7 @@ public class CloneServerImpl implements CloneServer {
 
     private State state;
     private long sequence;
-    private Map<String, CloneMessage> snapshot;
+    private TopicTrie<CloneMessage> snapshot;
     private final Map<UUID, CloneMessage> pending = new HashMap<>();
     private final Queue<CloneMessage> ttlQueue = new PriorityQueue<>(11, CloneMessage.SORT_BY_TTL);
 
@@ -83,7 +90,7 @@ public class CloneServerImpl implements CloneServer {
         // Initialize as primary, to forego requesting initial snapshot
         // Passive will request initial snapshot
         if (mode == BinaryStarReactor.Mode.PRIMARY) {
-            snapshot = new LinkedHashMap<>();
+            snapshot = new TopicTrie<>();
         }
     }
 
@@ -93,9 +100,9 @@ public class CloneServerImpl implements CloneServer {
 
     @Override
     public void start() {
-        binaryStarReactor.getReactor().addPollable(context.newPollable(collector, PollerType.POLL_IN), new CollectorHandler());
-        binaryStarReactor.getReactor().addTimer(heartbeatInterval, -1, new FlushTtlHandler());
-        binaryStarReactor.getReactor().addTimer(heartbeatInterval, -1, new SendHugzHandler());
+        binaryStarReactor.getReactor().addPollable(context.newPollable(collector, PollerType.POLL_IN), new CollectorHandler(), COLLECTOR_BATCH);
+        binaryStarReactor.getReactor().addTimer(heartbeatInterval, heartbeatInterval, -1, Reactor.CatchUp.SKIP, 0, new FlushTtlHandler());
+        binaryStarReactor.getReactor().addTimer(heartbeatInterval, heartbeatInterval, -1, Reactor.CatchUp.SKIP, 0, new SendHugzHandler());
         binaryStarReactor.start();
     }
 
@@ -104,6 +111,10 @@ public class CloneServerImpl implements CloneServer {
         binaryStarReactor.stop();
     }
 
+    private static byte[] key(CloneMessage message) {
+        return message.getKey().getBytes(Message.CHARSET);
+    }
+
     private class SnapshotHandler implements LoopHandler {
         @Override
         public void execute(Reactor reactor, Pollable pollable) {
@@ -113,24 +124,24 @@ public class CloneServerImpl implements CloneServer {
                 byte[] identity = message.popFrame().getData();
                 assert message.popFrame().equals(icanhaz.getFirstFrame());
 
-                String prefix = "";
+                byte[] prefix = new byte[0];
                 if (!message.isEmpty()) {
-                    prefix = message.popString();
+                    prefix = message.popFrame().getData();
                 }
 
                 // Send state snapshot to client
-                for (Map.Entry<String, CloneMessage> entry : snapshot.entrySet()) {
-                    if (entry.getKey().startsWith(prefix)) {
-                        channel.send(identity, MessageFlag.SEND_MORE);
-                        entry.getValue().send(channel);
-                    }
+                List<CloneMessage> entries = new ArrayList<>();
+                snapshot.collect(prefix, entries);
+                for (CloneMessage entry : entries) {
+                    channel.send(identity, MessageFlag.SEND_MORE);
+                    entry.send(channel);
                 }
 
                 // Now send END message with sequence number
                 log.debug("Sending snapshot: [{}]", sequence);
                 channel.send(identity, MessageFlag.SEND_MORE);
                 kthxbai.setSequence(sequence);
-                kthxbai.setValue(prefix.getBytes(Message.CHARSET));
+                kthxbai.setValue(prefix);
                 kthxbai.send(channel);
             }
         }
@@ -141,7 +152,7 @@ public class CloneServerImpl implements CloneServer {
         public void execute(Reactor reactor, Pollable pollable) {
             CloneMessage message = CloneMessage.receive(collector);
             if (state == State.ACTIVE) {
-                CloneMessage prev = snapshot.put(message.getKey(), message);
+                CloneMessage prev = snapshot.put(key(message), message);
                 if (prev != null) {
                     ttlQueue.remove(prev);
                 }
@@ -187,7 +198,7 @@ public class CloneServerImpl implements CloneServer {
                 CloneMessage message = ttlQueue.poll();
                 message.setValue(null);
                 message.setSequence(++sequence);
-                snapshot.remove(message.getKey());
+                snapshot.remove(key(message));
 
                 message.send(publisher);
                 log.debug("Published expired: [{}] {}", sequence, message.getKey());
@@ -204,7 +215,7 @@ public class CloneServerImpl implements CloneServer {
             // Publish pending entries
             for (CloneMessage message : pending.values()) {
                 message.setSequence(++sequence);
-                snapshot.put(message.getKey(), message);
+                snapshot.put(key(message), message);
                 ttlQueue.offer(message);
 
                 message.send(publisher);
@@ -233,7 +244,7 @@ public class CloneServerImpl implements CloneServer {
             // Get state snapshot if necessary
             if (snapshot == null) {
                 log.info("Requesting snapshot from: tcp://{}:{}", peerAddress, peerPort);
-                snapshot = new LinkedHashMap<>();
+                snapshot = new TopicTrie<>();
                 Socket client = context.buildSocket(SocketType.DEALER)
                     .connect(String.format("tcp://%s:%d", peerAddress, peerPort));
                 client.send(icanhaz);
@@ -246,7 +257,7 @@ public class CloneServerImpl implements CloneServer {
                         break;
                     }
 
-                    snapshot.put(message.getKey(), message);
+                    snapshot.put(key(message), message);
                     ttlQueue.offer(message);
                 }
 
@@ -269,7 +280,7 @@ public class CloneServerImpl implements CloneServer {
                 // If update is more recent than our kvmap, apply it
                 if (message.getSequence() > sequence) {
                     sequence = message.getSequence();
-                    snapshot.put(message.getKey(), message);
+                    snapshot.put(key(message), message);
                     ttlQueue.offer(message);
                     log.debug("Received update: [{}] {}", sequence, message.getKey());
                 }
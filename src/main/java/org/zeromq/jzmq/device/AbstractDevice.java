@@ -0,0 +1,211 @@
+package org.zeromq.jzmq.device;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.UncheckedZMQException;
+import org.zeromq.ZMQException;
+import org.zeromq.api.Device;
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.api.exception.ContextTerminatedException;
+import org.zeromq.api.exception.InvalidSocketException;
+import org.zeromq.api.exception.ZMQExceptions;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ClosedSelectorException;
+
+/**
+ * Base class for devices running on their own thread, which handles the
+ * control socket protocol and traffic counters shared by all devices.
+ */
+abstract class AbstractDevice implements Device {
+    private static final Logger log = LoggerFactory.getLogger(Device.class);
+
+    /**
+     * How long to wait for a control reply before checking that the device
+     * thread is still running, in milliseconds.
+     */
+    private static final int COMMAND_TIMEOUT = 100;
+
+    protected final ManagedContext context;
+    protected final Socket frontend;
+    protected final Socket backend;
+    protected final Socket control;
+    protected final Traffic frontendTraffic = new Traffic();
+    protected final Traffic backendTraffic = new Traffic();
+
+    /**
+     * State owned by the device thread.
+     */
+    protected boolean paused;
+    protected boolean running = true;
+
+    private final Socket pipe;
+    private final Thread thread;
+
+    protected AbstractDevice(ManagedContext context, Socket frontend, Socket backend, Socket control, String controlEndpoint) {
+        this.context = context;
+        this.frontend = frontend;
+        this.backend = backend;
+        this.control = control;
+        this.pipe = context.buildSocket(SocketType.REQ)
+            .withReceiveTimeout(COMMAND_TIMEOUT)
+            .connect(controlEndpoint);
+        this.thread = new DeviceThread(controlEndpoint.substring(controlEndpoint.indexOf("://") + 3));
+    }
+
+    /**
+     * Start the device thread.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Forward messages until the device is terminated. Called on the device
+     * thread, which must call {@link #handleControl()} when the control
+     * socket is readable.
+     */
+    protected abstract void loop();
+
+    /**
+     * Close the device sockets after it has been terminated.
+     */
+    protected void close() {
+        frontend.close();
+        backend.close();
+        control.close();
+    }
+
+    /**
+     * Receive a command from the control socket, and send its reply.
+     */
+    protected void handleControl() {
+        String command = control.receiveMessage().popString();
+        Message reply = new Message();
+        if (PAUSE.equals(command)) {
+            paused = true;
+            reply.addString(command);
+        } else if (RESUME.equals(command)) {
+            paused = false;
+            reply.addString(command);
+        } else if (TERMINATE.equals(command)) {
+            running = false;
+            reply.addString(command);
+        } else if (STATISTICS.equals(command)) {
+            reply.addLong(frontendTraffic.messages);
+            reply.addLong(frontendTraffic.bytes);
+            reply.addLong(backendTraffic.messages);
+            reply.addLong(backendTraffic.bytes);
+        } else {
+            log.warn("Invalid device command: {}", command);
+            reply.addString("ERROR");
+        }
+        control.send(reply);
+    }
+
+    /**
+     * @param message A message
+     * @return The total size of the message frames, in bytes
+     */
+    protected static long size(Message message) {
+        long bytes = 0;
+        for (Frame frame : message) {
+            bytes += frame.size();
+        }
+        return bytes;
+    }
+
+    @Override
+    public void pause() {
+        command(PAUSE);
+    }
+
+    @Override
+    public void resume() {
+        command(RESUME);
+    }
+
+    @Override
+    public void terminate() {
+        if (command(TERMINATE)) {
+            try {
+                thread.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        pipe.close();
+    }
+
+    @Override
+    public long getFrontendMessages() {
+        return frontendTraffic.messages;
+    }
+
+    @Override
+    public long getFrontendBytes() {
+        return frontendTraffic.bytes;
+    }
+
+    @Override
+    public long getBackendMessages() {
+        return backendTraffic.messages;
+    }
+
+    @Override
+    public long getBackendBytes() {
+        return backendTraffic.bytes;
+    }
+
+    private synchronized boolean command(String command) {
+        if (!thread.isAlive()) {
+            return false;
+        }
+
+        pipe.send(new Message(command));
+        while (pipe.receiveMessage() == null) {
+            // the device may exit between the check above and the reply
+            if (!thread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private class DeviceThread extends Thread {
+        public DeviceThread(String name) {
+            super(name);
+        }
+
+        @Override
+        public void run() {
+            try {
+                loop();
+            } catch (ContextTerminatedException | InvalidSocketException ex) {
+                log.debug("Device thread {} interrupted", getName());
+            } catch (ZMQException ex) {
+                if (!ZMQExceptions.isContextTerminated(ex)) {
+                    throw ZMQExceptions.wrap(ex);
+                }
+            } catch (ClosedSelectorException | CancelledKeyException ex) {
+                // the context closed its selector or a socket under the poll
+                log.debug("Device thread {} interrupted", getName());
+            } catch (UncheckedZMQException ex) {
+                if (!(ex.getCause() instanceof ClosedChannelException)) {
+                    throw ex;
+                }
+                log.debug("Device thread {} interrupted", getName());
+            }
+
+            if (!running) {
+                close();
+            }
+            log.debug("Device thread {} has shut down", getName());
+        }
+    }
+}
@@ -1,15 +1,27 @@
 package org.zeromq.jzmq.device;
 
+import org.zeromq.api.Device;
 import org.zeromq.api.DeviceType;
 import org.zeromq.api.Socket;
 import org.zeromq.api.SocketType;
 import org.zeromq.jzmq.ManagedContext;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 public class DeviceBuilder {
     public class Spec {
         public DeviceType deviceType;
         public String frontend;
         public String backend;
+        public String capture;
+        public String control;
+        public int threads = 1;
+        public int cacheTopics = 10000;
+        public long cacheBytes;
     }
     
     private ManagedContext context;
@@ -30,47 +42,232 @@ public class DeviceBuilder {
         return this;
     }
 
-    public void start() {
-        switch (spec.deviceType) {
+    /**
+     * Bind a PUB socket to the given url, which will receive a copy of every
+     * message forwarded by the device, in either direction.
+     *
+     * @param capture The capture url
+     * @return This builder object
+     */
+    public DeviceBuilder withCaptureUrl(String capture) {
+        spec.capture = capture;
+        return this;
+    }
+
+    /**
+     * Bind a REP socket to the given url, which will accept the PAUSE, RESUME,
+     * TERMINATE and STATISTICS commands. STATISTICS replies with the frontend
+     * message and byte counts followed by the backend message and byte counts,
+     * each as a long frame. Other commands are echoed back.
+     *
+     * @param control The control url
+     * @return This builder object
+     */
+    public DeviceBuilder withControlUrl(String control) {
+        spec.control = control;
+        return this;
+    }
+
+    /**
+     * Run the device as the given number of independent proxy threads. Each
+     * shard binds its own endpoints, derived from the configured urls with
+     * {@link #shardUrl(String, int)}, and peers connect to all of them to
+     * spread their traffic across the shards. QUEUE replies must return via
+     * the shard that carried the request, which REP and ROUTER workers do
+     * naturally. FORWARDER and LAST_VALUE_CACHE devices cannot be sharded,
+     * since publishers would deliver duplicates to every shard, and neither
+     * can LOAD_BALANCER devices, since each worker announces itself to a
+     * single shard.
+     * <p>
+     * Sharded tcp urls occupy one port per thread, so their ports must be at
+     * least that far apart, or start() rejects them.
+     *
+     * @param threads The number of proxy threads
+     * @return This builder object
+     */
+    public DeviceBuilder withThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+        spec.threads = threads;
+        return this;
+    }
+
+    /**
+     * Limit the number of topics cached by a LAST_VALUE_CACHE device. The
+     * least recently updated topics are evicted first. Defaults to 10000.
+     *
+     * @param topics The maximum number of cached topics
+     * @return This builder object
+     */
+    public DeviceBuilder withCacheSize(int topics) {
+        if (topics < 1) {
+            throw new IllegalArgumentException("topics must be at least 1");
+        }
+        spec.cacheTopics = topics;
+        return this;
+    }
+
+    /**
+     * Limit the total size of the messages cached by a LAST_VALUE_CACHE
+     * device, in bytes. The least recently updated topics are evicted first.
+     * Unlimited by default.
+     *
+     * @param bytes The maximum number of cached bytes, or 0 for no limit
+     * @return This builder object
+     */
+    public DeviceBuilder withCacheBytes(long bytes) {
+        spec.cacheBytes = bytes;
+        return this;
+    }
+
+    public Device start() {
+        if (spec.threads > 1 && (spec.deviceType == DeviceType.FORWARDER || spec.deviceType == DeviceType.LAST_VALUE_CACHE)) {
+            throw new IllegalArgumentException(spec.deviceType + " devices cannot be sharded");
+        }
+        if (spec.threads > 1 && spec.deviceType == DeviceType.LOAD_BALANCER) {
+            throw new IllegalArgumentException("LOAD_BALANCER devices cannot be sharded");
+        }
+
+        return start(frontendType(spec.deviceType), backendType(spec.deviceType));
+    }
+
+    static SocketType frontendType(DeviceType deviceType) {
+        switch (deviceType) {
             case STREAMER:
-                startStreamer();
-                break;
+                return SocketType.PULL;
             case FORWARDER:
-                startForwarder();
-                break;
+            case LAST_VALUE_CACHE:
+                return SocketType.XSUB;
             case QUEUE:
-                startQueue();
-                break;
+            case LOAD_BALANCER:
+                return SocketType.ROUTER;
+            default:
+                throw new IllegalArgumentException("Unsupported device type: " + deviceType);
         }
     }
 
-    private void startStreamer() {
-        Socket frontend = context.buildSocket(SocketType.PULL)
-            .bind(spec.frontend);
+    static SocketType backendType(DeviceType deviceType) {
+        switch (deviceType) {
+            case STREAMER:
+                return SocketType.PUSH;
+            case FORWARDER:
+            case LAST_VALUE_CACHE:
+                return SocketType.XPUB;
+            case QUEUE:
+                return SocketType.DEALER;
+            case LOAD_BALANCER:
+                return SocketType.ROUTER;
+            default:
+                throw new IllegalArgumentException("Unsupported device type: " + deviceType);
+        }
+    }
 
-        Socket backend = context.buildSocket(SocketType.PUSH)
-            .bind(spec.backend);
+    /**
+     * Derive the endpoint bound by one shard of a multi-threaded device. The
+     * first shard binds the url itself. For tcp, later shards bind successive
+     * ports, and for other transports the shard number is appended to the url.
+     *
+     * @param url The configured url
+     * @param shard The shard number, starting at 0
+     * @return The url bound by the shard
+     */
+    public static String shardUrl(String url, int shard) {
+        if (url == null || shard == 0) {
+            return url;
+        }
+
+        if (url.startsWith("tcp://")) {
+            int index = url.lastIndexOf(':');
+            try {
+                int port = Integer.parseInt(url.substring(index + 1));
+                return url.substring(0, index + 1) + (port + shard);
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Sharded tcp urls require an explicit port: " + url);
+            }
+        }
 
-        context.forward(frontend, backend);
+        return url + "-" + shard;
     }
 
-    private void startForwarder() {
-        Socket frontend = context.buildSocket(SocketType.XSUB)
-            .bind(spec.frontend);
+    private Device start(SocketType frontendType, SocketType backendType) {
+        if (spec.threads == 1) {
+            return start(frontendType, backendType, 0);
+        }
 
-        Socket backend = context.buildSocket(SocketType.XPUB)
-            .bind(spec.backend);
+        checkShardUrls();
 
-        context.forward(frontend, backend);
+        List<Device> shards = new ArrayList<>(spec.threads);
+        try {
+            for (int i = 0; i < spec.threads; i++) {
+                shards.add(start(frontendType, backendType, i));
+            }
+        } catch (RuntimeException ex) {
+            for (Device shard : shards) {
+                shard.terminate();
+            }
+            throw ex;
+        }
+
+        return new ShardedDevice(shards);
+    }
+
+    /**
+     * Reject urls whose shards would bind the same endpoint, such as tcp urls
+     * whose port ranges overlap, before any socket is bound.
+     */
+    private void checkShardUrls() {
+        Map<String, String> endpoints = new HashMap<>();
+        for (String url : Arrays.asList(spec.frontend, spec.backend, spec.capture, spec.control)) {
+            if (url == null) {
+                continue;
+            }
+
+            for (int i = 0; i < spec.threads; i++) {
+                String shard = shardUrl(url, i);
+                // any two tcp interfaces may resolve to the same address
+                String key = shard.startsWith("tcp://") ? "tcp:" + shard.substring(shard.lastIndexOf(':') + 1) : shard;
+                String other = endpoints.put(key, url);
+                if (other != null) {
+                    throw new IllegalArgumentException(String.format(
+                        "Shards of %s and %s both bind %s, tcp ports must be at least %d apart", other, url, shard, spec.threads));
+                }
+            }
+        }
     }
 
-    private void startQueue() {
-        Socket frontend = context.buildSocket(SocketType.ROUTER)
-            .bind(spec.frontend);
+    private Device start(SocketType frontendType, SocketType backendType, int shard) {
+        Socket frontend = context.buildSocket(frontendType)
+            .bind(shardUrl(spec.frontend, shard));
 
-        Socket backend = context.buildSocket(SocketType.DEALER)
-            .bind(spec.backend);
+        Socket backend = context.buildSocket(backendType)
+            .bind(shardUrl(spec.backend, shard));
 
-        context.forward(frontend, backend);
+        Socket capture = null;
+        if (spec.capture != null) {
+            capture = context.buildSocket(SocketType.PUB)
+                .bind(shardUrl(spec.capture, shard));
+        }
+
+        String endpoint = String.format("inproc://jzmq-device-%d", System.identityHashCode(frontend));
+        Socket control;
+        if (spec.control != null) {
+            control = context.buildSocket(SocketType.REP)
+                .bind(endpoint, shardUrl(spec.control, shard));
+        } else {
+            control = context.buildSocket(SocketType.REP)
+                .bind(endpoint);
+        }
+
+        AbstractDevice device;
+        if (spec.deviceType == DeviceType.LOAD_BALANCER) {
+            device = new LoadBalancerImpl(context, frontend, backend, capture, control, endpoint);
+        } else if (spec.deviceType == DeviceType.LAST_VALUE_CACHE) {
+            device = new LastValueCacheImpl(context, frontend, backend, capture, control, endpoint, spec.cacheTopics, spec.cacheBytes);
+        } else {
+            device = new DeviceImpl(context, frontend, backend, capture, control, endpoint);
+        }
+        device.start();
+        return device;
     }
 }
@@ -0,0 +1,148 @@
+package org.zeromq.jzmq.device;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.ZMQ;
+import org.zeromq.api.Socket;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.nio.channels.Selector;
+
+/**
+ * Steerable proxy between a frontend and a backend socket, running on its own
+ * thread and counting the traffic in each direction.
+ */
+public class DeviceImpl extends AbstractDevice {
+    private static final Logger log = LoggerFactory.getLogger(DeviceImpl.class);
+
+    private final Socket capture;
+
+    /**
+     * Create a new device. The control socket must be a bound REP socket, and
+     * the capture socket is optional.
+     *
+     * @param context The context
+     * @param frontend The frontend socket
+     * @param backend The backend socket
+     * @param capture The capture socket, or null
+     * @param control The control socket
+     * @param controlEndpoint An inproc endpoint the control socket is bound to
+     */
+    public DeviceImpl(ManagedContext context, Socket frontend, Socket backend, Socket capture, Socket control, String controlEndpoint) {
+        super(context, frontend, backend, control, controlEndpoint);
+        this.capture = capture;
+    }
+
+    @Override
+    protected void loop() {
+        ZMQ.Socket front = frontend.getZMQSocket();
+        ZMQ.Socket back = backend.getZMQSocket();
+        ZMQ.Socket copy = capture != null ? capture.getZMQSocket() : null;
+
+        // Input is only polled while the opposite socket can accept a
+        // message. A full socket is polled for POLLOUT instead, so the
+        // device never blocks on a send and keeps serving control commands.
+        Selector selector = context.getZMQContext().selector();
+        ZMQ.PollItem[] items = new ZMQ.PollItem[3];
+        items[0] = new ZMQ.PollItem(control.getZMQSocket(), ZMQ.Poller.POLLIN);
+        boolean frontFull = false;
+        boolean backFull = false;
+        int state = -1;
+
+        try {
+            while (running && !Thread.currentThread().isInterrupted()) {
+                int current = (frontFull ? 1 : 0) | (backFull ? 2 : 0);
+                if (current != state) {
+                    items[1] = new ZMQ.PollItem(front, events(frontFull, backFull));
+                    items[2] = new ZMQ.PollItem(back, events(backFull, frontFull));
+                    state = current;
+                }
+
+                boolean forwarding = !paused;
+                ZMQ.poll(selector, items, forwarding ? 3 : 1, -1);
+                if (items[0].isReadable()) {
+                    handleControl();
+                }
+                if (!forwarding || paused) {
+                    continue;
+                }
+
+                if (items[1].isWritable()) {
+                    frontFull = false;
+                }
+                if (items[2].isWritable()) {
+                    backFull = false;
+                }
+                if (items[1].isReadable()) {
+                    backFull = !forward(front, back, copy, frontendTraffic);
+                }
+                if (items[2].isReadable()) {
+                    frontFull = !forward(back, front, copy, backendTraffic);
+                }
+            }
+        } finally {
+            context.getZMQContext().close(selector);
+        }
+    }
+
+    @Override
+    protected void close() {
+        super.close();
+        if (capture != null) {
+            capture.close();
+        }
+    }
+
+    /**
+     * @param full Whether the socket itself has no room for output
+     * @param opposite Whether the socket it forwards to has no room
+     * @return The events to poll for on the socket
+     */
+    private int events(boolean full, boolean opposite) {
+        return (opposite ? 0 : ZMQ.Poller.POLLIN) | (full ? ZMQ.Poller.POLLOUT : 0);
+    }
+
+    /**
+     * Forward one message, unless the output socket is at its high-water
+     * mark, in which case the message is left on the input socket.
+     *
+     * @return false if the output socket cannot accept a message
+     */
+    private boolean forward(ZMQ.Socket from, ZMQ.Socket to, ZMQ.Socket copy, Traffic traffic) {
+        if ((to.getEvents() & ZMQ.Poller.POLLOUT) == 0) {
+            return false;
+        }
+
+        long bytes = 0;
+        boolean sent = true;
+        boolean more;
+        int receiveFlags = ZMQ.DONTWAIT;
+        do {
+            byte[] frame = from.recv(receiveFlags);
+            if (frame == null) {
+                return true;
+            }
+            receiveFlags = 0;
+            more = from.hasReceiveMore();
+            int flags = more ? ZMQ.SNDMORE | ZMQ.DONTWAIT : ZMQ.DONTWAIT;
+            if (copy != null) {
+                copy.send(frame, flags);
+            }
+            bytes += frame.length;
+            if (!more) {
+                // counted before the last frame is sent, so a peer which has
+                // received the message also sees it in the counters
+                traffic.messages++;
+                traffic.bytes += bytes;
+            }
+            // once the first frame is accepted the rest of the message is
+            // too, but a failed send must still consume the whole message
+            sent = sent && to.send(frame, flags);
+        } while (more);
+
+        if (!sent) {
+            log.warn("Output socket rejected a message, dropping it");
+        }
+        return true;
+    }
+}
@@ -0,0 +1,159 @@
+package org.zeromq.jzmq.device;
+
+import org.zeromq.api.Message;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.PollAdapter;
+import org.zeromq.api.Poller;
+import org.zeromq.api.Socket;
+import org.zeromq.jzmq.ManagedContext;
+import org.zeromq.jzmq.pubsub.TopicTrie;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Forwarder between an XSUB frontend and a verbose XPUB backend, which caches
+ * the latest message of each topic and replays the cached messages matching a
+ * new subscription, so late joiners don't wait for the next update.
+ * <p>
+ * The topic of a message is its first frame, compared as raw bytes. The cache
+ * is bounded by a number of topics and, optionally, a number of bytes, and the
+ * least recently updated topics are evicted first. Since XPUB sockets deliver
+ * to every matching subscriber, existing subscribers to a topic also receive
+ * the replayed message.
+ * <p>
+ * The frontend subscribes to all topics so that every topic is cached, and
+ * subscriptions from the backend are not forwarded upstream.
+ */
+public class LastValueCacheImpl extends AbstractDevice {
+    private final Socket capture;
+    private final int maxTopics;
+    private final long maxBytes;
+
+    /**
+     * Latest message of each topic, in order of last update, and indexed by
+     * topic for replaying the topics matching a subscription.
+     */
+    private final LinkedHashMap<ByteBuffer, Message> cache = new LinkedHashMap<>();
+    private final TopicTrie<Message> topics = new TopicTrie<>();
+    private long cacheBytes;
+
+    public LastValueCacheImpl(ManagedContext context, Socket frontend, Socket backend, Socket capture, Socket control, String controlEndpoint, int maxTopics, long maxBytes) {
+        super(context, frontend, backend, control, controlEndpoint);
+        this.capture = capture;
+        this.maxTopics = maxTopics;
+        this.maxBytes = maxBytes;
+        backend.getZMQSocket().setXpubVerbose(true);
+        frontend.send(new byte[] { 1 });
+    }
+
+    @Override
+    protected void loop() {
+        Poller poller = context.buildPoller()
+            .withInPollable(control, new ControlHandler())
+            .withInPollable(frontend, new FrontendHandler())
+            .withInPollable(backend, new BackendHandler())
+            .build();
+
+        boolean enabled = true;
+        while (running && !Thread.currentThread().isInterrupted()) {
+            poller.poll(-1);
+
+            // registrations are only changed between polls
+            if (enabled == paused) {
+                enabled = !paused;
+                if (enabled) {
+                    poller.enable(frontend);
+                    poller.enable(backend);
+                } else {
+                    poller.disable(frontend);
+                    poller.disable(backend);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void close() {
+        super.close();
+        if (capture != null) {
+            capture.close();
+        }
+    }
+
+    private void store(Message message) {
+        byte[] topic = message.getFirstFrame().getData();
+        ByteBuffer key = ByteBuffer.wrap(topic);
+        Message previous = cache.remove(key);
+        if (previous != null) {
+            cacheBytes -= size(previous);
+        }
+        cache.put(key, message);
+        topics.put(topic, message);
+        cacheBytes += size(message);
+
+        Iterator<Map.Entry<ByteBuffer, Message>> it = cache.entrySet().iterator();
+        while (cache.size() > maxTopics || (maxBytes > 0 && cacheBytes > maxBytes && cache.size() > 1)) {
+            Map.Entry<ByteBuffer, Message> eldest = it.next();
+            cacheBytes -= size(eldest.getValue());
+            topics.remove(eldest.getKey().array());
+            it.remove();
+        }
+    }
+
+    private void replay(byte[] prefix) {
+        List<Message> messages = new ArrayList<>();
+        topics.collect(prefix, messages);
+        for (Message message : messages) {
+            backend.send(message);
+        }
+    }
+
+    private class ControlHandler extends PollAdapter {
+        @Override
+        public void handleIn(Socket socket) {
+            handleControl();
+        }
+    }
+
+    private class FrontendHandler extends PollAdapter {
+        @Override
+        public void handleIn(Socket socket) {
+            Message message;
+            while (!paused && (message = socket.receiveMessage(MessageFlag.DONT_WAIT)) != null) {
+                frontendTraffic.messages++;
+                frontendTraffic.bytes += size(message);
+                if (capture != null) {
+                    capture.send(message);
+                }
+                backend.send(message);
+                if (!message.isEmpty()) {
+                    store(message);
+                }
+            }
+        }
+    }
+
+    private class BackendHandler extends PollAdapter {
+        @Override
+        public void handleIn(Socket socket) {
+            Message message;
+            while (!paused && (message = socket.receiveMessage(MessageFlag.DONT_WAIT)) != null) {
+                backendTraffic.messages++;
+                backendTraffic.bytes += size(message);
+
+                // subscriptions are a 1 byte followed by the topic prefix
+                byte[] data = message.getFirstFrame().getData();
+                if (data.length > 0 && data[0] == 1) {
+                    byte[] prefix = new byte[data.length - 1];
+                    System.arraycopy(data, 1, prefix, 0, prefix.length);
+                    replay(prefix);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package org.zeromq.jzmq.device;
+
+import org.zeromq.api.Message;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.PollAdapter;
+import org.zeromq.api.Poller;
+import org.zeromq.api.RoutedMessage;
+import org.zeromq.api.RoutedMessage.Route;
+import org.zeromq.api.Socket;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+
+/**
+ * Load-balancing broker between a ROUTER frontend and a ROUTER backend, which
+ * only routes requests to workers that are known to be idle.
+ * <p>
+ * Workers announce themselves with a single {@link LoadBalancerWorker#READY}
+ * frame, and are idle again as soon as they send a reply. The frontend is
+ * only polled while at least one worker is idle, so requests queue up in the
+ * frontend socket instead of on busy workers.
+ */
+public class LoadBalancerImpl extends AbstractDevice {
+    private final Socket capture;
+    private final Queue<Route> workers = new ArrayDeque<>();
+
+    public LoadBalancerImpl(ManagedContext context, Socket frontend, Socket backend, Socket capture, Socket control, String controlEndpoint) {
+        super(context, frontend, backend, control, controlEndpoint);
+        this.capture = capture;
+    }
+
+    @Override
+    protected void loop() {
+        Poller poller = context.buildPoller()
+            .withInPollable(control, new ControlHandler())
+            .withInPollable(backend, new BackendHandler())
+            .withInPollable(frontend, new FrontendHandler())
+            .build();
+        poller.disable(frontend);
+
+        boolean backendEnabled = true;
+        boolean frontendEnabled = false;
+        while (running && !Thread.currentThread().isInterrupted()) {
+            poller.poll(-1);
+
+            // registrations are only changed between polls
+            if (backendEnabled == paused) {
+                backendEnabled = !paused;
+                if (backendEnabled) {
+                    poller.enable(backend);
+                } else {
+                    poller.disable(backend);
+                }
+            }
+            boolean available = !paused && !workers.isEmpty();
+            if (frontendEnabled != available) {
+                frontendEnabled = available;
+                if (frontendEnabled) {
+                    poller.enable(frontend);
+                } else {
+                    poller.disable(frontend);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void close() {
+        super.close();
+        if (capture != null) {
+            capture.close();
+        }
+    }
+
+    private class ControlHandler extends PollAdapter {
+        @Override
+        public void handleIn(Socket socket) {
+            handleControl();
+        }
+    }
+
+    private class FrontendHandler extends PollAdapter {
+        @Override
+        public void handleIn(Socket socket) {
+            Message request;
+            while (!paused && !workers.isEmpty() && (request = socket.receiveMessage(MessageFlag.DONT_WAIT)) != null) {
+                frontendTraffic.messages++;
+                frontendTraffic.bytes += size(request);
+                if (capture != null) {
+                    capture.send(request);
+                }
+                backend.send(new RoutedMessage(workers.poll(), request));
+            }
+        }
+    }
+
+    private class BackendHandler extends PollAdapter {
+        @Override
+        public void handleIn(Socket socket) {
+            RoutedMessage message;
+            while (!paused && (message = socket.receiveRoutedMessage(MessageFlag.DONT_WAIT)) != null) {
+                workers.add(message.unwrap());
+                if (message.size() == 1 && Arrays.equals(LoadBalancerWorker.READY, message.getFirstFrame().getData())) {
+                    continue;
+                }
+
+                backendTraffic.messages++;
+                backendTraffic.bytes += size(message);
+                if (capture != null) {
+                    capture.send(message);
+                }
+                frontend.send(message);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package org.zeromq.jzmq.device;
+
+import org.zeromq.api.Context;
+import org.zeromq.api.Message;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.RoutedMessage;
+import org.zeromq.api.RoutedMessage.Route;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+
+import java.util.List;
+
+/**
+ * Worker side of a {@link org.zeromq.api.DeviceType#LOAD_BALANCER} device.
+ * Announces itself as ready when created, and keeps the envelope of the
+ * current request so that replies are routed back to the right client.
+ * <p>
+ * Like the REQ socket it wraps, a worker must alternate between receiving a
+ * request and sending its reply, and is not thread-safe.
+ */
+public class LoadBalancerWorker {
+    public static final byte[] READY = "READY".getBytes(Message.CHARSET);
+
+    private final Socket socket;
+    private List<Route> routes;
+
+    /**
+     * Connect a new worker to the backend of a load-balancing device.
+     *
+     * @param context The context
+     * @param url The backend url of the device
+     */
+    public LoadBalancerWorker(Context context, String url) {
+        this.socket = context.buildSocket(SocketType.REQ).connect(url);
+        socket.send(READY);
+    }
+
+    /**
+     * @return The underlying socket, for use with a Poller or Reactor
+     */
+    public Socket getSocket() {
+        return socket;
+    }
+
+    /**
+     * Receive the next request, blocking until one arrives.
+     *
+     * @return The request payload, without its envelope
+     */
+    public Message receiveRequest() {
+        return receiveRequest(MessageFlag.NONE);
+    }
+
+    /**
+     * Receive the next request.
+     *
+     * @param flag Flag controlling behavior of the receive operation
+     * @return The request payload, without its envelope, or null if none was available
+     */
+    public Message receiveRequest(MessageFlag flag) {
+        RoutedMessage request = socket.receiveRoutedMessage(flag);
+        if (request == null) {
+            return null;
+        }
+        routes = request.getRoutes();
+        return request.getPayload();
+    }
+
+    /**
+     * Send the reply to the current request, which makes this worker idle.
+     *
+     * @param reply The reply payload
+     */
+    public void sendReply(Message reply) {
+        if (routes == null) {
+            throw new IllegalStateException("No request to reply to");
+        }
+        socket.send(new RoutedMessage(routes, reply));
+        routes = null;
+    }
+
+    /**
+     * Close the underlying socket.
+     */
+    public void close() {
+        socket.close();
+    }
+}
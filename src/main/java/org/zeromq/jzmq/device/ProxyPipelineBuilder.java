@@ -0,0 +1,118 @@
+package org.zeromq.jzmq.device;
+
+import org.zeromq.api.DeviceType;
+import org.zeromq.api.MessageStage;
+import org.zeromq.api.ProxyPipeline;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProxyPipelineBuilder {
+    public class Spec {
+        public DeviceType deviceType;
+        public String frontend;
+        public String backend;
+        public String control;
+        public List<MessageStage> frontendStages = new ArrayList<>();
+        public List<MessageStage> backendStages = new ArrayList<>();
+        public int batchSize = 100;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public ProxyPipelineBuilder(ManagedContext context, DeviceType deviceType) {
+        this.context = context;
+        spec.deviceType = deviceType;
+    }
+
+    public ProxyPipelineBuilder withFrontendUrl(String frontend) {
+        spec.frontend = frontend;
+        return this;
+    }
+
+    public ProxyPipelineBuilder withBackendUrl(String backend) {
+        spec.backend = backend;
+        return this;
+    }
+
+    /**
+     * Bind a REP socket to the given url, which will accept the same commands
+     * as the control socket of a {@link DeviceBuilder device}.
+     *
+     * @param control The control url
+     * @return This builder object
+     */
+    public ProxyPipelineBuilder withControlUrl(String control) {
+        spec.control = control;
+        return this;
+    }
+
+    /**
+     * Add a stage for messages received on the frontend. Stages are applied
+     * in the order they are added.
+     *
+     * @param stage The stage
+     * @return This builder object
+     */
+    public ProxyPipelineBuilder withFrontendStage(MessageStage stage) {
+        spec.frontendStages.add(stage);
+        return this;
+    }
+
+    /**
+     * Add a stage for messages received on the backend. Stages are applied
+     * in the order they are added.
+     *
+     * @param stage The stage
+     * @return This builder object
+     */
+    public ProxyPipelineBuilder withBackendStage(MessageStage stage) {
+        spec.backendStages.add(stage);
+        return this;
+    }
+
+    /**
+     * Set the maximum number of messages received from a socket before they
+     * are run through the stages and sent on as a batch.
+     *
+     * @param batchSize The maximum batch size
+     * @return This builder object
+     */
+    public ProxyPipelineBuilder withBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        spec.batchSize = batchSize;
+        return this;
+    }
+
+    public ProxyPipeline start() {
+        if (spec.deviceType == DeviceType.LOAD_BALANCER || spec.deviceType == DeviceType.LAST_VALUE_CACHE) {
+            throw new IllegalArgumentException(spec.deviceType + " is not supported by proxy pipelines");
+        }
+
+        Socket frontend = context.buildSocket(DeviceBuilder.frontendType(spec.deviceType))
+            .bind(spec.frontend);
+
+        Socket backend = context.buildSocket(DeviceBuilder.backendType(spec.deviceType))
+            .bind(spec.backend);
+
+        String endpoint = String.format("inproc://jzmq-pipeline-%d", System.identityHashCode(frontend));
+        Socket control;
+        if (spec.control != null) {
+            control = context.buildSocket(SocketType.REP)
+                .bind(endpoint, spec.control);
+        } else {
+            control = context.buildSocket(SocketType.REP)
+                .bind(endpoint);
+        }
+
+        ProxyPipelineImpl pipeline = new ProxyPipelineImpl(context, spec, frontend, backend, control, endpoint);
+        pipeline.start();
+        return pipeline;
+    }
+}
@@ -0,0 +1,270 @@
+package org.zeromq.jzmq.device;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQException;
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.MessageStage;
+import org.zeromq.api.PollAdapter;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.Poller;
+import org.zeromq.api.PollerType;
+import org.zeromq.api.ProxyPipeline;
+import org.zeromq.api.Socket;
+import org.zeromq.api.exception.ZMQExceptions;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Proxy which receives messages in bursts, runs each burst through a chain of
+ * stages and sends the survivors on as a batch.
+ */
+public class ProxyPipelineImpl extends AbstractDevice implements ProxyPipeline {
+    private static final Logger log = LoggerFactory.getLogger(ProxyPipelineImpl.class);
+
+    private final int batchSize;
+    private final Map<MessageStage, Stage> stages = new HashMap<>();
+    private final List<Stage> frontendStages = new ArrayList<>();
+    private final List<Stage> backendStages = new ArrayList<>();
+
+    public ProxyPipelineImpl(ManagedContext context, ProxyPipelineBuilder.Spec spec, Socket frontend, Socket backend, Socket control, String controlEndpoint) {
+        super(context, frontend, backend, control, controlEndpoint);
+        this.batchSize = spec.batchSize;
+        for (MessageStage stage : spec.frontendStages) {
+            frontendStages.add(stage(stage));
+        }
+        for (MessageStage stage : spec.backendStages) {
+            backendStages.add(stage(stage));
+        }
+    }
+
+    private Stage stage(MessageStage messageStage) {
+        Stage stage = stages.get(messageStage);
+        if (stage == null) {
+            stage = new Stage(messageStage);
+            stages.put(messageStage, stage);
+        }
+        return stage;
+    }
+
+    @Override
+    public long getStageTime(MessageStage stage) {
+        Stage s = stages.get(stage);
+        return s != null ? s.nanos : 0;
+    }
+
+    @Override
+    public long getStageDrops(MessageStage stage) {
+        Stage s = stages.get(stage);
+        return s != null ? s.drops : 0;
+    }
+
+    @Override
+    protected void loop() {
+        Forwarder frontendForwarder = new Forwarder(backend, frontendStages, frontendTraffic);
+        Forwarder backendForwarder = new Forwarder(frontend, backendStages, backendTraffic);
+        Endpoint frontendEndpoint = new Endpoint(frontend, frontendForwarder, backendForwarder);
+        Endpoint backendEndpoint = new Endpoint(backend, backendForwarder, frontendForwarder);
+        Poller poller = context.buildPoller()
+            .withInPollable(control, new ControlHandler())
+            .build();
+
+        while (running && !Thread.currentThread().isInterrupted()) {
+            // registrations are only changed between polls
+            frontendEndpoint.update(poller);
+            backendEndpoint.update(poller);
+            poller.poll(-1);
+        }
+    }
+
+    /**
+     * Timing and drop counters for one stage, written only by the pipeline
+     * thread.
+     */
+    private static class Stage {
+        private final MessageStage stage;
+        private volatile long nanos;
+        private volatile long drops;
+
+        public Stage(MessageStage stage) {
+            this.stage = stage;
+        }
+
+        /**
+         * Run the stage over a batch, compacting the survivors to the front.
+         */
+        public void process(List<Message> batch) {
+            long start = System.nanoTime();
+            int kept = 0;
+            for (int i = 0; i < batch.size(); i++) {
+                Message message;
+                try {
+                    message = stage.process(batch.get(i));
+                } catch (RuntimeException ex) {
+                    log.warn("Message stage failed, dropping message", ex);
+                    message = null;
+                }
+                if (message != null) {
+                    batch.set(kept++, message);
+                }
+            }
+
+            int dropped = batch.size() - kept;
+            for (int i = batch.size() - 1; i >= kept; i--) {
+                batch.remove(i);
+            }
+            drops += dropped;
+            nanos += System.nanoTime() - start;
+        }
+    }
+
+    private class ControlHandler extends PollAdapter {
+        @Override
+        public void handleIn(Socket socket) {
+            handleControl();
+        }
+    }
+
+    /**
+     * Registration of the frontend or backend socket. The socket is polled
+     * for input only while its burst has been sent on, and for output only
+     * while the burst travelling the other way is waiting for room.
+     */
+    private class Endpoint extends PollAdapter {
+        private final Socket socket;
+        private final Forwarder input;
+        private final Forwarder output;
+        private Pollable pollable;
+        private int events;
+
+        public Endpoint(Socket socket, Forwarder input, Forwarder output) {
+            this.socket = socket;
+            this.input = input;
+            this.output = output;
+        }
+
+        @Override
+        public void handleIn(Socket socket) {
+            if (!paused) {
+                input.receive(socket);
+            }
+        }
+
+        @Override
+        public void handleOut(Socket socket) {
+            if (!paused) {
+                output.flush();
+            }
+        }
+
+        public void update(Poller poller) {
+            boolean in = !paused && !input.isBlocked();
+            boolean out = !paused && output.isBlocked();
+            int next = (in ? PollerType.POLL_IN.getType() : 0) | (out ? PollerType.POLL_OUT.getType() : 0);
+            if (next == events && pollable != null) {
+                return;
+            }
+
+            // each socket has a single registration, since the underlying
+            // poller only reports events for one registration per socket
+            if (pollable != null) {
+                poller.unregister(pollable);
+                pollable = null;
+            }
+            if (in && out) {
+                pollable = context.newPollable(socket, PollerType.POLL_IN, PollerType.POLL_OUT);
+            } else if (in) {
+                pollable = context.newPollable(socket, PollerType.POLL_IN);
+            } else if (out) {
+                pollable = context.newPollable(socket, PollerType.POLL_OUT);
+            }
+            if (pollable != null) {
+                poller.register(pollable, this);
+            }
+            events = next;
+        }
+    }
+
+    /**
+     * Forwards bursts in one direction. A burst the output socket cannot take
+     * in full is kept until the output has room, and no more input is read
+     * until it has been sent, so the pipeline thread never blocks.
+     */
+    private class Forwarder {
+        private final Socket output;
+        private final List<Stage> stages;
+        private final Traffic traffic;
+        private final List<Message> batch;
+        private int sent;
+
+        public Forwarder(Socket output, List<Stage> stages, Traffic traffic) {
+            this.output = output;
+            this.stages = stages;
+            this.traffic = traffic;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        public boolean isBlocked() {
+            return !batch.isEmpty();
+        }
+
+        public void receive(Socket socket) {
+            if (isBlocked()) {
+                return;
+            }
+
+            long bytes = 0;
+            Message message;
+            while (batch.size() < batchSize && (message = socket.receiveMessage(MessageFlag.DONT_WAIT)) != null) {
+                bytes += size(message);
+                batch.add(message);
+            }
+            traffic.messages += batch.size();
+            traffic.bytes += bytes;
+
+            for (int i = 0; i < stages.size() && !batch.isEmpty(); i++) {
+                stages.get(i).process(batch);
+            }
+            flush();
+        }
+
+        public void flush() {
+            while (sent < batch.size() && send(batch.get(sent))) {
+                sent++;
+            }
+            if (sent == batch.size()) {
+                batch.clear();
+                sent = 0;
+            }
+        }
+
+        private boolean send(Message message) {
+            List<Frame> frames = message.getFrames();
+            if (frames.isEmpty()) {
+                return true;
+            }
+
+            int last = frames.size() - 1;
+            try {
+                if (!output.getZMQSocket().send(frames.get(0).getData(), last > 0 ? ZMQ.DONTWAIT | ZMQ.SNDMORE : ZMQ.DONTWAIT)) {
+                    return false;
+                }
+            } catch (ZMQException ex) {
+                throw ZMQExceptions.wrap(ex);
+            }
+
+            // once the first frame is queued, the rest of the message is too
+            for (int i = 1; i <= last; i++) {
+                output.send(frames.get(i).getData(), i < last ? MessageFlag.SEND_MORE : MessageFlag.NONE);
+            }
+            return true;
+        }
+    }
+}
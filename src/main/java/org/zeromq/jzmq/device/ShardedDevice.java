@@ -0,0 +1,99 @@
+package org.zeromq.jzmq.device;
+
+import org.zeromq.api.Device;
+
+import java.util.List;
+
+/**
+ * Device handle for a set of independent proxy threads, which are steered
+ * together and report aggregate statistics.
+ */
+public class ShardedDevice implements Device {
+    private final List<Device> shards;
+
+    public ShardedDevice(List<Device> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * @return The number of shards
+     */
+    public int getShardCount() {
+        return shards.size();
+    }
+
+    /**
+     * @param shard The shard number
+     * @return The handle for the given shard
+     */
+    public Device getShard(int shard) {
+        return shards.get(shard);
+    }
+
+    @Override
+    public void pause() {
+        for (Device shard : shards) {
+            shard.pause();
+        }
+    }
+
+    @Override
+    public void resume() {
+        for (Device shard : shards) {
+            shard.resume();
+        }
+    }
+
+    @Override
+    public void terminate() {
+        RuntimeException failure = null;
+        for (Device shard : shards) {
+            try {
+                shard.terminate();
+            } catch (RuntimeException ex) {
+                if (failure == null) {
+                    failure = ex;
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @Override
+    public long getFrontendMessages() {
+        long total = 0;
+        for (Device shard : shards) {
+            total += shard.getFrontendMessages();
+        }
+        return total;
+    }
+
+    @Override
+    public long getFrontendBytes() {
+        long total = 0;
+        for (Device shard : shards) {
+            total += shard.getFrontendBytes();
+        }
+        return total;
+    }
+
+    @Override
+    public long getBackendMessages() {
+        long total = 0;
+        for (Device shard : shards) {
+            total += shard.getBackendMessages();
+        }
+        return total;
+    }
+
+    @Override
+    public long getBackendBytes() {
+        long total = 0;
+        for (Device shard : shards) {
+            total += shard.getBackendBytes();
+        }
+        return total;
+    }
+}
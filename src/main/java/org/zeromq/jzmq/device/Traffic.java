@@ -0,0 +1,10 @@
+package org.zeromq.jzmq.device;
+
+/**
+ * Traffic counters for one direction of a device. Only the device thread
+ * writes to these, so volatile fields are sufficient for other readers.
+ */
+class Traffic {
+    volatile long messages;
+    volatile long bytes;
+}
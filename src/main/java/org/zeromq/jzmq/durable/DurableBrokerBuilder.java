@@ -0,0 +1,150 @@
+package org.zeromq.jzmq.durable;
+
+import org.zeromq.api.DurableBroker;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.io.File;
+
+public class DurableBrokerBuilder {
+    public class Spec {
+        public String frontendUrl;
+        public SocketType frontendType = SocketType.XSUB;
+        public String replayUrl;
+        public File directory;
+        public int segmentSize = DurableBroker.SEGMENT_SIZE;
+        public int maxSegments;
+        public long flushInterval = DurableBroker.FLUSH_INTERVAL;
+        public int batchSize = DurableBroker.BATCH_SIZE;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public DurableBrokerBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Bind the socket receiving messages to be stored to the given url.
+     *
+     * @param frontendUrl The frontend url
+     * @return This builder object
+     */
+    public DurableBrokerBuilder withFrontendUrl(String frontendUrl) {
+        spec.frontendUrl = frontendUrl;
+        return this;
+    }
+
+    /**
+     * Set the type of the socket receiving messages to be stored, either
+     * XSUB (the default), subscribed to all topics, or PULL.
+     *
+     * @param frontendType The frontend socket type
+     * @return This builder object
+     */
+    public DurableBrokerBuilder withFrontendType(SocketType frontendType) {
+        if (frontendType != SocketType.XSUB && frontendType != SocketType.PULL) {
+            throw new IllegalArgumentException("frontendType must be XSUB or PULL");
+        }
+        spec.frontendType = frontendType;
+        return this;
+    }
+
+    /**
+     * Bind the ROUTER socket serving readers to the given url.
+     *
+     * @param replayUrl The replay url
+     * @return This builder object
+     */
+    public DurableBrokerBuilder withReplayUrl(String replayUrl) {
+        spec.replayUrl = replayUrl;
+        return this;
+    }
+
+    /**
+     * Set the directory holding the segment files of the log. Existing
+     * segments in the directory are recovered.
+     *
+     * @param directory The log directory
+     * @return This builder object
+     */
+    public DurableBrokerBuilder withDirectory(File directory) {
+        spec.directory = directory;
+        return this;
+    }
+
+    /**
+     * Set the size of each segment file, in bytes.
+     *
+     * @param segmentSize The segment size
+     * @return This builder object
+     */
+    public DurableBrokerBuilder withSegmentSize(int segmentSize) {
+        if (segmentSize < 1) {
+            throw new IllegalArgumentException("segmentSize must be positive");
+        }
+        spec.segmentSize = segmentSize;
+        return this;
+    }
+
+    /**
+     * Set the number of segment files kept, after which the oldest are
+     * deleted. By default, all segments are kept.
+     *
+     * @param maxSegments The number of segments kept, or 0 to keep all
+     * @return This builder object
+     */
+    public DurableBrokerBuilder withMaxSegments(int maxSegments) {
+        if (maxSegments < 0) {
+            throw new IllegalArgumentException("maxSegments cannot be negative");
+        }
+        spec.maxSegments = maxSegments;
+        return this;
+    }
+
+    /**
+     * Set the interval at which the log is forced to disk.
+     *
+     * @param flushInterval The flush interval, in milliseconds
+     * @return This builder object
+     */
+    public DurableBrokerBuilder withFlushInterval(long flushInterval) {
+        if (flushInterval <= 0) {
+            throw new IllegalArgumentException("flushInterval must be positive");
+        }
+        spec.flushInterval = flushInterval;
+        return this;
+    }
+
+    /**
+     * Set the number of messages sent to a replaying reader at a time,
+     * before moving on to other readers.
+     *
+     * @param batchSize The replay batch size
+     * @return This builder object
+     */
+    public DurableBrokerBuilder withBatchSize(int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive");
+        }
+        spec.batchSize = batchSize;
+        return this;
+    }
+
+    public DurableBroker build() {
+        assert spec.frontendUrl != null;
+        assert spec.replayUrl != null;
+        assert spec.directory != null;
+
+        return new DurableBrokerImpl(context, spec.frontendUrl, spec.frontendType, spec.replayUrl, spec.directory,
+            spec.segmentSize, spec.maxSegments, spec.flushInterval, spec.batchSize);
+    }
+
+    public DurableBroker start() {
+        DurableBroker broker = build();
+        broker.start();
+
+        return broker;
+    }
+}
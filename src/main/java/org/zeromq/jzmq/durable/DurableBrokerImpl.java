@@ -0,0 +1,238 @@
+package org.zeromq.jzmq.durable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQException;
+import org.zeromq.api.DurableBroker;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.RoutedMessage;
+import org.zeromq.api.RoutedMessage.Route;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.api.exception.ZMQExceptions;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+public class DurableBrokerImpl implements DurableBroker {
+    private static final Logger log = LoggerFactory.getLogger(DurableBroker.class);
+
+    /**
+     * Delay before retrying readers which could not accept any messages.
+     */
+    private static final long RETRY_INTERVAL = 10;
+
+    private final Reactor reactor;
+    private final Socket frontend;
+    private final Socket replay;
+    private final SegmentLog segmentLog;
+    private final int batchSize;
+
+    /**
+     * Readers are either tailing, receiving each message as it is appended,
+     * or replaying, catching up with the log in batches.
+     */
+    private final Map<Route, Reader> readers = new HashMap<>();
+    private final LoopHandler pumpHandler = new ReplayPump();
+    private boolean pumpScheduled;
+
+    public DurableBrokerImpl(ManagedContext context, String frontendUrl, SocketType frontendType, String replayUrl, File directory, int segmentSize, int maxSegments, long flushInterval, int batchSize) {
+        this.segmentLog = new SegmentLog(directory, segmentSize, maxSegments);
+        this.frontend = context.buildSocket(frontendType)
+            .bind(frontendUrl);
+        if (frontendType == SocketType.XSUB) {
+            frontend.subscribe(new byte[0]);
+        }
+        this.replay = context.buildSocket(SocketType.ROUTER)
+            .asRoutable().withRouterMandatory()
+            .bind(replayUrl);
+        this.batchSize = batchSize;
+
+        this.reactor = context.buildReactor()
+            .withInPollable(frontend, new FrontendHandler())
+            .withInPollable(replay, new CommandHandler())
+            .withTimerFixedRate(flushInterval, Reactor.CatchUp.SKIP, new Flush())
+            .build();
+    }
+
+    @Override
+    public void start() {
+        reactor.start();
+    }
+
+    @Override
+    public void stop() {
+        reactor.stop();
+        segmentLog.close();
+    }
+
+    @Override
+    public long getStartOffset() {
+        return segmentLog.getStartOffset();
+    }
+
+    @Override
+    public long getEndOffset() {
+        return segmentLog.getEndOffset();
+    }
+
+    private void schedulePump(long delay) {
+        if (!pumpScheduled) {
+            pumpScheduled = true;
+            reactor.addTimer(delay, 1, pumpHandler);
+        }
+    }
+
+    /**
+     * Send a message from the log to a reader, without blocking. The address
+     * frame is sent first, so a reader whose pipe is full is detected before
+     * any of the message is sent.
+     *
+     * @return true if the message was sent, false if the reader is busy or gone
+     */
+    private boolean send(Reader reader, long offset) {
+        try {
+            if (!replay.getZMQSocket().send(reader.route.getAddress(), ZMQ.DONTWAIT | ZMQ.SNDMORE)) {
+                return false;
+            }
+        } catch (ZMQException ex) {
+            if (ex.getErrorCode() == ZMQ.Error.EHOSTUNREACH.getCode()) {
+                log.info("Reader {} disconnected", reader.route);
+                reader.gone = true;
+                return false;
+            }
+            throw ZMQExceptions.wrap(ex);
+        }
+
+        replay.send(Message.EMPTY_FRAME.getData(), MessageFlag.SEND_MORE);
+        segmentLog.send(replay, offset);
+        return true;
+    }
+
+    private class FrontendHandler implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            Message message = pollable.getSocket().receiveMessage();
+            if (message == null) {
+                return;
+            }
+
+            long offset = segmentLog.append(message);
+            Iterator<Reader> it = readers.values().iterator();
+            while (it.hasNext()) {
+                Reader reader = it.next();
+                if (!reader.tailing) {
+                    continue;
+                }
+
+                if (send(reader, offset)) {
+                    reader.next = offset + 1;
+                } else if (reader.gone) {
+                    it.remove();
+                } else {
+                    // fall back to replaying from this message
+                    reader.tailing = false;
+                    schedulePump(RETRY_INTERVAL);
+                }
+            }
+        }
+    }
+
+    private class CommandHandler implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            RoutedMessage message = pollable.getSocket().receiveRoutedMessage();
+            if (message == null || message.getRoutes().isEmpty()) {
+                return;
+            }
+
+            Route route = message.unwrap();
+            String command = message.isEmpty() ? null : message.popString();
+            if (STOP.equals(command)) {
+                readers.remove(route);
+            } else if (REPLAY.equals(command) && !message.isEmpty()) {
+                replay(route, message.popLong());
+            } else if (SEEK.equals(command) && !message.isEmpty()) {
+                replay(route, segmentLog.findOffset(message.popLong()));
+            } else {
+                log.warn("Invalid command from reader {}: {}", route, command);
+            }
+        }
+
+        private void replay(Route route, long offset) {
+            Reader reader = new Reader(route);
+            reader.next = Math.min(Math.max(offset, segmentLog.getStartOffset()), segmentLog.getEndOffset());
+            readers.put(route, reader);
+            schedulePump(0);
+        }
+    }
+
+    /**
+     * Sends a batch of messages to each replaying reader, and moves readers
+     * which have caught up with the log to the live stream.
+     */
+    private class ReplayPump implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            pumpScheduled = false;
+
+            boolean progress = false;
+            boolean pending = false;
+            Iterator<Reader> it = readers.values().iterator();
+            while (it.hasNext()) {
+                Reader reader = it.next();
+                if (reader.tailing) {
+                    continue;
+                }
+
+                // the oldest messages may have been removed since the last batch
+                reader.next = Math.max(reader.next, segmentLog.getStartOffset());
+
+                int sent = 0;
+                while (sent < batchSize && reader.next < segmentLog.getEndOffset() && send(reader, reader.next)) {
+                    reader.next++;
+                    sent++;
+                }
+
+                if (reader.gone) {
+                    it.remove();
+                } else if (reader.next == segmentLog.getEndOffset()) {
+                    reader.tailing = true;
+                } else {
+                    pending = true;
+                }
+                progress |= sent > 0;
+            }
+
+            if (pending) {
+                schedulePump(progress ? 0 : RETRY_INTERVAL);
+            }
+        }
+    }
+
+    private class Flush implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            segmentLog.flush();
+        }
+    }
+
+    private static class Reader {
+        private final Route route;
+        private long next;
+        private boolean tailing;
+        private boolean gone;
+
+        public Reader(Route route) {
+            this.route = route;
+        }
+    }
+}
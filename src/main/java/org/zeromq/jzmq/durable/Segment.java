@@ -0,0 +1,222 @@
+package org.zeromq.jzmq.durable;
+
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * A memory-mapped segment file of a {@link SegmentLog}, holding the records
+ * of consecutive offsets starting at its base offset.
+ * <p>
+ * Each record is an int length, followed by a long timestamp, an int frame
+ * count and each frame as an int size and its bytes. The length is written
+ * last, so a record torn by a crash reads as the end of the segment. The
+ * position and timestamp of every record are indexed in memory.
+ * <p>
+ * Records sent to a socket are not copied, so the mapping may still be
+ * referenced by messages queued on the socket after the segment is released.
+ */
+class Segment {
+    static final String SUFFIX = ".log";
+
+    private static final int HEADER_SIZE = 4 + 8 + 4;
+
+    final long base;
+    final File file;
+    private MappedByteBuffer buffer;
+    private boolean shared;
+    private int position;
+    private int count;
+    private int[] positions = new int[1024];
+    private long[] timestamps = new long[1024];
+
+    private Segment(long base, File file, MappedByteBuffer buffer) {
+        this.base = base;
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Create a new, empty segment.
+     */
+    static Segment create(File directory, long base, int capacity) {
+        File file = new File(directory, String.format("%020d%s", base, SUFFIX));
+        return new Segment(base, file, map(file, capacity));
+    }
+
+    /**
+     * Open an existing segment, indexing the records it contains.
+     */
+    static Segment open(File file) {
+        String name = file.getName();
+        long base = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+        Segment segment = new Segment(base, file, map(file, (int) file.length()));
+        segment.scan();
+        return segment;
+    }
+
+    private static MappedByteBuffer map(File file, int capacity) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            return raf.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to map segment " + file, ex);
+        }
+    }
+
+    /**
+     * @return The size of the record of a message, including its length
+     */
+    static int recordSize(Message message) {
+        int size = HEADER_SIZE;
+        for (Frame frame : message) {
+            size += 4 + frame.getData().length;
+        }
+        return size;
+    }
+
+    private void scan() {
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + 4 + length > buffer.capacity()) {
+                break;
+            }
+            index(position, buffer.getLong(position + 4));
+            position += 4 + length;
+        }
+    }
+
+    private void index(int recordPosition, long timestamp) {
+        if (count == positions.length) {
+            positions = Arrays.copyOf(positions, count * 2);
+            timestamps = Arrays.copyOf(timestamps, count * 2);
+        }
+        positions[count] = recordPosition;
+        timestamps[count] = timestamp;
+        count++;
+    }
+
+    boolean hasRoom(int recordSize) {
+        return position + recordSize <= buffer.capacity();
+    }
+
+    void append(Message message, long timestamp) {
+        int start = position;
+        ByteBuffer buf = buffer.duplicate();
+        buf.position(start + 4);
+        buf.putLong(timestamp);
+        buf.putInt(message.size());
+        for (Frame frame : message) {
+            byte[] data = frame.getData();
+            buf.putInt(data.length);
+            buf.put(data);
+        }
+
+        // publish the record by writing its length last
+        buffer.putInt(start, buf.position() - start - 4);
+        position = buf.position();
+        index(start, timestamp);
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    long getTimestamp(int index) {
+        return timestamps[index];
+    }
+
+    /**
+     * @return The index of the first record with a timestamp at or after the given time
+     */
+    int search(long timestamp) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (timestamps[mid] < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Create a view of a record, positioned at its frame count.
+     */
+    ByteBuffer record(int index) {
+        int start = positions[index];
+        ByteBuffer buf = buffer.duplicate();
+        buf.limit(start + 4 + buffer.getInt(start));
+        buf.position(start + 4 + 8);
+        return buf;
+    }
+
+    /**
+     * Create a view of a record to send to a socket, positioned at its frame
+     * count. The mapping is shared with the socket until the record is sent.
+     */
+    ByteBuffer share(int index) {
+        shared = true;
+        return record(index);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Drop the mapping and the index. A mapping which was never shared with a
+     * socket is unmapped immediately, and a shared one once the messages which
+     * reference it have been sent and collected, since unmapping it under a
+     * queued message would crash the JVM.
+     */
+    void release() {
+        MappedByteBuffer mapping = buffer;
+        buffer = null;
+        positions = null;
+        timestamps = null;
+        if (mapping != null && !shared) {
+            unmap(mapping);
+        }
+    }
+
+    /**
+     * Unmap a buffer without waiting for it to be garbage collected, falling
+     * back to the garbage collector if the JVM doesn't allow it.
+     */
+    private static void unmap(MappedByteBuffer mapping) {
+        try {
+            // Java 9 and later
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(theUnsafe.get(null), mapping);
+            return;
+        } catch (Exception ignored) {
+        }
+
+        try {
+            // Java 8
+            Method cleaner = mapping.getClass().getMethod("cleaner");
+            cleaner.setAccessible(true);
+            Object clean = cleaner.invoke(mapping);
+            if (clean != null) {
+                clean.getClass().getMethod("clean").invoke(clean);
+            }
+        } catch (Exception ignored) {
+        }
+    }
+}
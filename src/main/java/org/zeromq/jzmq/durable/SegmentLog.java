@@ -0,0 +1,249 @@
+package org.zeromq.jzmq.durable;
+
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.Socket;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.UncheckedIOException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.TreeMap;
+
+/**
+ * Append-only log of messages, stored in memory-mapped segment files which
+ * are rolled when full, and addressed by offset (the position of a message
+ * in the log, starting at 0) or by timestamp.
+ * <p>
+ * Records can be sent straight from the mapped files to a socket, without
+ * reading them into Messages. The log is not thread-safe, except for the
+ * offset getters, and data reaches the disk when {@link #flush()} is called
+ * or when the operating system writes it back. Segments removed beyond the
+ * limit, and all segments when the log is closed, release their mappings.
+ */
+public class SegmentLog implements Closeable {
+    private final File directory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private Segment active;
+    private long lastTimestamp;
+
+    private volatile long startOffset;
+    private volatile long endOffset;
+
+    /**
+     * Open the log in a directory, recovering any existing segments.
+     *
+     * @param directory The directory holding the segment files
+     * @param segmentSize The size of each segment file, in bytes
+     * @param maxSegments The number of segments to keep, or 0 to keep all
+     */
+    public SegmentLog(File directory, int segmentSize, int maxSegments) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new UncheckedIOException(new IOException("Unable to create log directory " + directory));
+        }
+
+        File[] files = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(Segment.SUFFIX);
+            }
+        });
+        Arrays.sort(files);
+        for (File file : files) {
+            Segment segment = Segment.open(file);
+            segments.put(segment.base, segment);
+        }
+
+        if (segments.isEmpty()) {
+            active = Segment.create(directory, 0, segmentSize);
+            segments.put(active.base, active);
+        } else {
+            active = segments.lastEntry().getValue();
+            if (active.getCount() > 0) {
+                lastTimestamp = active.getTimestamp(active.getCount() - 1);
+            }
+        }
+        startOffset = segments.firstKey();
+        endOffset = active.base + active.getCount();
+    }
+
+    /**
+     * Append a message, timestamped with the current time.
+     *
+     * @param message The message
+     * @return The offset of the message
+     */
+    public long append(Message message) {
+        return append(message, System.currentTimeMillis());
+    }
+
+    /**
+     * Append a message. Timestamps never decrease, so a timestamp earlier
+     * than the last one is replaced by the last one.
+     *
+     * @param message The message
+     * @param timestamp The timestamp, in milliseconds
+     * @return The offset of the message
+     */
+    public long append(Message message, long timestamp) {
+        int size = Segment.recordSize(message);
+        if (!active.hasRoom(size)) {
+            roll(size);
+        }
+
+        lastTimestamp = Math.max(timestamp, lastTimestamp);
+        active.append(message, lastTimestamp);
+        return endOffset++;
+    }
+
+    /**
+     * @return The offset of the oldest message still in the log
+     */
+    public long getStartOffset() {
+        return startOffset;
+    }
+
+    /**
+     * @return The offset the next message will be appended at
+     */
+    public long getEndOffset() {
+        return endOffset;
+    }
+
+    /**
+     * Find the first message appended at or after the given time.
+     *
+     * @param timestamp The time, in milliseconds
+     * @return The offset of the message, or the end offset if there is none
+     */
+    public long findOffset(long timestamp) {
+        for (Segment segment : segments.values()) {
+            int index = segment.search(timestamp);
+            if (index < segment.getCount()) {
+                return segment.base + index;
+            }
+        }
+        return endOffset;
+    }
+
+    /**
+     * @param offset The offset of a message in the log
+     * @return The timestamp of the message
+     */
+    public long getTimestamp(long offset) {
+        Segment segment = segment(offset);
+        return segment.getTimestamp((int) (offset - segment.base));
+    }
+
+    /**
+     * Read a message into memory.
+     *
+     * @param offset The offset of a message in the log
+     * @return The message
+     */
+    public Message read(long offset) {
+        ByteBuffer record = record(offset);
+        Message message = new Message();
+        int frames = record.getInt();
+        for (int i = 0; i < frames; i++) {
+            byte[] data = new byte[record.getInt()];
+            record.get(data);
+            message.addFrame(new Frame(data));
+        }
+        return message;
+    }
+
+    /**
+     * Send a message straight from the log, as its offset and timestamp
+     * followed by its frames. Any envelope must already have been sent with
+     * {@link MessageFlag#SEND_MORE}.
+     *
+     * @param socket The socket to send the message on
+     * @param offset The offset of a message in the log
+     * @return true if the message was sent, false otherwise
+     */
+    public boolean send(Socket socket, long offset) {
+        Segment segment = segment(offset);
+        ByteBuffer record = segment.share((int) (offset - segment.base));
+        int frames = record.getInt();
+        socket.send(Frame.of(offset).getData(), MessageFlag.SEND_MORE);
+        if (!socket.send(Frame.of(getTimestamp(offset)).getData(), frames > 0 ? MessageFlag.SEND_MORE : MessageFlag.NONE)) {
+            return false;
+        }
+
+        boolean sent = true;
+        for (int i = 0; i < frames; i++) {
+            int length = record.getInt();
+            ByteBuffer frame = record.slice();
+            frame.limit(length);
+            record.position(record.position() + length);
+            sent = socket.sendByteBuffer(frame, i < frames - 1 ? MessageFlag.SEND_MORE : MessageFlag.NONE);
+        }
+        return sent;
+    }
+
+    /**
+     * Force the contents of the active segment to disk.
+     */
+    public void flush() {
+        active.force();
+    }
+
+    /**
+     * Flush the log and release the segments. The log can't be used once it
+     * is closed.
+     */
+    @Override
+    public void close() {
+        if (segments.isEmpty()) {
+            return;
+        }
+
+        flush();
+        for (Segment segment : segments.values()) {
+            segment.release();
+        }
+        segments.clear();
+    }
+
+    private Segment segment(long offset) {
+        if (offset < startOffset || offset >= endOffset) {
+            throw new IndexOutOfBoundsException("Offset " + offset + " is not in the log");
+        }
+        return segments.floorEntry(offset).getValue();
+    }
+
+    private ByteBuffer record(long offset) {
+        Segment segment = segment(offset);
+        return segment.record((int) (offset - segment.base));
+    }
+
+    /**
+     * Start a new segment, large enough for the next record, and remove the
+     * oldest segments beyond the limit.
+     */
+    private void roll(int recordSize) {
+        active.force();
+        active = Segment.create(directory, endOffset, Math.max(segmentSize, recordSize));
+        segments.put(active.base, active);
+
+        while (maxSegments > 0 && segments.size() > maxSegments) {
+            Segment oldest = segments.pollFirstEntry().getValue();
+            oldest.release();
+            if (!oldest.file.delete()) {
+                oldest.file.deleteOnExit();
+            }
+        }
+        startOffset = segments.firstKey();
+    }
+}
@@ -0,0 +1,98 @@
+package org.zeromq.jzmq.flow;
+
+import org.zeromq.api.Message;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.RoutedMessage;
+import org.zeromq.api.RoutedMessage.Route;
+import org.zeromq.api.Socket;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Receiving side of credit-based flow control over a ROUTER socket. Each
+ * sender may have at most one window of credit in flight, and credit is
+ * granted back to a sender once half a window of its messages has been
+ * received, so a sender does not stall while the receiver keeps up.
+ * <p>
+ * Credit is granted when a message is received, so the application should
+ * finish with a message before receiving the next one to keep memory bounded.
+ * A receiver is not thread-safe, and should only be used from the thread that
+ * owns the socket.
+ */
+public class CreditReceiver {
+    private final Socket socket;
+    private final CreditUnit unit;
+    private final long threshold;
+    private final Map<Route, Peer> peers = new HashMap<>();
+
+    /**
+     * Create a new receiver.
+     *
+     * @param socket A bound ROUTER socket
+     * @param unit The unit of credit
+     * @param window The initial credit of each sender
+     */
+    public CreditReceiver(Socket socket, CreditUnit unit, long window) {
+        this.socket = socket;
+        this.unit = unit;
+        this.threshold = Math.max(1, window / 2);
+    }
+
+    /**
+     * @return The underlying socket, for use with a Poller or Reactor
+     */
+    public Socket getSocket() {
+        return socket;
+    }
+
+    /**
+     * Receive the next message, blocking until one arrives.
+     *
+     * @return The message, with the route of its sender
+     */
+    public RoutedMessage receive() {
+        return receive(MessageFlag.NONE);
+    }
+
+    /**
+     * Receive the next message, and grant credit to its sender when enough
+     * has been consumed.
+     *
+     * @param flag Flag controlling behavior of the receive operation
+     * @return The message, with the route of its sender, or null if none was available
+     */
+    public RoutedMessage receive(MessageFlag flag) {
+        RoutedMessage message = socket.receiveRoutedMessage(flag);
+        if (message == null || message.getRoutes().isEmpty()) {
+            return null;
+        }
+
+        Route route = message.getRoutes().get(0);
+        Peer peer = peers.get(route);
+        if (peer == null) {
+            peer = new Peer();
+            peers.put(route, peer);
+        }
+
+        peer.consumed += unit.cost(message.getPayload());
+        if (peer.consumed >= threshold) {
+            socket.send(new RoutedMessage(route, new Message(peer.consumed)));
+            peer.consumed = 0;
+        }
+        return message;
+    }
+
+    /**
+     * Forget the credit consumed by a sender, e.g. when it has disconnected.
+     *
+     * @param route The route of the sender
+     */
+    public void forget(Route route) {
+        peers.remove(route);
+    }
+
+    private static class Peer {
+        private long consumed;
+    }
+}
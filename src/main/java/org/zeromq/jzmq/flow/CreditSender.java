@@ -0,0 +1,152 @@
+package org.zeromq.jzmq.flow;
+
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.PollerType;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.Socket;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Sending side of credit-based flow control over a DEALER socket, following
+ * the credit pattern of the zguide file transfer example.
+ * <p>
+ * The sender starts with an initial credit, which must match the window of
+ * the {@link CreditReceiver}, and only transmits while it has credit left.
+ * Messages sent without credit wait in a bounded queue, and are transmitted
+ * as soon as the receiver grants more credit. Credit may be processed by a
+ * Reactor (see {@link #register(Reactor, LoopHandler)}) or by calling
+ * {@link #receiveCredit(MessageFlag)} directly.
+ * <p>
+ * Credit is not enforced by the socket itself, so every message on the
+ * stream must go through the sender instead of {@link Socket#send(Message)},
+ * and be read through a CreditReceiver on the other end.
+ * <p>
+ * A sender is not thread-safe, and should only be used from the thread that
+ * owns the socket.
+ */
+public class CreditSender {
+    private final Socket socket;
+    private final CreditUnit unit;
+    private final int maxPending;
+    private final Queue<Message> pending = new ArrayDeque<>();
+    private long credit;
+
+    /**
+     * Create a new sender.
+     *
+     * @param socket A DEALER socket connected to a CreditReceiver
+     * @param unit The unit of credit
+     * @param initialCredit The credit available before any is granted
+     * @param maxPending The maximum number of messages waiting for credit
+     */
+    public CreditSender(Socket socket, CreditUnit unit, long initialCredit, int maxPending) {
+        this.socket = socket;
+        this.unit = unit;
+        this.credit = initialCredit;
+        this.maxPending = maxPending;
+    }
+
+    /**
+     * Send a message if there is credit, or queue it until there is.
+     *
+     * @param message The message to send
+     * @return true if the message was sent or queued, false if the queue is full
+     */
+    public boolean send(Message message) {
+        if (pending.isEmpty() && credit > 0) {
+            transmit(message);
+        } else if (pending.size() < maxPending) {
+            pending.add(message);
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Receive a credit grant from the receiver, and transmit queued messages
+     * within the new credit.
+     *
+     * @param flag Flag controlling behavior of the receive operation
+     * @return true if credit was received, false otherwise
+     */
+    public boolean receiveCredit(MessageFlag flag) {
+        Message grant = socket.receiveMessage(flag);
+        if (grant == null) {
+            return false;
+        }
+
+        // [empty, credit]
+        grant.popFrame();
+        credit += grant.popLong();
+        while (credit > 0 && !pending.isEmpty()) {
+            transmit(pending.poll());
+        }
+        return true;
+    }
+
+    /**
+     * Process credit grants on the given Reactor. The handler, if not null,
+     * is called after credit is received whenever more messages can be sent
+     * without being rejected.
+     *
+     * @param reactor The reactor polling the socket
+     * @param handler The handler to call when more messages can be sent
+     */
+    public void register(Reactor reactor, LoopHandler handler) {
+        reactor.addPollable(socket.getContext().newPollable(socket, PollerType.POLL_IN), new CreditHandler(handler));
+    }
+
+    /**
+     * @return The remaining credit, which is negative when a message cost
+     *     more than the credit that was left
+     */
+    public long getCredit() {
+        return credit;
+    }
+
+    /**
+     * @return The number of messages waiting for credit
+     */
+    public int getPending() {
+        return pending.size();
+    }
+
+    /**
+     * @return true if a message would be sent or queued
+     */
+    public boolean isWritable() {
+        return pending.size() < maxPending;
+    }
+
+    private void transmit(Message message) {
+        // allow a message to overdraw the credit, so that a message larger
+        // than the window can still be sent
+        credit -= unit.cost(message);
+        socket.send(new Message().addEmptyFrame().addFrames(message));
+    }
+
+    private class CreditHandler implements LoopHandler {
+        private final LoopHandler handler;
+
+        public CreditHandler(LoopHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            boolean received = false;
+            while (receiveCredit(MessageFlag.DONT_WAIT)) {
+                received = true;
+            }
+            if (received && handler != null && isWritable()) {
+                handler.execute(reactor, pollable);
+            }
+        }
+    }
+}
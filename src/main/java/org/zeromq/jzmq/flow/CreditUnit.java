@@ -0,0 +1,34 @@
+package org.zeromq.jzmq.flow;
+
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+
+/**
+ * The unit in which flow-control credit is granted and consumed.
+ */
+public enum CreditUnit {
+    /**
+     * Each message costs one unit of credit.
+     */
+    MESSAGES,
+    /**
+     * Each message costs the total size of its frames, in bytes.
+     */
+    BYTES;
+
+    /**
+     * @param message A message
+     * @return The credit consumed by the message
+     */
+    public long cost(Message message) {
+        if (this == MESSAGES) {
+            return 1;
+        }
+
+        long bytes = 0;
+        for (Frame frame : message) {
+            bytes += frame.size();
+        }
+        return bytes;
+    }
+}
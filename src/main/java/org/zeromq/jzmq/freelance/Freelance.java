@@ -0,0 +1,17 @@
+package org.zeromq.jzmq.freelance;
+
+/**
+ * Freelance protocol constants. Clients send an empty delimiter, a command
+ * and a request ID, followed by the request body for requests, and servers
+ * echo the delimiter, command and request ID in front of the reply body.
+ */
+final class Freelance {
+    static final String PING = "PING";
+    static final String REQUEST = "REQUEST";
+
+    static final String OK = "OK";
+    static final String FAILED = "FAILED";
+
+    private Freelance() {
+    }
+}
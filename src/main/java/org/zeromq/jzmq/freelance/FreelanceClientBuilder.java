@@ -0,0 +1,91 @@
+package org.zeromq.jzmq.freelance;
+
+import org.zeromq.api.FreelanceClient;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FreelanceClientBuilder {
+    public class Spec {
+        public List<String> urls = new ArrayList<>();
+        public int timeout = FreelanceClient.TIMEOUT;
+        public long pingInterval = FreelanceClient.PING_INTERVAL;
+        public long serverTtl = FreelanceClient.SERVER_TTL;
+        public boolean hedging;
+        public long hedgeDelay = FreelanceClient.HEDGE_DELAY;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public FreelanceClientBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Add servers for the client to connect to.
+     *
+     * @param url The url of a server
+     * @param additionalUrls The urls of any other servers
+     * @return This builder object
+     */
+    public FreelanceClientBuilder withServers(String url, String... additionalUrls) {
+        spec.urls.add(url);
+        spec.urls.addAll(Arrays.asList(additionalUrls));
+        return this;
+    }
+
+    /**
+     * Set how long to wait for a reply to each request.
+     *
+     * @param timeout The request timeout, in milliseconds
+     * @return This builder object
+     */
+    public FreelanceClientBuilder withTimeout(int timeout) {
+        spec.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Set how often each server is pinged, and how long a server is
+     * considered alive after its last reply.
+     *
+     * @param pingInterval The ping interval, in milliseconds
+     * @param serverTtl The server time-to-live, in milliseconds
+     * @return This builder object
+     */
+    public FreelanceClientBuilder withPingInterval(long pingInterval, long serverTtl) {
+        if (serverTtl <= pingInterval) {
+            throw new IllegalArgumentException("serverTtl must be longer than pingInterval");
+        }
+        spec.pingInterval = pingInterval;
+        spec.serverTtl = serverTtl;
+        return this;
+    }
+
+    /**
+     * Send each request to a second server when the first has not replied
+     * in time. The delay starts at the given value, and then follows the
+     * 95th percentile of recent request latencies.
+     *
+     * @param hedgeDelay The initial hedge delay, in milliseconds
+     * @return This builder object
+     */
+    public FreelanceClientBuilder withHedging(long hedgeDelay) {
+        if (hedgeDelay < 1) {
+            throw new IllegalArgumentException("hedgeDelay must be positive");
+        }
+        spec.hedging = true;
+        spec.hedgeDelay = hedgeDelay;
+        return this;
+    }
+
+    public FreelanceClient build() {
+        assert !spec.urls.isEmpty();
+
+        return new FreelanceClientImpl(context, spec.urls, spec.timeout, spec.pingInterval, spec.serverTtl,
+            spec.hedging, spec.hedgeDelay);
+    }
+}
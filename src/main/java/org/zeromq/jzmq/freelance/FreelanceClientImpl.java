@@ -0,0 +1,327 @@
+package org.zeromq.jzmq.freelance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQException;
+import org.zeromq.api.FreelanceClient;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.PollerType;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.api.exception.ZMQExceptions;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class FreelanceClientImpl implements FreelanceClient {
+    private static final Logger log = LoggerFactory.getLogger(FreelanceClient.class);
+
+    /**
+     * Weight of each new sample in a server's average latency.
+     */
+    private static final double LATENCY_WEIGHT = 0.2;
+
+    /**
+     * Number of recent request latencies the hedge delay is derived from,
+     * and the number needed before it replaces the initial delay.
+     */
+    private static final int LATENCY_SAMPLES = 64;
+    private static final int MIN_SAMPLES = 8;
+
+    private final Reactor reactor;
+    private final Socket pipe;
+    private final Socket agentPipe;
+    private final List<Server> servers = new ArrayList<>();
+    private final int timeout;
+    private final long serverTtl;
+    private final boolean hedging;
+    private final long hedgeDelay;
+
+    private final LoopHandler hedgeHandler = new Hedge();
+    private final LoopHandler deadlineHandler = new Deadline();
+
+    /**
+     * Recent request latencies, in nanoseconds. Only used by the reactor thread.
+     */
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private int latencyCount;
+    private long sequence;
+    private Request current;
+
+    public FreelanceClientImpl(ManagedContext context, List<String> urls, int timeout, long pingInterval, long serverTtl, boolean hedging, long hedgeDelay) {
+        this.timeout = timeout;
+        this.serverTtl = serverTtl;
+        this.hedging = hedging;
+        this.hedgeDelay = hedgeDelay;
+
+        String endpoint = String.format("inproc://freelance-client-%d", System.identityHashCode(this));
+        this.pipe = context.buildSocket(SocketType.PAIR)
+            .bind(endpoint);
+        this.agentPipe = context.buildSocket(SocketType.PAIR)
+            .connect(endpoint);
+
+        this.reactor = context.buildReactor()
+            .withInPollable(agentPipe, new PipeHandler())
+            .withTimerFixedRate(0, pingInterval, -1, Reactor.CatchUp.SKIP, 0, new Ping())
+            .build();
+        for (String url : urls) {
+            Server server = new Server(url, context.buildSocket(SocketType.DEALER)
+                .withLinger(0)
+                .connect(url));
+            servers.add(server);
+            reactor.addPollable(context.newPollable(server.socket, PollerType.POLL_IN), new ServerHandler(server));
+        }
+        reactor.start();
+    }
+
+    @Override
+    public Message request(Message request) {
+        pipe.send(request);
+        Message reply = pipe.receiveMessage();
+        return Freelance.OK.equals(reply.popString()) ? reply : null;
+    }
+
+    @Override
+    public void close() {
+        reactor.stop();
+        for (Server server : servers) {
+            server.socket.close();
+        }
+        agentPipe.close();
+        pipe.close();
+    }
+
+    /**
+     * @return The fastest live server the current request has not been sent to, or null
+     */
+    private Server fastest() {
+        Server fastest = null;
+        for (Server server : servers) {
+            if (server.alive && !current.sent.containsKey(server)
+                    && (fastest == null || server.latency < fastest.latency)) {
+                fastest = server;
+            }
+        }
+        return fastest;
+    }
+
+    /**
+     * Send the current request to the fastest server it has not been sent
+     * to yet.
+     *
+     * @return true if the request was sent, false if no server is available
+     */
+    private boolean dispatch() {
+        Server server = fastest();
+        if (server == null) {
+            return false;
+        }
+
+        Message message = new Message().addEmptyFrame()
+            .addString(Freelance.REQUEST)
+            .addLong(current.id)
+            .addFrames(current.body);
+        if (!server.send(message)) {
+            return false;
+        }
+        current.sent.put(server, System.nanoTime());
+
+        if (hedging && current.sent.size() == 1) {
+            reactor.addTimer(hedgeDelay(), 1, hedgeHandler);
+        }
+        return true;
+    }
+
+    /**
+     * @return The 95th percentile of recent request latencies, in milliseconds
+     */
+    private long hedgeDelay() {
+        int count = Math.min(latencyCount, LATENCY_SAMPLES);
+        if (count < MIN_SAMPLES) {
+            return hedgeDelay;
+        }
+
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        long nanos = sorted[(int) Math.ceil(count * 0.95) - 1];
+        return Math.max(1, (nanos + 999999) / 1000000);
+    }
+
+    private void complete(Message reply) {
+        reactor.cancel(hedgeHandler);
+        reactor.cancel(deadlineHandler);
+        agentPipe.send(reply);
+        current = null;
+    }
+
+    private class PipeHandler implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            Message body = pollable.getSocket().receiveMessage();
+            if (body == null) {
+                return;
+            }
+
+            current = new Request(++sequence, body);
+            reactor.addTimer(timeout, 1, deadlineHandler);
+
+            // with no live server yet, the request waits for the first pong
+            dispatch();
+        }
+    }
+
+    private class ServerHandler implements LoopHandler {
+        private final Server server;
+
+        public ServerHandler(Server server) {
+            this.server = server;
+        }
+
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            Message message = pollable.getSocket().receiveMessage();
+            if (message == null || message.size() < 3) {
+                return;
+            }
+
+            // any reply shows the server is alive
+            boolean revived = !server.alive;
+            server.alive = true;
+            server.expiry = System.currentTimeMillis() + serverTtl;
+
+            // ["", command, id, body...]
+            message.popFrame();
+            String command = message.popString();
+            long id = message.popLong();
+            long now = System.nanoTime();
+            if (Freelance.PING.equals(command)) {
+                if (id == server.pingId) {
+                    server.update(now - server.pingSent);
+                }
+            } else if (current != null && id == current.id) {
+                long latency = now - current.sent.get(server);
+                server.update(latency);
+                latencies[latencyCount++ % LATENCY_SAMPLES] = latency;
+                complete(message.pushString(Freelance.OK));
+                return;
+            }
+
+            if (revived && current != null && !current.isAlive()) {
+                dispatch();
+            }
+        }
+    }
+
+    private class Ping implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            long now = System.currentTimeMillis();
+            boolean lost = false;
+            for (Server server : servers) {
+                if (server.alive && server.expiry < now) {
+                    log.warn("Server {} expired", server.url);
+                    server.alive = false;
+                    lost |= current != null && current.sent.containsKey(server);
+                }
+
+                server.pingId = ++sequence;
+                server.pingSent = System.nanoTime();
+                server.send(new Message().addEmptyFrame().addString(Freelance.PING).addLong(server.pingId));
+            }
+
+            // a request whose servers all died is sent on to the next one
+            if (lost && !current.isAlive()) {
+                dispatch();
+            }
+        }
+    }
+
+    private class Hedge implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            if (current != null) {
+                dispatch();
+            }
+        }
+    }
+
+    private class Deadline implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            if (current != null) {
+                log.warn("Request {} timed out", current.id);
+                complete(new Message(Freelance.FAILED));
+            }
+        }
+    }
+
+    private static class Server {
+        private final String url;
+        private final Socket socket;
+        private boolean alive;
+        private long expiry;
+        private double latency;
+        private long pingId;
+        private long pingSent;
+
+        public Server(String url, Socket socket) {
+            this.url = url;
+            this.socket = socket;
+        }
+
+        public void update(long sample) {
+            latency = latency == 0 ? sample : latency + LATENCY_WEIGHT * (sample - latency);
+        }
+
+        /**
+         * Send without blocking, since a server which is down still has a
+         * pipe that fills up.
+         */
+        public boolean send(Message message) {
+            List<Frame> frames = message.getFrames();
+            try {
+                if (!socket.getZMQSocket().send(frames.get(0).getData(), ZMQ.DONTWAIT | ZMQ.SNDMORE)) {
+                    return false;
+                }
+            } catch (ZMQException ex) {
+                throw ZMQExceptions.wrap(ex);
+            }
+
+            // once the first frame is queued, the rest of the message is too
+            for (int i = 1; i < frames.size(); i++) {
+                socket.send(frames.get(i).getData(), i < frames.size() - 1 ? MessageFlag.SEND_MORE : MessageFlag.NONE);
+            }
+            return true;
+        }
+    }
+
+    private static class Request {
+        private final long id;
+        private final Message body;
+        private final Map<Server, Long> sent = new HashMap<>();
+
+        public Request(long id, Message body) {
+            this.id = id;
+            this.body = body;
+        }
+
+        public boolean isAlive() {
+            for (Server server : sent.keySet()) {
+                if (server.alive) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package org.zeromq.jzmq.freelance;
+
+import org.zeromq.api.FreelanceServer;
+import org.zeromq.api.Message;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.function.Function;
+
+public class FreelanceServerBuilder {
+    public class Spec {
+        public String url;
+        public Function<Message, Message> handler;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public FreelanceServerBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    public FreelanceServerBuilder withUrl(String url) {
+        spec.url = url;
+        return this;
+    }
+
+    /**
+     * Set the function which handles each request. A null reply, or an
+     * exception, drops the request and leaves the client to time out or
+     * use another server.
+     *
+     * @param handler The request handler
+     * @return This builder object
+     */
+    public FreelanceServerBuilder withHandler(Function<Message, Message> handler) {
+        spec.handler = handler;
+        return this;
+    }
+
+    public FreelanceServer build() {
+        assert spec.url != null;
+        assert spec.handler != null;
+
+        return new FreelanceServerImpl(context, spec.url, spec.handler);
+    }
+
+    public FreelanceServer start() {
+        FreelanceServer server = build();
+        server.start();
+
+        return server;
+    }
+}
@@ -0,0 +1,78 @@
+package org.zeromq.jzmq.freelance;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.FreelanceServer;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.RoutedMessage;
+import org.zeromq.api.RoutedMessage.Route;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.function.Function;
+
+public class FreelanceServerImpl implements FreelanceServer {
+    private static final Logger log = LoggerFactory.getLogger(FreelanceServer.class);
+
+    private final Reactor reactor;
+    private final Function<Message, Message> handler;
+
+    public FreelanceServerImpl(ManagedContext context, String url, Function<Message, Message> handler) {
+        Socket socket = context.buildSocket(SocketType.ROUTER)
+            .bind(url);
+        this.handler = handler;
+
+        this.reactor = context.buildReactor()
+            .withInPollable(socket, new ReceiveMessage())
+            .build();
+    }
+
+    @Override
+    public void start() {
+        reactor.start();
+    }
+
+    @Override
+    public void stop() {
+        reactor.stop();
+    }
+
+    private class ReceiveMessage implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            RoutedMessage message = pollable.getSocket().receiveRoutedMessage();
+            if (message == null || message.getRoutes().isEmpty() || message.size() < 4) {
+                return;
+            }
+
+            // [identity, "", command, id, body...]
+            Route client = message.unwrap();
+            Frame command = message.popFrame();
+            Frame id = message.popFrame();
+            Message reply = new Message(command).addFrame(id);
+            if (Freelance.REQUEST.equals(command.toString())) {
+                Message body;
+                try {
+                    body = handler.apply(message);
+                } catch (RuntimeException ex) {
+                    log.warn("Request handler failed, dropping request", ex);
+                    return;
+                }
+                if (body == null) {
+                    return;
+                }
+                reply.addFrames(body);
+            } else if (!Freelance.PING.equals(command.toString())) {
+                log.warn("Invalid command from client: {}", command);
+                return;
+            }
+
+            pollable.getSocket().send(new RoutedMessage(client, reply));
+        }
+    }
+}
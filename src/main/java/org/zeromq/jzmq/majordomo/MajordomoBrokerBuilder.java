@@ -0,0 +1,95 @@
+package org.zeromq.jzmq.majordomo;
+
+import org.zeromq.api.MajordomoBroker;
+import org.zeromq.jzmq.ManagedContext;
+
+public class MajordomoBrokerBuilder {
+    public class Spec {
+        public String url;
+        public long heartbeatInterval = MajordomoBroker.HEARTBEAT_INTERVAL;
+        public int heartbeatLiveness = MajordomoBroker.HEARTBEAT_LIVENESS;
+        public long requestTimeout = MajordomoBroker.REQUEST_TIMEOUT;
+        public int maxRequests = MajordomoBroker.MAX_REQUESTS;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public MajordomoBrokerBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Set the url to bind, which is shared by clients and workers.
+     *
+     * @param url The url to bind
+     * @return This builder object
+     */
+    public MajordomoBrokerBuilder withUrl(String url) {
+        spec.url = url;
+        return this;
+    }
+
+    /**
+     * Set the interval between heartbeats sent to idle workers.
+     *
+     * @param heartbeatInterval The heartbeat interval, in milliseconds
+     * @return This builder object
+     */
+    public MajordomoBrokerBuilder withHeartbeatInterval(long heartbeatInterval) {
+        spec.heartbeatInterval = heartbeatInterval;
+        return this;
+    }
+
+    /**
+     * Set the number of heartbeat intervals a worker may stay silent before
+     * it is expired.
+     *
+     * @param heartbeatLiveness The number of missed heartbeats
+     * @return This builder object
+     */
+    public MajordomoBrokerBuilder withHeartbeatLiveness(int heartbeatLiveness) {
+        spec.heartbeatLiveness = heartbeatLiveness;
+        return this;
+    }
+
+    /**
+     * Set how long a worker may take to reply to a request before it is
+     * presumed dead and expired. Workers that keep sending heartbeats while
+     * busy are not expired. Requests which wait longer than this for a worker
+     * are dropped.
+     *
+     * @param requestTimeout The request timeout, in milliseconds
+     * @return This builder object
+     */
+    public MajordomoBrokerBuilder withRequestTimeout(long requestTimeout) {
+        spec.requestTimeout = requestTimeout;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of requests waiting for a worker, across all
+     * services. Requests received while the limit is reached are dropped,
+     * and clients retry them after their own timeout.
+     *
+     * @param maxRequests The maximum number of queued requests
+     * @return This builder object
+     */
+    public MajordomoBrokerBuilder withMaxRequests(int maxRequests) {
+        spec.maxRequests = maxRequests;
+        return this;
+    }
+
+    public MajordomoBroker build() {
+        assert spec.url != null;
+
+        return new MajordomoBrokerImpl(context, spec);
+    }
+
+    public MajordomoBroker start() {
+        MajordomoBroker broker = build();
+        broker.start();
+
+        return broker;
+    }
+}
@@ -0,0 +1,313 @@
+package org.zeromq.jzmq.majordomo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.MajordomoBroker;
+import org.zeromq.api.Message;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.RoutedMessage;
+import org.zeromq.api.RoutedMessage.Route;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+public class MajordomoBrokerImpl implements MajordomoBroker {
+    private static final Logger log = LoggerFactory.getLogger(MajordomoBroker.class);
+
+    private final Reactor reactor;
+    private final Socket socket;
+    private final long heartbeatInterval;
+    private final int heartbeatLiveness;
+    private final long requestTimeout;
+    private final int maxRequests;
+
+    /**
+     * Known services and workers, keyed by name and address. A service is
+     * removed once it has neither workers nor queued requests, and requests
+     * left queued for longer than the request timeout are dropped.
+     */
+    private final Map<String, Service> services = new HashMap<>();
+    private final Map<Route, Worker> workers = new HashMap<>();
+
+    /**
+     * The number of requests queued across all services.
+     */
+    private int queued;
+
+    public MajordomoBrokerImpl(ManagedContext context, MajordomoBrokerBuilder.Spec spec) {
+        this.socket = context.buildSocket(SocketType.ROUTER)
+            .bind(spec.url);
+        this.heartbeatInterval = spec.heartbeatInterval;
+        this.heartbeatLiveness = spec.heartbeatLiveness;
+        this.requestTimeout = spec.requestTimeout;
+        this.maxRequests = spec.maxRequests;
+
+        this.reactor = context.buildReactor()
+            .withInPollable(socket, new ReceiveMessage())
+            .withTimerFixedRate(heartbeatInterval, Reactor.CatchUp.SKIP, new SendHeartbeats())
+            .build();
+    }
+
+    @Override
+    public void start() {
+        reactor.start();
+    }
+
+    @Override
+    public void stop() {
+        reactor.stop();
+    }
+
+    private void handleClient(Route sender, RoutedMessage message) {
+        if (message.isEmpty()) {
+            log.warn("Invalid client message from {}: no service name", sender);
+            return;
+        }
+
+        String name = message.popString();
+        if (name.startsWith(Mdp.MMI_PREFIX)) {
+            handleMmi(sender, name, message);
+            return;
+        }
+
+        if (queued >= maxRequests) {
+            log.warn("Request queue is full, dropping request for service {}", name);
+            return;
+        }
+
+        Service service = service(name);
+        service.requests.add(new Request(new RoutedMessage(sender, message), System.currentTimeMillis() + requestTimeout));
+        queued++;
+        dispatch(service);
+    }
+
+    private void handleMmi(Route sender, String name, Message message) {
+        String code;
+        if (Mdp.MMI_SERVICE.equals(name)) {
+            Service service = message.isEmpty() ? null : services.get(message.popString());
+            code = (service != null && service.workers > 0) ? "200" : "404";
+        } else {
+            code = "501";
+        }
+
+        socket.send(new RoutedMessage(sender, new Message(Mdp.CLIENT).addString(name).addString(code)));
+    }
+
+    private void handleWorker(Route sender, RoutedMessage message) {
+        if (message.isEmpty() || message.getFirstFrame().size() != 1) {
+            log.warn("Invalid worker message from {}: no command", sender);
+            return;
+        }
+
+        byte command = message.popByte();
+        Worker worker = workers.get(sender);
+
+        switch (command) {
+            case Mdp.READY:
+                if (message.isEmpty()) {
+                    log.warn("Invalid READY from worker {}: no service name", sender);
+                    break;
+                }
+
+                String name = message.popString();
+                if (worker != null || name.startsWith(Mdp.MMI_PREFIX)) {
+                    // not the first command in the session, or a reserved name
+                    disconnect(worker != null ? worker : new Worker(sender, null));
+                } else {
+                    worker = new Worker(sender, service(name));
+                    worker.service.workers++;
+                    workers.put(sender, worker);
+                    waiting(worker);
+                }
+                break;
+            case Mdp.REPLY:
+                if (worker == null) {
+                    disconnect(new Worker(sender, null));
+                } else if (message.getRoutes().isEmpty()) {
+                    log.warn("Invalid REPLY from worker {}: no client address", sender);
+                } else {
+                    Route client = message.unwrap();
+                    socket.send(new RoutedMessage(client, new Message(Mdp.CLIENT).addString(worker.service.name).addFrames(message)));
+                    waiting(worker);
+                }
+                break;
+            case Mdp.HEARTBEAT:
+                if (worker == null) {
+                    disconnect(new Worker(sender, null));
+                } else {
+                    // a busy worker keeps at least its request deadline
+                    worker.expiry = Math.max(worker.expiry, expiry());
+                }
+                break;
+            case Mdp.DISCONNECT:
+                if (worker != null) {
+                    delete(worker);
+                }
+                break;
+            default:
+                log.warn("Invalid worker command: {}", command);
+                break;
+        }
+    }
+
+    private Service service(String name) {
+        Service service = services.get(name);
+        if (service == null) {
+            service = new Service(name);
+            services.put(name, service);
+        }
+        return service;
+    }
+
+    private long expiry() {
+        return System.currentTimeMillis() + heartbeatInterval * heartbeatLiveness;
+    }
+
+    /**
+     * Mark a worker as idle, and give it work if its service has any.
+     */
+    private void waiting(Worker worker) {
+        worker.expiry = expiry();
+        worker.service.idle.remove(worker);
+        worker.service.idle.add(worker);
+        dispatch(worker.service);
+    }
+
+    /**
+     * Send queued requests to idle workers of the service.
+     */
+    private void dispatch(Service service) {
+        while (!service.requests.isEmpty() && !service.idle.isEmpty()) {
+            Iterator<Worker> it = service.idle.iterator();
+            Worker worker = it.next();
+            it.remove();
+            // a busy worker does not heartbeat, so it is given until the
+            // request deadline to reply
+            worker.expiry = System.currentTimeMillis() + requestTimeout;
+
+            Request request = service.requests.poll();
+            queued--;
+            socket.send(new RoutedMessage(worker.identity, new Message(Mdp.WORKER).addByte(Mdp.REQUEST).addFrames(request.message)));
+        }
+    }
+
+    private void disconnect(Worker worker) {
+        socket.send(new RoutedMessage(worker.identity, new Message(Mdp.WORKER).addByte(Mdp.DISCONNECT)));
+        delete(worker);
+    }
+
+    private void delete(Worker worker) {
+        if (workers.remove(worker.identity) != null) {
+            Service service = worker.service;
+            service.workers--;
+            service.idle.remove(worker);
+            if (service.workers == 0 && service.requests.isEmpty()) {
+                services.remove(service.name);
+            }
+        }
+    }
+
+    private class ReceiveMessage implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            RoutedMessage message = pollable.getSocket().receiveRoutedMessage();
+            if (message == null || message.getRoutes().isEmpty()) {
+                return;
+            }
+
+            Route sender = message.unwrap();
+            String header = message.isEmpty() ? null : message.popString();
+            if (Mdp.CLIENT.equals(header)) {
+                handleClient(sender, message);
+            } else if (Mdp.WORKER.equals(header)) {
+                handleWorker(sender, message);
+            } else {
+                log.warn("Invalid message header: {}", header);
+            }
+        }
+    }
+
+    private class SendHeartbeats implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            // busy workers are scanned too, so a worker that dies while
+            // handling a request is still expired
+            long now = System.currentTimeMillis();
+            List<Worker> expired = new ArrayList<>();
+            for (Worker worker : workers.values()) {
+                if (worker.expiry < now) {
+                    expired.add(worker);
+                } else {
+                    socket.send(new RoutedMessage(worker.identity, new Message(Mdp.WORKER).addByte(Mdp.HEARTBEAT)));
+                }
+            }
+            for (Worker worker : expired) {
+                log.warn("Worker {} of service {} expired", worker.identity, worker.service.name);
+                delete(worker);
+            }
+
+            // requests are queued in arrival order, so expired ones are at the
+            // head, and a service with no workers left is removed once its
+            // requests have all expired
+            Iterator<Service> it = services.values().iterator();
+            while (it.hasNext()) {
+                Service service = it.next();
+                int dropped = 0;
+                while (!service.requests.isEmpty() && service.requests.peek().expiry < now) {
+                    service.requests.poll();
+                    dropped++;
+                }
+                if (dropped > 0) {
+                    queued -= dropped;
+                    log.warn("Dropped {} expired requests for service {}", dropped, service.name);
+                }
+                if (service.workers == 0 && service.requests.isEmpty()) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    private static class Service {
+        private final String name;
+        private final Queue<Request> requests = new ArrayDeque<>();
+        private final LinkedHashSet<Worker> idle = new LinkedHashSet<>();
+        private int workers;
+
+        public Service(String name) {
+            this.name = name;
+        }
+    }
+
+    private static class Request {
+        private final RoutedMessage message;
+        private final long expiry;
+
+        public Request(RoutedMessage message, long expiry) {
+            this.message = message;
+            this.expiry = expiry;
+        }
+    }
+
+    private static class Worker {
+        private final Route identity;
+        private final Service service;
+        private long expiry;
+
+        public Worker(Route identity, Service service) {
+            this.identity = identity;
+            this.service = service;
+        }
+    }
+}
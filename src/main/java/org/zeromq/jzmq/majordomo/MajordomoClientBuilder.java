@@ -0,0 +1,40 @@
+package org.zeromq.jzmq.majordomo;
+
+import org.zeromq.api.MajordomoClient;
+import org.zeromq.jzmq.ManagedContext;
+
+public class MajordomoClientBuilder {
+    public class Spec {
+        public String broker;
+        public int timeout = 2500;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public MajordomoClientBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    public MajordomoClientBuilder withBrokerUrl(String broker) {
+        spec.broker = broker;
+        return this;
+    }
+
+    /**
+     * Set how long to wait for each reply.
+     *
+     * @param timeout The reply timeout, in milliseconds, or -1 to wait forever
+     * @return This builder object
+     */
+    public MajordomoClientBuilder withTimeout(int timeout) {
+        spec.timeout = timeout;
+        return this;
+    }
+
+    public MajordomoClient build() {
+        assert spec.broker != null;
+
+        return new MajordomoClientImpl(context, spec.broker, spec.timeout);
+    }
+}
@@ -0,0 +1,61 @@
+package org.zeromq.jzmq.majordomo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.MajordomoClient;
+import org.zeromq.api.Message;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+public class MajordomoClientImpl implements MajordomoClient {
+    private static final Logger log = LoggerFactory.getLogger(MajordomoClient.class);
+
+    private final Socket socket;
+
+    public MajordomoClientImpl(ManagedContext context, String brokerUrl, int timeout) {
+        this.socket = context.buildSocket(SocketType.DEALER)
+            .withLinger(0)
+            .withReceiveTimeout(timeout)
+            .connect(brokerUrl);
+    }
+
+    @Override
+    public void send(String service, Message request) {
+        socket.send(new Message().addEmptyFrame().addString(Mdp.CLIENT).addString(service).addFrames(request));
+    }
+
+    @Override
+    public Message receive() {
+        while (true) {
+            Message reply = socket.receiveMessage();
+            if (reply == null) {
+                return null;
+            }
+
+            // [empty, header, service, body...]
+            if (reply.size() < 3) {
+                log.warn("Invalid reply from broker");
+                continue;
+            }
+            reply.popFrame();
+            if (!Mdp.CLIENT.equals(reply.popString())) {
+                log.warn("Invalid reply header from broker");
+                continue;
+            }
+            reply.popFrame();
+            return reply;
+        }
+    }
+
+    @Override
+    public Message request(String service, Message request) {
+        send(service, request);
+        return receive();
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+}
@@ -0,0 +1,102 @@
+package org.zeromq.jzmq.majordomo;
+
+import org.zeromq.api.MajordomoBroker;
+import org.zeromq.api.MajordomoWorker;
+import org.zeromq.api.Message;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.function.Function;
+
+public class MajordomoWorkerBuilder {
+    public class Spec {
+        public String broker;
+        public String service;
+        public Function<Message, Message> handler;
+        public long heartbeatInterval = MajordomoBroker.HEARTBEAT_INTERVAL;
+        public int heartbeatLiveness = MajordomoBroker.HEARTBEAT_LIVENESS;
+        public long reconnectInterval = MajordomoWorker.RECONNECT_INTERVAL;
+        public long reconnectIntervalMax = MajordomoWorker.RECONNECT_INTERVAL_MAX;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public MajordomoWorkerBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    public MajordomoWorkerBuilder withBrokerUrl(String broker) {
+        spec.broker = broker;
+        return this;
+    }
+
+    public MajordomoWorkerBuilder withService(String service) {
+        spec.service = service;
+        return this;
+    }
+
+    /**
+     * Set the handler called for each request. The returned message is sent
+     * back to the client, and an empty reply is sent if it returns null.
+     *
+     * @param handler The request handler
+     * @return This builder object
+     */
+    public MajordomoWorkerBuilder withHandler(Function<Message, Message> handler) {
+        spec.handler = handler;
+        return this;
+    }
+
+    /**
+     * Set the interval between heartbeats sent to the broker.
+     *
+     * @param heartbeatInterval The heartbeat interval, in milliseconds
+     * @return This builder object
+     */
+    public MajordomoWorkerBuilder withHeartbeatInterval(long heartbeatInterval) {
+        spec.heartbeatInterval = heartbeatInterval;
+        return this;
+    }
+
+    /**
+     * Set the number of heartbeat intervals the broker may stay silent before
+     * the worker reconnects.
+     *
+     * @param heartbeatLiveness The number of missed heartbeats
+     * @return This builder object
+     */
+    public MajordomoWorkerBuilder withHeartbeatLiveness(int heartbeatLiveness) {
+        spec.heartbeatLiveness = heartbeatLiveness;
+        return this;
+    }
+
+    /**
+     * Set the delay before the first reconnect attempt, which doubles after
+     * each failed attempt up to the given maximum.
+     *
+     * @param reconnectInterval The initial reconnect delay, in milliseconds
+     * @param reconnectIntervalMax The maximum reconnect delay, in milliseconds
+     * @return This builder object
+     */
+    public MajordomoWorkerBuilder withReconnectInterval(long reconnectInterval, long reconnectIntervalMax) {
+        spec.reconnectInterval = reconnectInterval;
+        spec.reconnectIntervalMax = reconnectIntervalMax;
+        return this;
+    }
+
+    public MajordomoWorker build() {
+        assert spec.broker != null;
+        assert spec.service != null;
+        assert spec.handler != null;
+
+        return new MajordomoWorkerImpl(context, spec.broker, spec.service, spec.handler, spec.heartbeatInterval,
+            spec.heartbeatLiveness, spec.reconnectInterval, spec.reconnectIntervalMax);
+    }
+
+    public MajordomoWorker start() {
+        MajordomoWorker worker = build();
+        worker.start();
+
+        return worker;
+    }
+}
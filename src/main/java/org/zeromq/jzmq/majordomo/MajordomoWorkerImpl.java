@@ -0,0 +1,162 @@
+package org.zeromq.jzmq.majordomo;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.MajordomoWorker;
+import org.zeromq.api.Message;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.PollerType;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.RoutedMessage;
+import org.zeromq.api.RoutedMessage.Route;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.function.Function;
+
+public class MajordomoWorkerImpl implements MajordomoWorker {
+    private static final Logger log = LoggerFactory.getLogger(MajordomoWorker.class);
+
+    private final ManagedContext context;
+    private final Reactor reactor;
+    private final String brokerUrl;
+    private final String service;
+    private final Function<Message, Message> handler;
+    private final int heartbeatLiveness;
+    private final long reconnectInterval;
+    private final long reconnectIntervalMax;
+
+    private final LoopHandler receiveHandler = new ReceiveMessage();
+    private final LoopHandler reconnectHandler = new Reconnect();
+
+    private Socket socket;
+    private int liveness;
+    private long interval;
+
+    public MajordomoWorkerImpl(ManagedContext context, String brokerUrl, String service, Function<Message, Message> handler, long heartbeatInterval, int heartbeatLiveness, long reconnectInterval, long reconnectIntervalMax) {
+        this.context = context;
+        this.brokerUrl = brokerUrl;
+        this.service = service;
+        this.handler = handler;
+        this.heartbeatLiveness = heartbeatLiveness;
+        this.reconnectInterval = reconnectInterval;
+        this.reconnectIntervalMax = reconnectIntervalMax;
+        this.interval = reconnectInterval;
+
+        this.reactor = context.buildReactor()
+            .withTimerFixedRate(heartbeatInterval, Reactor.CatchUp.SKIP, new SendHeartbeat())
+            .build();
+    }
+
+    @Override
+    public void start() {
+        connect();
+        reactor.start();
+    }
+
+    @Override
+    public void stop() {
+        reactor.stop();
+        if (socket != null) {
+            socket.send(command(Mdp.DISCONNECT));
+            socket.close();
+        }
+    }
+
+    /**
+     * Connect a new DEALER socket to the broker and register our service.
+     */
+    private void connect() {
+        socket = context.buildSocket(SocketType.DEALER)
+            .withLinger(0)
+            .connect(brokerUrl);
+        reactor.addPollable(context.newPollable(socket, PollerType.POLL_IN), receiveHandler);
+        socket.send(command(Mdp.READY).addString(service));
+        liveness = heartbeatLiveness;
+    }
+
+    private void disconnect() {
+        reactor.cancel(receiveHandler);
+        socket.close();
+        socket = null;
+    }
+
+    private static Message command(byte command) {
+        return new Message().addEmptyFrame().addString(Mdp.WORKER).addByte(command);
+    }
+
+    private class ReceiveMessage implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            Message message = pollable.getSocket().receiveMessage();
+            if (message == null || message.size() < 3) {
+                return;
+            }
+
+            // the broker is alive, so reset liveness and backoff
+            liveness = heartbeatLiveness;
+            interval = reconnectInterval;
+
+            message.popFrame();
+            if (!Mdp.WORKER.equals(message.popString())) {
+                log.warn("Invalid message header from broker");
+                return;
+            }
+
+            byte command = message.popByte();
+            if (command == Mdp.REQUEST) {
+                RoutedMessage request = new RoutedMessage();
+                request.addFrames(message);
+                Route client = request.unwrap();
+
+                Message reply;
+                try {
+                    reply = handler.apply(request);
+                } catch (RuntimeException ex) {
+                    log.warn("Request handler failed, dropping request", ex);
+                    reply = null;
+                }
+
+                // always reply, so the broker knows we are ready for more work
+                if (reply == null) {
+                    reply = new Message();
+                }
+                socket.send(command(Mdp.REPLY).addFrames(new RoutedMessage(client, reply)));
+            } else if (command == Mdp.DISCONNECT) {
+                log.info("Disconnected by broker, reconnecting");
+                disconnect();
+                connect();
+            } else if (command != Mdp.HEARTBEAT) {
+                log.warn("Invalid command from broker: {}", command);
+            }
+        }
+    }
+
+    private class SendHeartbeat implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            if (socket == null) {
+                return;
+            }
+
+            if (--liveness == 0) {
+                log.warn("Heartbeat failure, reconnecting in {} ms", interval);
+                disconnect();
+
+                reactor.addTimer(interval, 1, reconnectHandler);
+                interval = Math.min(interval * 2, reconnectIntervalMax);
+            } else {
+                socket.send(command(Mdp.HEARTBEAT));
+            }
+        }
+    }
+
+    private class Reconnect implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            connect();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package org.zeromq.jzmq.majordomo;
+
+/**
+ * Majordomo Protocol (MDP/0.1) constants.
+ */
+final class Mdp {
+    static final String CLIENT = "MDPC01";
+    static final String WORKER = "MDPW01";
+
+    static final byte READY = 1;
+    static final byte REQUEST = 2;
+    static final byte REPLY = 3;
+    static final byte HEARTBEAT = 4;
+    static final byte DISCONNECT = 5;
+
+    static final String MMI_PREFIX = "mmi.";
+    static final String MMI_SERVICE = "mmi.service";
+
+    private Mdp() {
+    }
+}
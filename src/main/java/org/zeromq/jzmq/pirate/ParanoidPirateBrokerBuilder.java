@@ -0,0 +1,67 @@
+package org.zeromq.jzmq.pirate;
+
+import org.zeromq.api.ParanoidPirateBroker;
+import org.zeromq.jzmq.ManagedContext;
+
+public class ParanoidPirateBrokerBuilder {
+    public class Spec {
+        public String frontend;
+        public String backend;
+        public long heartbeatInterval = ParanoidPirateBroker.HEARTBEAT_INTERVAL;
+        public int heartbeatLiveness = ParanoidPirateBroker.HEARTBEAT_LIVENESS;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public ParanoidPirateBrokerBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    public ParanoidPirateBrokerBuilder withFrontendUrl(String frontend) {
+        spec.frontend = frontend;
+        return this;
+    }
+
+    public ParanoidPirateBrokerBuilder withBackendUrl(String backend) {
+        spec.backend = backend;
+        return this;
+    }
+
+    /**
+     * Set the interval between heartbeats sent to idle workers.
+     *
+     * @param heartbeatInterval The heartbeat interval, in milliseconds
+     * @return This builder object
+     */
+    public ParanoidPirateBrokerBuilder withHeartbeatInterval(long heartbeatInterval) {
+        spec.heartbeatInterval = heartbeatInterval;
+        return this;
+    }
+
+    /**
+     * Set the number of heartbeat intervals a worker may stay silent before
+     * it is expired.
+     *
+     * @param heartbeatLiveness The number of missed heartbeats
+     * @return This builder object
+     */
+    public ParanoidPirateBrokerBuilder withHeartbeatLiveness(int heartbeatLiveness) {
+        spec.heartbeatLiveness = heartbeatLiveness;
+        return this;
+    }
+
+    public ParanoidPirateBroker build() {
+        assert spec.frontend != null;
+        assert spec.backend != null;
+
+        return new ParanoidPirateBrokerImpl(context, spec.frontend, spec.backend, spec.heartbeatInterval, spec.heartbeatLiveness);
+    }
+
+    public ParanoidPirateBroker start() {
+        ParanoidPirateBroker broker = build();
+        broker.start();
+
+        return broker;
+    }
+}
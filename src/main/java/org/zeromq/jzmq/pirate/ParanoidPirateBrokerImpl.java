@@ -0,0 +1,149 @@
+package org.zeromq.jzmq.pirate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.ParanoidPirateBroker;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.PollerType;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.RoutedMessage;
+import org.zeromq.api.RoutedMessage.Route;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ParanoidPirateBrokerImpl implements ParanoidPirateBroker {
+    private static final Logger log = LoggerFactory.getLogger(ParanoidPirateBroker.class);
+
+    static final byte[] PPP_READY = new byte[] { 1 };
+    static final byte[] PPP_HEARTBEAT = new byte[] { 2 };
+
+    private final Reactor reactor;
+    private final Socket frontend;
+    private final Socket backend;
+    private final Pollable frontendPollable;
+    private final long heartbeatInterval;
+    private final int heartbeatLiveness;
+
+    /**
+     * Idle workers, keyed by address. Every message from a worker moves it to
+     * the end, so entries are ordered by expiry and the first entry is the
+     * least recently used worker.
+     */
+    private final LinkedHashMap<Route, Long> workers = new LinkedHashMap<>();
+    private final LoopHandler frontendHandler = new FrontendHandler();
+    private boolean frontendEnabled;
+
+    public ParanoidPirateBrokerImpl(ManagedContext context, String frontendUrl, String backendUrl, long heartbeatInterval, int heartbeatLiveness) {
+        this.frontend = context.buildSocket(SocketType.ROUTER)
+            .bind(frontendUrl);
+        this.backend = context.buildSocket(SocketType.ROUTER)
+            .bind(backendUrl);
+        this.frontendPollable = context.newPollable(frontend, PollerType.POLL_IN);
+        this.heartbeatInterval = heartbeatInterval;
+        this.heartbeatLiveness = heartbeatLiveness;
+
+        this.reactor = context.buildReactor()
+            .withInPollable(backend, new BackendHandler())
+            .withTimerFixedRate(heartbeatInterval, Reactor.CatchUp.SKIP, new SendHeartbeats())
+            .build();
+    }
+
+    @Override
+    public void start() {
+        reactor.start();
+    }
+
+    @Override
+    public void stop() {
+        reactor.stop();
+    }
+
+    private void ready(Route worker) {
+        workers.remove(worker);
+        workers.put(worker, System.currentTimeMillis() + heartbeatInterval * heartbeatLiveness);
+    }
+
+    private Route next() {
+        Iterator<Route> it = workers.keySet().iterator();
+        Route worker = it.next();
+        it.remove();
+        return worker;
+    }
+
+    /**
+     * Only poll the frontend while there are idle workers, so requests wait
+     * in the frontend socket rather than being read with nowhere to go.
+     */
+    private void updateFrontend() {
+        boolean available = !workers.isEmpty();
+        if (available && !frontendEnabled) {
+            reactor.addPollable(frontendPollable, frontendHandler);
+        } else if (!available && frontendEnabled) {
+            reactor.cancel(frontendHandler);
+        }
+        frontendEnabled = available;
+    }
+
+    private class BackendHandler implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            RoutedMessage message = pollable.getSocket().receiveRoutedMessage();
+            if (message == null || message.getRoutes().isEmpty()) {
+                return;
+            }
+
+            // any sign of life from a worker means it is ready
+            Route worker = message.unwrap();
+            ready(worker);
+
+            if (message.size() == 1) {
+                byte[] signal = message.getFirstFrame().getData();
+                if (Arrays.equals(PPP_READY, signal) || Arrays.equals(PPP_HEARTBEAT, signal)) {
+                    updateFrontend();
+                    return;
+                }
+            }
+
+            frontend.send(message);
+            updateFrontend();
+        }
+    }
+
+    private class FrontendHandler implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            Message request;
+            while (!workers.isEmpty() && (request = pollable.getSocket().receiveMessage(MessageFlag.DONT_WAIT)) != null) {
+                backend.send(new RoutedMessage(next(), request));
+            }
+            updateFrontend();
+        }
+    }
+
+    private class SendHeartbeats implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            long now = System.currentTimeMillis();
+            Iterator<Map.Entry<Route, Long>> it = workers.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Route, Long> entry = it.next();
+                if (entry.getValue() < now) {
+                    log.warn("Worker {} expired", entry.getKey());
+                    it.remove();
+                } else {
+                    backend.send(new RoutedMessage(entry.getKey(), new Message(PPP_HEARTBEAT)));
+                }
+            }
+            updateFrontend();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.zeromq.jzmq.pirate;
+
+import org.zeromq.api.Message;
+import org.zeromq.api.ParanoidPirateBroker;
+import org.zeromq.api.ParanoidPirateWorker;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.function.Function;
+
+public class ParanoidPirateWorkerBuilder {
+    public class Spec {
+        public String broker;
+        public Function<Message, Message> handler;
+        public long heartbeatInterval = ParanoidPirateBroker.HEARTBEAT_INTERVAL;
+        public int heartbeatLiveness = ParanoidPirateBroker.HEARTBEAT_LIVENESS;
+        public long reconnectInterval = ParanoidPirateWorker.RECONNECT_INTERVAL;
+        public long reconnectIntervalMax = ParanoidPirateWorker.RECONNECT_INTERVAL_MAX;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public ParanoidPirateWorkerBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    public ParanoidPirateWorkerBuilder withBrokerUrl(String broker) {
+        spec.broker = broker;
+        return this;
+    }
+
+    /**
+     * Set the handler called for each request. The returned message is sent
+     * back to the client, or nothing is sent if it returns null.
+     *
+     * @param handler The request handler
+     * @return This builder object
+     */
+    public ParanoidPirateWorkerBuilder withHandler(Function<Message, Message> handler) {
+        spec.handler = handler;
+        return this;
+    }
+
+    /**
+     * Set the interval between heartbeats sent to the broker.
+     *
+     * @param heartbeatInterval The heartbeat interval, in milliseconds
+     * @return This builder object
+     */
+    public ParanoidPirateWorkerBuilder withHeartbeatInterval(long heartbeatInterval) {
+        spec.heartbeatInterval = heartbeatInterval;
+        return this;
+    }
+
+    /**
+     * Set the number of heartbeat intervals the broker may stay silent before
+     * the worker reconnects.
+     *
+     * @param heartbeatLiveness The number of missed heartbeats
+     * @return This builder object
+     */
+    public ParanoidPirateWorkerBuilder withHeartbeatLiveness(int heartbeatLiveness) {
+        spec.heartbeatLiveness = heartbeatLiveness;
+        return this;
+    }
+
+    /**
+     * Set the delay before the first reconnect attempt, which doubles after
+     * each failed attempt up to the given maximum.
+     *
+     * @param reconnectInterval The initial reconnect delay, in milliseconds
+     * @param reconnectIntervalMax The maximum reconnect delay, in milliseconds
+     * @return This builder object
+     */
+    public ParanoidPirateWorkerBuilder withReconnectInterval(long reconnectInterval, long reconnectIntervalMax) {
+        spec.reconnectInterval = reconnectInterval;
+        spec.reconnectIntervalMax = reconnectIntervalMax;
+        return this;
+    }
+
+    public ParanoidPirateWorker build() {
+        assert spec.broker != null;
+        assert spec.handler != null;
+
+        return new ParanoidPirateWorkerImpl(context, spec.broker, spec.handler, spec.heartbeatInterval,
+            spec.heartbeatLiveness, spec.reconnectInterval, spec.reconnectIntervalMax);
+    }
+
+    public ParanoidPirateWorker start() {
+        ParanoidPirateWorker worker = build();
+        worker.start();
+
+        return worker;
+    }
+}
@@ -0,0 +1,142 @@
+package org.zeromq.jzmq.pirate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.ParanoidPirateWorker;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.PollerType;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.RoutedMessage;
+import org.zeromq.api.RoutedMessage.Route;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+public class ParanoidPirateWorkerImpl implements ParanoidPirateWorker {
+    private static final Logger log = LoggerFactory.getLogger(ParanoidPirateWorker.class);
+
+    private final ManagedContext context;
+    private final Reactor reactor;
+    private final String brokerUrl;
+    private final Function<Message, Message> handler;
+    private final int heartbeatLiveness;
+    private final long reconnectInterval;
+    private final long reconnectIntervalMax;
+
+    private final LoopHandler receiveHandler = new ReceiveMessage();
+    private final LoopHandler reconnectHandler = new Reconnect();
+
+    private Socket socket;
+    private int liveness;
+    private long interval;
+
+    public ParanoidPirateWorkerImpl(ManagedContext context, String brokerUrl, Function<Message, Message> handler, long heartbeatInterval, int heartbeatLiveness, long reconnectInterval, long reconnectIntervalMax) {
+        this.context = context;
+        this.brokerUrl = brokerUrl;
+        this.handler = handler;
+        this.heartbeatLiveness = heartbeatLiveness;
+        this.reconnectInterval = reconnectInterval;
+        this.reconnectIntervalMax = reconnectIntervalMax;
+        this.interval = reconnectInterval;
+
+        this.reactor = context.buildReactor()
+            .withTimerFixedRate(heartbeatInterval, Reactor.CatchUp.SKIP, new SendHeartbeat())
+            .build();
+    }
+
+    @Override
+    public void start() {
+        connect();
+        reactor.start();
+    }
+
+    @Override
+    public void stop() {
+        reactor.stop();
+        if (socket != null) {
+            socket.close();
+        }
+    }
+
+    /**
+     * Connect a new DEALER socket to the broker and announce that we are
+     * ready for work.
+     */
+    private void connect() {
+        socket = context.buildSocket(SocketType.DEALER)
+            .withLinger(0)
+            .connect(brokerUrl);
+        reactor.addPollable(context.newPollable(socket, PollerType.POLL_IN), receiveHandler);
+        socket.send(new Message().addEmptyFrame().addBytes(ParanoidPirateBrokerImpl.PPP_READY));
+        liveness = heartbeatLiveness;
+    }
+
+    private class ReceiveMessage implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            Message message = pollable.getSocket().receiveMessage();
+            if (message == null || message.isEmpty()) {
+                return;
+            }
+
+            // the broker is alive, so reset liveness and backoff
+            liveness = heartbeatLiveness;
+            interval = reconnectInterval;
+
+            // strip the empty delimiter sent by the broker
+            message.popFrame();
+            if (message.size() == 1 && Arrays.equals(ParanoidPirateBrokerImpl.PPP_HEARTBEAT, message.getFirstFrame().getData())) {
+                return;
+            }
+
+            RoutedMessage request = new RoutedMessage();
+            request.addFrames(message);
+            List<Route> routes = request.getRoutes();
+            Message reply;
+            try {
+                reply = handler.apply(request.getPayload());
+            } catch (RuntimeException ex) {
+                log.warn("Request handler failed, dropping request", ex);
+                return;
+            }
+
+            if (reply != null) {
+                socket.send(new Message().addEmptyFrame().addFrames(new RoutedMessage(routes, reply)));
+            }
+        }
+    }
+
+    private class SendHeartbeat implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            if (socket == null) {
+                return;
+            }
+
+            if (--liveness == 0) {
+                log.warn("Heartbeat failure, reconnecting in {} ms", interval);
+                reactor.cancel(receiveHandler);
+                socket.close();
+                socket = null;
+
+                reactor.addTimer(interval, 1, reconnectHandler);
+                interval = Math.min(interval * 2, reconnectIntervalMax);
+            } else {
+                socket.send(new Message().addEmptyFrame().addBytes(ParanoidPirateBrokerImpl.PPP_HEARTBEAT));
+            }
+        }
+    }
+
+    private class Reconnect implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            connect();
+        }
+    }
+}
@@ -15,6 +15,7 @@ public class PollerBuilder {
 
     private final ManagedContext context;
     private final Map<Pollable, PollListener> pollablesAndListeners = new LinkedHashMap<>();
+    private boolean useSelector;
 
     public PollerBuilder(ManagedContext context) {
         this.context = context;
@@ -25,6 +26,18 @@ public class PollerBuilder {
         return this;
     }
 
+    /**
+     * Build a poller backed by a {@link java.nio.channels.Selector}, which
+     * scales to large numbers of registered SelectableChannels.
+     * 
+     * @return This builder object
+     * @see SelectorPollerImpl
+     */
+    public PollerBuilder withSelector() {
+        useSelector = true;
+        return this;
+    }
+
     /*
      * Socket Pollables.
      */
@@ -79,6 +92,9 @@ public class PollerBuilder {
     }
 
     public Poller build() {
+        if (useSelector) {
+            return new SelectorPollerImpl(pollablesAndListeners);
+        }
         return new PollerImpl(context, pollablesAndListeners);
     }
 }
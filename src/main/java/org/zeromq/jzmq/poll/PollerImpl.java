@@ -13,6 +13,7 @@ import org.zeromq.jzmq.ManagedContext;
 import java.nio.channels.SelectableChannel;
 import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,13 +21,12 @@ public class PollerImpl implements Poller {
     private final ZMQ.Poller poller;
     private final List<Pollable> pollables = new ArrayList<>();
     private final List<PollListener> listeners = new ArrayList<>();
+    private final Map<Pollable, PollListener> disabled = new LinkedHashMap<>();
 
     public PollerImpl(ManagedContext context, Map<Pollable, PollListener> pollableMap) {
         this.poller = context.getZMQContext().poller(pollables.size());
         for (Map.Entry<Pollable, PollListener> entry : pollableMap.entrySet()) {
-            pollables.add(entry.getKey());
-            listeners.add(entry.getValue());
-            register(entry.getKey());
+            register(entry.getKey(), entry.getValue());
         }
     }
 
@@ -76,52 +76,96 @@ public class PollerImpl implements Poller {
 
     @Override
     public int enable(Socket socket) {
-        return register(pollable(socket));
+        return enable(find(disabled.keySet(), socket, null));
     }
 
     @Override
     public boolean disable(Socket socket) {
-        return unregister(pollable(socket));
+        return disable(find(pollables, socket, null));
     }
 
     @Override
     public int enable(SelectableChannel channel) {
-        return register(pollable(channel));
+        return enable(find(disabled.keySet(), null, channel));
     }
 
     @Override
     public boolean disable(SelectableChannel channel) {
-        return unregister(pollable(channel));
+        return disable(find(pollables, null, channel));
     }
 
     @Override
-    public int register(Pollable pollable, PollListener listener) {
-        // find a free slot, or add a new one
-        int index = pollables.indexOf(null);
+    public int enable(Pollable pollable) {
+        if (pollable == null) {
+            return -1;
+        }
+
+        // Already enabled, or never disabled
+        int index = pollables.indexOf(pollable);
+        if (index < 0 && disabled.containsKey(pollable)) {
+            index = register(pollable, disabled.remove(pollable));
+        }
+
+        return index;
+    }
+
+    @Override
+    public boolean disable(Pollable pollable) {
+        int index = pollables.indexOf(pollable);
         if (index < 0) {
-            pollables.add(pollable);
-            listeners.add(listener);
-        } else {
-            pollables.set(index, pollable);
-            listeners.set(index, listener);
+            return false;
         }
 
-        return register(pollable);
+        PollListener listener = listeners.get(index);
+        remove(pollable);
+        disabled.put(pollable, listener);
+
+        return true;
+    }
+
+    @Override
+    public int register(Pollable pollable, PollListener listener) {
+        int index = register(pollable);
+        while (pollables.size() <= index) {
+            pollables.add(null);
+            listeners.add(null);
+        }
+        pollables.set(index, pollable);
+        listeners.set(index, listener);
+
+        return index;
     }
 
     @Override
     public boolean unregister(Socket socket) {
-        Pollable pollable = pollable(socket);
-        return unregister(pollable)
-            && removePollable(pollable);
+        Pollable pollable = find(pollables, socket, null);
+        return unregister(pollable != null ? pollable : find(disabled.keySet(), socket, null));
     }
 
     @Override
     public boolean unregister(SelectableChannel channel) {
-        Pollable pollable = pollable(channel);
-        return unregister(pollable)
-            && removePollable(pollable);
+        Pollable pollable = find(pollables, null, channel);
+        return unregister(pollable != null ? pollable : find(disabled.keySet(), null, channel));
+    }
+
+    @Override
+    public boolean unregister(Pollable pollable) {
+        if (pollable == null) {
+            return false;
+        }
+
+        return remove(pollable)
+            || disabled.remove(pollable) != null;
+    }
+
+    /**
+     * Close the underlying poller.
+     */
+    @Override
+    public void close() {
+        poller.close();
     }
+
     private int register(Pollable pollable) {
         int result = -1;
         if (pollable != null) {
@@ -135,48 +179,62 @@ public class PollerImpl implements Poller {
         return result;
     }
 
-    private boolean unregister(Pollable pollable) {
-        if (pollable != null) {
+    /**
+     * Remove a registered pollable from the underlying poller.
+     * <p>
+     * The underlying poller only removes the first registration of a socket
+     * or channel, so any registrations removed ahead of the given pollable
+     * are registered again, keeping slots in line with the underlying poller.
+     */
+    private boolean remove(Pollable pollable) {
+        if (!pollables.contains(pollable)) {
+            return false;
+        }
+
+        List<Pollable> removedPollables = new ArrayList<>();
+        List<PollListener> removedListeners = new ArrayList<>();
+        while (true) {
+            int index = firstIndex(pollable);
+            Pollable first = pollables.get(index);
             if (pollable.getChannel() != null) {
                 poller.unregister(pollable.getChannel());
             } else {
                 poller.unregister(pollable.getSocket().getZMQSocket());
             }
-        }
-
-        return pollable != null;
-    }
 
-    private Pollable pollable(Socket socket) {
-        Pollable result = null;
-        for (Pollable pollable : pollables) {
-            if (pollable.getSocket() == socket) {
-                result = pollable;
+            PollListener listener = listeners.get(index);
+            pollables.set(index, null);
+            listeners.set(index, null);
+            if (first == pollable) {
                 break;
             }
+            removedPollables.add(first);
+            removedListeners.add(listener);
         }
-        return result;
+
+        for (int i = 0; i < removedPollables.size(); i++) {
+            register(removedPollables.get(i), removedListeners.get(i));
+        }
+
+        return true;
     }
 
-    private Pollable pollable(SelectableChannel channel) {
-        Pollable result = null;
-        for (Pollable pollable : pollables) {
-            if (pollable.getChannel() == channel) {
-                result = pollable;
-                break;
+    private int firstIndex(Pollable pollable) {
+        for (int index = 0; index < pollables.size(); index++) {
+            Pollable p = pollables.get(index);
+            if (p != null && p.getSocket() == pollable.getSocket() && p.getChannel() == pollable.getChannel()) {
+                return index;
             }
         }
-        return result;
+        return -1;
     }
 
-
-    private boolean removePollable(Pollable pollable) {
-        if (pollable != null) {
-            int index = pollables.indexOf(pollable);
-            pollables.set(index, null);
-            listeners.set(index, null);
+    private static Pollable find(Iterable<Pollable> candidates, Socket socket, SelectableChannel channel) {
+        for (Pollable pollable : candidates) {
+            if (pollable != null && pollable.getSocket() == socket && pollable.getChannel() == channel) {
+                return pollable;
+            }
         }
-
-        return pollable != null;
+        return null;
     }
 }
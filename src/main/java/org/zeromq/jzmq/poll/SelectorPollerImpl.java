@@ -0,0 +1,386 @@
+package org.zeromq.jzmq.poll;
+
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQException;
+import org.zeromq.api.PollListener;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.Poller;
+import org.zeromq.api.PollerType;
+import org.zeromq.api.Socket;
+import org.zeromq.api.exception.ZMQExceptions;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Poller which waits on NIO channels and ØMQ sockets with a single
+ * {@link Selector}.
+ * <p>
+ * Channels are registered with the selector directly, so readiness is found
+ * in proportion to the number of ready channels rather than the number of
+ * registered channels. Sockets are linked to the same selector through their
+ * file descriptor ({@code ZMQ_FD}), which signals whenever the socket's events
+ * may have changed, and are then checked using {@code ZMQ_EVENTS}.
+ * <p>
+ * A socket or channel may be registered by more than one pollable, such as
+ * separate POLL_IN and POLL_OUT pollables. They share one selection key,
+ * whose interest is the union of the enabled pollables' options.
+ */
+public class SelectorPollerImpl implements Poller {
+    private final Selector selector;
+    private final Map<SelectableChannel, Registration> channels = new HashMap<>();
+    private final Map<Socket, Registration> sockets = new LinkedHashMap<>();
+    private int nextIndex;
+
+    public SelectorPollerImpl(Map<Pollable, PollListener> pollableMap) {
+        try {
+            this.selector = Selector.open();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open selector", ex);
+        }
+        for (Map.Entry<Pollable, PollListener> entry : pollableMap.entrySet()) {
+            register(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public void poll(long timeoutMillis) {
+        // Sockets may already have events pending, which the FD will not
+        // signal again, so don't block in that case
+        boolean ready = false;
+        for (Registration registration : sockets.values()) {
+            for (Item item : registration.items) {
+                if (item.enabled && readyEvents(item) != 0) {
+                    ready = true;
+                    break;
+                }
+            }
+            if (ready) {
+                break;
+            }
+        }
+
+        try {
+            if (ready || timeoutMillis == 0) {
+                selector.selectNow();
+            } else if (timeoutMillis < 0) {
+                selector.select();
+            } else {
+                selector.select(timeoutMillis);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to select", ex);
+        }
+
+        // Channels, only those which are ready
+        List<SelectionKey> selected = new ArrayList<>(selector.selectedKeys());
+        selector.selectedKeys().clear();
+        for (SelectionKey key : selected) {
+            Registration registration = (Registration) key.attachment();
+            if (registration.channel == null || !key.isValid()) {
+                continue;
+            }
+
+            int readyOps = key.readyOps();
+            for (Item item : new ArrayList<>(registration.items)) {
+                if (!item.enabled || !key.isValid()) {
+                    continue;
+                }
+
+                int ops = readyOps & channelOps(item.pollable);
+                if ((ops & (SelectionKey.OP_READ | SelectionKey.OP_ACCEPT)) != 0) {
+                    item.listener.handleIn(item.pollable);
+                }
+                if ((ops & (SelectionKey.OP_WRITE | SelectionKey.OP_CONNECT)) != 0 && key.isValid()) {
+                    item.listener.handleOut(item.pollable);
+                }
+            }
+        }
+
+        // Sockets, using ZMQ_EVENTS since the FD is edge-triggered
+        List<Item> items = new ArrayList<>();
+        for (Registration registration : sockets.values()) {
+            items.addAll(registration.items);
+        }
+        for (Item item : items) {
+            if (!item.enabled) {
+                continue;
+            }
+
+            int events = readyEvents(item);
+            if ((events & ZMQ.Poller.POLLIN) != 0) {
+                item.listener.handleIn(item.pollable);
+            }
+            if ((events & ZMQ.Poller.POLLOUT) != 0) {
+                item.listener.handleOut(item.pollable);
+            }
+            if ((events & ZMQ.Poller.POLLERR) != 0) {
+                item.listener.handleError(item.pollable);
+            }
+        }
+    }
+
+    @Override
+    public void poll() {
+        poll(-1);
+    }
+
+    @Override
+    public int enable(Socket socket) {
+        return enable(find(sockets.get(socket), false));
+    }
+
+    @Override
+    public boolean disable(Socket socket) {
+        return disable(find(sockets.get(socket), true));
+    }
+
+    @Override
+    public int enable(SelectableChannel channel) {
+        return enable(find(channels.get(channel), false));
+    }
+
+    @Override
+    public boolean disable(SelectableChannel channel) {
+        return disable(find(channels.get(channel), true));
+    }
+
+    @Override
+    public int enable(Pollable pollable) {
+        return enable(item(pollable));
+    }
+
+    @Override
+    public boolean disable(Pollable pollable) {
+        return disable(item(pollable));
+    }
+
+    @Override
+    public int register(Pollable pollable, PollListener listener) {
+        Registration registration = registration(pollable);
+        if (registration == null) {
+            if (pollable.getChannel() != null) {
+                registration = new Registration(pollable.getChannel());
+                registration.key = registerKey(pollable.getChannel(), registration);
+                channels.put(pollable.getChannel(), registration);
+            } else {
+                registration = new Registration(null);
+                registration.key = registerKey(pollable.getSocket().getZMQSocket().getFD(), registration);
+                sockets.put(pollable.getSocket(), registration);
+            }
+        }
+
+        Item item = new Item(pollable, listener, nextIndex++);
+        registration.items.add(item);
+        registration.update();
+
+        return item.index;
+    }
+
+    @Override
+    public boolean unregister(Socket socket) {
+        Registration registration = sockets.get(socket);
+        return unregister(registration == null ? null : registration.items.get(0));
+    }
+
+    @Override
+    public boolean unregister(SelectableChannel channel) {
+        Registration registration = channels.get(channel);
+        return unregister(registration == null ? null : registration.items.get(0));
+    }
+
+    @Override
+    public boolean unregister(Pollable pollable) {
+        return unregister(item(pollable));
+    }
+
+    /**
+     * Close the underlying selector.
+     */
+    @Override
+    public void close() {
+        try {
+            selector.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private Registration registration(Pollable pollable) {
+        return (pollable.getChannel() != null)
+            ? channels.get(pollable.getChannel())
+            : sockets.get(pollable.getSocket());
+    }
+
+    private Item item(Pollable pollable) {
+        Registration registration = registration(pollable);
+        if (registration != null) {
+            for (Item item : registration.items) {
+                if (item.pollable == pollable) {
+                    return item;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return The first enabled, or disabled, item of a registration
+     */
+    private static Item find(Registration registration, boolean enabled) {
+        if (registration != null) {
+            for (Item item : registration.items) {
+                if (item.enabled == enabled) {
+                    return item;
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private int enable(Item item) {
+        if (item == null) {
+            return -1;
+        }
+        item.enabled = true;
+        registration(item.pollable).update();
+
+        return item.index;
+    }
+
+    private boolean disable(Item item) {
+        if (item == null) {
+            return false;
+        }
+        item.enabled = false;
+        registration(item.pollable).update();
+
+        return true;
+    }
+
+    private boolean unregister(Item item) {
+        if (item == null) {
+            return false;
+        }
+        item.enabled = false;
+
+        Registration registration = registration(item.pollable);
+        registration.items.remove(item);
+        if (registration.items.isEmpty()) {
+            registration.key.cancel();
+            if (item.pollable.getChannel() != null) {
+                channels.remove(item.pollable.getChannel());
+            } else {
+                sockets.remove(item.pollable.getSocket());
+            }
+        } else {
+            registration.update();
+        }
+
+        return true;
+    }
+
+    private SelectionKey registerKey(SelectableChannel channel, Registration registration) {
+        try {
+            SelectionKey key = channel.keyFor(selector);
+            if (key != null && !key.isValid()) {
+                // Flush the cancelled key before registering again
+                selector.selectNow();
+            }
+            if (channel.isBlocking()) {
+                channel.configureBlocking(false);
+            }
+
+            return channel.register(selector, 0, registration);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to register channel", ex);
+        }
+    }
+
+    private int readyEvents(Item item) {
+        Socket socket = item.pollable.getSocket();
+        if (!socket.isActive()) {
+            return 0;
+        }
+
+        try {
+            return socket.getZMQSocket().getEvents() & item.options;
+        } catch (ZMQException ex) {
+            throw ZMQExceptions.wrap(ex);
+        }
+    }
+
+    private static int channelOps(Pollable pollable) {
+        SelectableChannel channel = pollable.getChannel();
+        int validOps = channel.validOps();
+        int ops = 0;
+        for (PollerType option : pollable.getOptions()) {
+            if (option == PollerType.POLL_IN) {
+                ops |= validOps & (SelectionKey.OP_READ | SelectionKey.OP_ACCEPT);
+            } else if (option == PollerType.POLL_OUT) {
+                ops |= validOps & (SelectionKey.OP_WRITE | SelectionKey.OP_CONNECT);
+            }
+        }
+
+        return ops;
+    }
+
+    /**
+     * The selection key of a socket or channel, and the pollables which
+     * registered it.
+     */
+    private static class Registration {
+        private final SelectableChannel channel;
+        private final List<Item> items = new ArrayList<>();
+        private SelectionKey key;
+
+        public Registration(SelectableChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Set the interest of the key from the enabled items. A socket's FD
+         * is only ever read, whatever events are polled for.
+         */
+        public void update() {
+            int ops = 0;
+            for (Item item : items) {
+                if (item.enabled) {
+                    ops |= channel != null ? channelOps(item.pollable) : SelectionKey.OP_READ;
+                }
+            }
+            if (key.isValid()) {
+                key.interestOps(ops);
+            }
+        }
+    }
+
+    private static class Item {
+        private final Pollable pollable;
+        private final PollListener listener;
+        private final int index;
+        private final int options;
+        private boolean enabled = true;
+
+        public Item(Pollable pollable, PollListener listener, int index) {
+            this.pollable = pollable;
+            this.listener = listener;
+            this.index = index;
+
+            int sum = 0;
+            for (PollerType option : pollable.getOptions()) {
+                sum |= option.getType();
+            }
+            this.options = sum;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package org.zeromq.jzmq.pubsub;
+
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.Socket;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Sender-side conflation of a PUB socket, which keeps only the newest message
+ * of each key until the next flush, so subscribers receive the current state
+ * at the flush rate instead of every intermediate update.
+ * <p>
+ * Producers may call {@link #offer(Message)} from any thread. Messages are
+ * sent by {@link #flush()}, which must be called from the thread that owns
+ * the socket, typically by a Reactor timer, since this class is also a
+ * LoopHandler which flushes when executed.
+ */
+public class ConflatingPublisher implements LoopHandler {
+    private final Socket socket;
+    private final Function<Message, ?> key;
+    private Map<Object, Message> latest = new LinkedHashMap<>();
+    private long offered;
+    private long conflated;
+
+    /**
+     * Create a publisher keyed by the first frame, which is normally the topic.
+     *
+     * @param socket A PUB socket
+     */
+    public ConflatingPublisher(Socket socket) {
+        this(socket, ConflatingSubscriber.frameKey(0));
+    }
+
+    /**
+     * Create a publisher with a custom key.
+     *
+     * @param socket A PUB socket
+     * @param key Extracts the key of a message, compared with equals
+     */
+    public ConflatingPublisher(Socket socket, Function<Message, ?> key) {
+        this.socket = socket;
+        this.key = key;
+    }
+
+    /**
+     * Queue a message for the next flush, replacing any queued message of the
+     * same key.
+     *
+     * @param message The message
+     */
+    public synchronized void offer(Message message) {
+        offered++;
+        if (latest.put(key.apply(message), message) != null) {
+            conflated++;
+        }
+    }
+
+    /**
+     * Send the queued messages, in the order their keys were first queued.
+     *
+     * @return The number of messages sent
+     */
+    public int flush() {
+        Map<Object, Message> messages;
+        synchronized (this) {
+            if (latest.isEmpty()) {
+                return 0;
+            }
+            messages = latest;
+            latest = new LinkedHashMap<>();
+        }
+
+        // send outside the lock, so producers are not blocked by the socket
+        for (Message message : messages.values()) {
+            socket.send(message);
+        }
+        return messages.size();
+    }
+
+    @Override
+    public void execute(Reactor reactor, Pollable pollable) {
+        flush();
+    }
+
+    /**
+     * @return The number of keys waiting to be sent
+     */
+    public synchronized int size() {
+        return latest.size();
+    }
+
+    /**
+     * @return The number of messages offered
+     */
+    public synchronized long getOffered() {
+        return offered;
+    }
+
+    /**
+     * @return The number of messages replaced by a newer message of the same key
+     */
+    public synchronized long getConflated() {
+        return conflated;
+    }
+}
@@ -0,0 +1,141 @@
+package org.zeromq.jzmq.pubsub;
+
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.PollerType;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.Socket;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Consumer-side conflation of a SUB socket, which keeps only the newest
+ * message of each key until a slow consumer asks for them.
+ * <p>
+ * Messages are read from the socket as fast as they arrive, either by a
+ * Reactor (see {@link #register(Reactor)}) or by calling {@link #pump()}, and
+ * a newer message replaces an older one of the same key in place, so keys are
+ * delivered in the order they were first seen. The consumer calls
+ * {@link #drain()} from any thread to take the current state.
+ */
+public class ConflatingSubscriber implements LoopHandler {
+    private final Socket socket;
+    private final Function<Message, ?> key;
+    private final Map<Object, Message> latest = new LinkedHashMap<>();
+    private long received;
+    private long conflated;
+
+    /**
+     * Create a subscriber keyed by the first frame, which is normally the topic.
+     *
+     * @param socket A SUB socket
+     */
+    public ConflatingSubscriber(Socket socket) {
+        this(socket, frameKey(0));
+    }
+
+    /**
+     * Create a subscriber with a custom key.
+     *
+     * @param socket A SUB socket
+     * @param key Extracts the key of a message, compared with equals
+     */
+    public ConflatingSubscriber(Socket socket, Function<Message, ?> key) {
+        this.socket = socket;
+        this.key = key;
+    }
+
+    /**
+     * Poll the socket on the given reactor, conflating its messages.
+     *
+     * @param reactor The reactor
+     */
+    public void register(Reactor reactor) {
+        reactor.addPollable(socket.getContext().newPollable(socket, PollerType.POLL_IN), this);
+    }
+
+    @Override
+    public void execute(Reactor reactor, Pollable pollable) {
+        pump();
+    }
+
+    /**
+     * Read all messages waiting on the socket, without blocking. Must be
+     * called from the thread that owns the socket.
+     *
+     * @return The number of messages read
+     */
+    public int pump() {
+        int count = 0;
+        Message message;
+        while ((message = socket.receiveMessage(MessageFlag.DONT_WAIT)) != null) {
+            offer(message);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Take the newest message of each key received since the last drain.
+     *
+     * @return The messages, in the order their keys were first seen
+     */
+    public synchronized List<Message> drain() {
+        List<Message> messages = new ArrayList<>(latest.values());
+        latest.clear();
+        return messages;
+    }
+
+    /**
+     * @return The number of keys waiting to be drained
+     */
+    public synchronized int size() {
+        return latest.size();
+    }
+
+    /**
+     * @return The number of messages received
+     */
+    public synchronized long getReceived() {
+        return received;
+    }
+
+    /**
+     * @return The number of messages replaced by a newer message of the same key
+     */
+    public synchronized long getConflated() {
+        return conflated;
+    }
+
+    private synchronized void offer(Message message) {
+        received++;
+        if (latest.put(key.apply(message), message) != null) {
+            conflated++;
+        }
+    }
+
+    /**
+     * Create a key extractor returning the bytes of a frame.
+     *
+     * @param index The index of the key frame
+     * @return The key extractor
+     */
+    public static Function<Message, Object> frameKey(final int index) {
+        return new Function<Message, Object>() {
+            @Override
+            public Object apply(Message message) {
+                if (index == 0) {
+                    return ByteBuffer.wrap(message.getFirstFrame().getData());
+                }
+                return ByteBuffer.wrap(message.getFrames().get(index).getData());
+            }
+        };
+    }
+}
@@ -0,0 +1,69 @@
+package org.zeromq.jzmq.pubsub;
+
+import org.zeromq.api.ReliablePublisher;
+import org.zeromq.jzmq.ManagedContext;
+
+public class ReliablePublisherBuilder {
+    public class Spec {
+        public String publishUrl;
+        public String recoveryUrl;
+        public int ringSize = ReliablePublisher.RING_SIZE;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public ReliablePublisherBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Bind the PUB socket messages are published on to the given url.
+     *
+     * @param publishUrl The publish url
+     * @return This builder object
+     */
+    public ReliablePublisherBuilder withPublishUrl(String publishUrl) {
+        spec.publishUrl = publishUrl;
+        return this;
+    }
+
+    /**
+     * Bind the ROUTER socket serving recovery requests to the given url.
+     *
+     * @param recoveryUrl The recovery url
+     * @return This builder object
+     */
+    public ReliablePublisherBuilder withRecoveryUrl(String recoveryUrl) {
+        spec.recoveryUrl = recoveryUrl;
+        return this;
+    }
+
+    /**
+     * Set the number of recent messages kept for recovery, per topic.
+     *
+     * @param ringSize The number of messages kept per topic
+     * @return This builder object
+     */
+    public ReliablePublisherBuilder withRingSize(int ringSize) {
+        if (ringSize < 1) {
+            throw new IllegalArgumentException("ringSize must be at least 1");
+        }
+        spec.ringSize = ringSize;
+        return this;
+    }
+
+    public ReliablePublisher build() {
+        assert spec.publishUrl != null;
+        assert spec.recoveryUrl != null;
+
+        return new ReliablePublisherImpl(context, spec.publishUrl, spec.recoveryUrl, spec.ringSize);
+    }
+
+    public ReliablePublisher start() {
+        ReliablePublisher publisher = build();
+        publisher.start();
+
+        return publisher;
+    }
+}
@@ -0,0 +1,149 @@
+package org.zeromq.jzmq.pubsub;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.ReliablePublisher;
+import org.zeromq.api.RoutedMessage;
+import org.zeromq.api.RoutedMessage.Route;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ReliablePublisherImpl implements ReliablePublisher {
+    private static final Logger log = LoggerFactory.getLogger(ReliablePublisher.class);
+
+    /**
+     * Sequence number of a recovery reply listing messages which are lost.
+     */
+    static final long LOST = 0;
+
+    private final Reactor reactor;
+    private final Socket publisher;
+    private final Socket recovery;
+    private final int ringSize;
+
+    /**
+     * Sequence numbers and recent messages of each topic, shared by the
+     * publishing thread and the reactor thread.
+     */
+    private final Map<ByteBuffer, Topic> topics = new HashMap<>();
+
+    public ReliablePublisherImpl(ManagedContext context, String publishUrl, String recoveryUrl, int ringSize) {
+        this.publisher = context.buildSocket(SocketType.PUB)
+            .bind(publishUrl);
+        this.recovery = context.buildSocket(SocketType.ROUTER)
+            .bind(recoveryUrl);
+        this.ringSize = ringSize;
+
+        this.reactor = context.buildReactor()
+            .withInPollable(recovery, new RecoveryHandler())
+            .build();
+    }
+
+    @Override
+    public void start() {
+        reactor.start();
+    }
+
+    @Override
+    public void stop() {
+        reactor.stop();
+    }
+
+    @Override
+    public boolean publish(Message message) {
+        if (message.isEmpty()) {
+            throw new IllegalArgumentException("Message has no topic frame");
+        }
+
+        // the ring keeps its own copy, so the caller may reuse its message
+        List<Frame> frames = message.getFrames();
+        Frame name = copy(frames.get(0));
+        Message payload = new Message();
+        for (int i = 1; i < frames.size(); i++) {
+            payload.addFrame(copy(frames.get(i)));
+        }
+
+        synchronized (topics) {
+            ByteBuffer key = ByteBuffer.wrap(name.getData());
+            Topic topic = topics.get(key);
+            if (topic == null) {
+                topic = new Topic(ringSize);
+                topics.put(key, topic);
+            }
+
+            // [topic, sequence, payload...]
+            long sequence = ++topic.sequence;
+            Message stamped = new Message(name).addFrame(Frame.of(sequence)).addFrames(payload);
+            topic.ring[(int) (sequence % ringSize)] = stamped;
+
+            // send while holding the lock, so messages go out in sequence
+            return publisher.send(stamped);
+        }
+    }
+
+    private static Frame copy(Frame frame) {
+        return new Frame(frame.getData().clone());
+    }
+
+    private class RecoveryHandler implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            RoutedMessage request = pollable.getSocket().receiveRoutedMessage();
+            if (request == null || request.getRoutes().isEmpty()) {
+                return;
+            }
+
+            // [topic, from, to]
+            Route route = request.unwrap();
+            List<Frame> frames = request.getFrames();
+            if (frames.size() != 3 || frames.get(1).size() != 8 || frames.get(2).size() != 8) {
+                log.warn("Invalid recovery request from {}", route);
+                return;
+            }
+
+            Frame name = request.popFrame();
+            long from = request.popLong();
+            long to = request.popLong();
+
+            List<Message> replies = new ArrayList<>();
+            synchronized (topics) {
+                Topic topic = topics.get(ByteBuffer.wrap(name.getData()));
+                long last = topic == null ? 0 : topic.sequence;
+                long first = Math.max(1, last - ringSize + 1);
+                if (topic == null || from < first) {
+                    long lost = topic == null ? to : Math.min(first - 1, to);
+                    replies.add(new Message(name).addLong(LOST).addLong(lost));
+                    from = lost + 1;
+                }
+                for (long sequence = from; sequence <= Math.min(to, last); sequence++) {
+                    replies.add(topic.ring[(int) (sequence % ringSize)]);
+                }
+            }
+
+            for (Message reply : replies) {
+                recovery.send(new RoutedMessage(route, reply));
+            }
+        }
+    }
+
+    private static class Topic {
+        private final Message[] ring;
+        private long sequence;
+
+        public Topic(int ringSize) {
+            this.ring = new Message[ringSize];
+        }
+    }
+}
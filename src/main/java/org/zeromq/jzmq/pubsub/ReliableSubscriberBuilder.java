@@ -0,0 +1,106 @@
+package org.zeromq.jzmq.pubsub;
+
+import org.zeromq.api.MessageHandler;
+import org.zeromq.api.ReliableSubscriber;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ReliableSubscriberBuilder {
+    public class Spec {
+        public String publishUrl;
+        public String recoveryUrl;
+        public List<byte[]> subscriptions = new ArrayList<>();
+        public MessageHandler handler;
+        public ReliableSubscriber.LossHandler lossHandler;
+        public long recoveryTimeout = ReliableSubscriber.RECOVERY_TIMEOUT;
+        public int maxPending = ReliableSubscriber.MAX_PENDING;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public ReliableSubscriberBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    public ReliableSubscriberBuilder withPublishUrl(String publishUrl) {
+        spec.publishUrl = publishUrl;
+        return this;
+    }
+
+    public ReliableSubscriberBuilder withRecoveryUrl(String recoveryUrl) {
+        spec.recoveryUrl = recoveryUrl;
+        return this;
+    }
+
+    /**
+     * Subscribe to a topic prefix. The subscriber receives all topics if no
+     * prefix is given.
+     *
+     * @param topic The topic prefix
+     * @return This builder object
+     */
+    public ReliableSubscriberBuilder withTopic(byte[] topic) {
+        spec.subscriptions.add(topic.clone());
+        return this;
+    }
+
+    /**
+     * Set the handler called on the reactor thread with each message, in
+     * sequence per topic. Messages start with their topic frame.
+     *
+     * @param handler The message handler
+     * @return This builder object
+     */
+    public ReliableSubscriberBuilder withHandler(MessageHandler handler) {
+        spec.handler = handler;
+        return this;
+    }
+
+    public ReliableSubscriberBuilder withLossHandler(ReliableSubscriber.LossHandler lossHandler) {
+        spec.lossHandler = lossHandler;
+        return this;
+    }
+
+    /**
+     * Set the time to wait for missing messages before requesting them again.
+     *
+     * @param recoveryTimeout The recovery timeout, in milliseconds
+     * @return This builder object
+     */
+    public ReliableSubscriberBuilder withRecoveryTimeout(long recoveryTimeout) {
+        spec.recoveryTimeout = recoveryTimeout;
+        return this;
+    }
+
+    /**
+     * Set the number of messages of a topic which may be held back while
+     * waiting for missing messages, after which the missing messages are
+     * treated as lost.
+     *
+     * @param maxPending The maximum number of held back messages per topic
+     * @return This builder object
+     */
+    public ReliableSubscriberBuilder withMaxPending(int maxPending) {
+        spec.maxPending = maxPending;
+        return this;
+    }
+
+    public ReliableSubscriber build() {
+        assert spec.publishUrl != null;
+        assert spec.recoveryUrl != null;
+        assert spec.handler != null;
+
+        return new ReliableSubscriberImpl(context, spec.publishUrl, spec.recoveryUrl, spec.subscriptions, spec.handler,
+            spec.lossHandler, spec.recoveryTimeout, spec.maxPending);
+    }
+
+    public ReliableSubscriber start() {
+        ReliableSubscriber subscriber = build();
+        subscriber.start();
+
+        return subscriber;
+    }
+}
@@ -0,0 +1,248 @@
+package org.zeromq.jzmq.pubsub;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+import org.zeromq.api.MessageHandler;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.ReliableSubscriber;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+public class ReliableSubscriberImpl implements ReliableSubscriber {
+    private static final Logger log = LoggerFactory.getLogger(ReliableSubscriber.class);
+
+    private final Reactor reactor;
+    private final Socket subscriber;
+    private final Socket recovery;
+    private final MessageHandler handler;
+    private final LossHandler lossHandler;
+    private final long recoveryTimeout;
+    private final int maxPending;
+
+    /**
+     * Delivery state of each topic, owned by the reactor thread.
+     */
+    private final Map<ByteBuffer, Topic> topics = new HashMap<>();
+
+    public ReliableSubscriberImpl(ManagedContext context, String publishUrl, String recoveryUrl, List<byte[]> subscriptions, MessageHandler handler, LossHandler lossHandler, long recoveryTimeout, int maxPending) {
+        this.subscriber = context.buildSocket(SocketType.SUB)
+            .connect(publishUrl);
+        this.recovery = context.buildSocket(SocketType.DEALER)
+            .withLinger(0)
+            .connect(recoveryUrl);
+        this.handler = handler;
+        this.lossHandler = lossHandler;
+        this.recoveryTimeout = recoveryTimeout;
+        this.maxPending = maxPending;
+
+        if (subscriptions.isEmpty()) {
+            subscriber.subscribe(new byte[0]);
+        } else {
+            subscriber.updateSubscriptions(subscriptions, null);
+        }
+
+        this.reactor = context.buildReactor()
+            .withInPollable(subscriber, new LiveHandler())
+            .withInPollable(recovery, new RecoveryHandler())
+            .withTimerRepeating(recoveryTimeout, new RetryHandler())
+            .build();
+    }
+
+    @Override
+    public void start() {
+        reactor.start();
+    }
+
+    @Override
+    public void stop() {
+        reactor.stop();
+    }
+
+    private Topic topic(Frame name) {
+        ByteBuffer key = ByteBuffer.wrap(name.getData());
+        Topic topic = topics.get(key);
+        if (topic == null) {
+            topic = new Topic(name);
+            topics.put(key, topic);
+        }
+        return topic;
+    }
+
+    /**
+     * Deliver a message if it is next in sequence, or hold it back and fetch
+     * the messages missing before it.
+     */
+    private void accept(Topic topic, long sequence, Message message) {
+        if (topic.next == 0) {
+            // the first message sets the starting point of a late joiner
+            topic.next = sequence;
+        }
+
+        if (sequence < topic.next) {
+            return;
+        } else if (sequence == topic.next) {
+            deliver(topic, message);
+            drain(topic);
+        } else {
+            topic.pending.put(sequence, message);
+            if (topic.pending.size() > maxPending) {
+                lost(topic, topic.pending.firstKey() - 1);
+                drain(topic);
+            } else {
+                request(topic, false);
+            }
+        }
+    }
+
+    private void deliver(Topic topic, Message message) {
+        topic.next++;
+        try {
+            handler.execute(reactor, subscriber, message);
+        } catch (RuntimeException ex) {
+            log.warn("Message handler failed", ex);
+        }
+    }
+
+    /**
+     * Deliver held back messages which are now in sequence.
+     */
+    private void drain(Topic topic) {
+        while (!topic.pending.isEmpty() && topic.pending.firstKey() <= topic.next) {
+            Map.Entry<Long, Message> entry = topic.pending.pollFirstEntry();
+            if (entry.getKey() == topic.next) {
+                deliver(topic, entry.getValue());
+            }
+        }
+
+        if (topic.pending.isEmpty()) {
+            topic.requested = 0;
+        } else {
+            request(topic, false);
+        }
+    }
+
+    private void lost(Topic topic, long to) {
+        if (to < topic.next) {
+            return;
+        }
+
+        log.warn("Lost messages {} to {} of topic {}", topic.next, to, topic.name);
+        if (lossHandler != null) {
+            lossHandler.execute(topic.name.getData(), topic.next, to);
+        }
+        topic.next = to + 1;
+    }
+
+    /**
+     * Request the messages missing before the first held back message,
+     * unless they have already been requested.
+     */
+    private void request(Topic topic, boolean retry) {
+        long to = topic.pending.firstKey() - 1;
+        if (!retry && topic.requested >= to) {
+            return;
+        }
+
+        // [empty, topic, from, to]
+        recovery.send(new Message().addEmptyFrame().addFrame(topic.name).addLong(topic.next).addLong(to));
+        topic.requested = to;
+        topic.deadline = System.currentTimeMillis() + recoveryTimeout;
+    }
+
+    private class LiveHandler implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            Message message = pollable.getSocket().receiveMessage();
+            if (message == null || message.size() < 2) {
+                return;
+            }
+
+            // [topic, sequence, payload...]
+            if (!isLong(message, 1)) {
+                log.warn("Invalid message from publisher, no sequence");
+                return;
+            }
+
+            Frame name = message.popFrame();
+            long sequence = message.popLong();
+            message.pushFrame(name);
+            accept(topic(name), sequence, message);
+        }
+    }
+
+    private class RecoveryHandler implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            Message message = pollable.getSocket().receiveMessage();
+            if (message == null || message.size() < 3) {
+                return;
+            }
+
+            // [empty, topic, sequence, payload...]
+            if (!isLong(message, 2)) {
+                log.warn("Invalid recovery reply from publisher, no sequence");
+                return;
+            }
+
+            message.popFrame();
+            Frame name = message.popFrame();
+            long sequence = message.popLong();
+            if (sequence == ReliablePublisherImpl.LOST && !isLong(message, 0)) {
+                log.warn("Invalid recovery reply from publisher, no lost sequence");
+                return;
+            }
+
+            Topic topic = topic(name);
+            if (sequence == ReliablePublisherImpl.LOST) {
+                lost(topic, message.popLong());
+                drain(topic);
+            } else {
+                message.pushFrame(name);
+                accept(topic, sequence, message);
+            }
+        }
+    }
+
+    /**
+     * @return true if the message has a long in the frame at the given index
+     */
+    private static boolean isLong(Message message, int index) {
+        return message.size() > index && message.getFrames().get(index).size() == 8;
+    }
+
+    private class RetryHandler implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            long now = System.currentTimeMillis();
+            for (Topic topic : topics.values()) {
+                if (!topic.pending.isEmpty() && topic.deadline <= now) {
+                    log.debug("Recovery of topic {} timed out, retrying", topic.name);
+                    request(topic, true);
+                }
+            }
+        }
+    }
+
+    private static class Topic {
+        private final Frame name;
+        private final TreeMap<Long, Message> pending = new TreeMap<>();
+        private long next;
+        private long requested;
+        private long deadline;
+
+        public Topic(Frame name) {
+            this.name = name;
+        }
+    }
+}
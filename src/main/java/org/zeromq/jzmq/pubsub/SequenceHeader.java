@@ -0,0 +1,147 @@
+package org.zeromq.jzmq.pubsub;
+
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Stamps published messages with a sequence number and a timestamp, so
+ * subscribers can detect gaps and measure how far behind they are.
+ * <p>
+ * The header is a single 16 byte frame, holding the sequence number and the
+ * timestamp in milliseconds as big-endian longs, and is inserted after the
+ * first frame so that the topic is still used for subscription matching.
+ * Messages must therefore have a topic frame before they are stamped.
+ * <p>
+ * Each topic has its own sequence, so a subscriber that only subscribes to
+ * some of the topics sees consecutive sequence numbers for each of them.
+ * <p>
+ * A stamper is not thread-safe, and should only be used from the thread that
+ * owns the publishing socket.
+ */
+public class SequenceHeader {
+    /**
+     * The size of the header frame, in bytes.
+     */
+    public static final int SIZE = 16;
+
+    private final long first;
+    private final Map<ByteBuffer, Long> sequences = new HashMap<>();
+
+    /**
+     * Create a stamper whose first message on each topic has sequence number 1.
+     */
+    public SequenceHeader() {
+        this(1);
+    }
+
+    /**
+     * Create a stamper starting each topic at the given sequence number.
+     *
+     * @param sequence The sequence number of the first message on each topic
+     */
+    public SequenceHeader(long sequence) {
+        this.first = sequence;
+    }
+
+    /**
+     * Stamp a message with the next sequence number of its topic and the
+     * current time.
+     *
+     * @param message The message, starting with its topic frame
+     * @return The message, for method chaining
+     */
+    public Message stamp(Message message) {
+        ByteBuffer topic = topic(message.getFirstFrame());
+        long sequence = getSequence(topic);
+        sequences.put(topic, sequence + 1);
+        return stamp(message, sequence, System.currentTimeMillis());
+    }
+
+    /**
+     * @param topic The topic
+     * @return The sequence number of the next message on the topic
+     */
+    public long getSequence(byte[] topic) {
+        return getSequence(ByteBuffer.wrap(topic));
+    }
+
+    private long getSequence(ByteBuffer topic) {
+        Long sequence = sequences.get(topic);
+        return sequence == null ? first : sequence;
+    }
+
+    /**
+     * Stamp a message with the given sequence number and timestamp.
+     *
+     * @param message The message, starting with its topic frame
+     * @param sequence The sequence number
+     * @param timestamp The timestamp, in milliseconds
+     * @return The message, for method chaining
+     */
+    public static Message stamp(Message message, long sequence, long timestamp) {
+        byte[] header = new byte[SIZE];
+        putLong(header, 0, sequence);
+        putLong(header, 8, timestamp);
+
+        Frame topic = message.popFrame();
+        message.pushFrame(new Frame(header));
+        message.pushFrame(topic);
+        return message;
+    }
+
+    /**
+     * Remove the header from a stamped message.
+     *
+     * @param message The stamped message
+     * @return The header frame
+     */
+    public static Frame strip(Message message) {
+        Frame topic = message.popFrame();
+        Frame header = message.popFrame();
+        message.pushFrame(topic);
+        return header;
+    }
+
+    /**
+     * @param header A header frame
+     * @return The sequence number of the header
+     */
+    public static long getSequence(Frame header) {
+        return getLong(header.getData(), 0);
+    }
+
+    /**
+     * @param header A header frame
+     * @return The timestamp of the header, in milliseconds
+     */
+    public static long getTimestamp(Frame header) {
+        return getLong(header.getData(), 8);
+    }
+
+    /**
+     * @param frame A topic frame
+     * @return A copy of the topic, usable as a map key
+     */
+    static ByteBuffer topic(Frame frame) {
+        return ByteBuffer.wrap(frame.getData().clone());
+    }
+
+    private static void putLong(byte[] buf, int offset, long value) {
+        for (int i = 7; i >= 0; i--) {
+            buf[offset + i] = (byte) value;
+            value >>>= 8;
+        }
+    }
+
+    private static long getLong(byte[] buf, int offset) {
+        long value = 0;
+        for (int i = 0; i < 8; i++) {
+            value = (value << 8) | (buf[offset + i] & 0xff);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,238 @@
+package org.zeromq.jzmq.pubsub;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+import org.zeromq.api.Socket;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Detects a slow subscriber from the {@link SequenceHeader} of the messages it
+ * receives, in the style of the zguide "suicidal snail" pattern.
+ * <p>
+ * The lag of a message is the time between its timestamp and its receipt, so
+ * publisher and subscriber clocks must be reasonably synchronized. A gap is a
+ * jump in the sequence numbers of a topic, which means the publisher dropped
+ * messages at its high-water mark. Sequences are tracked per topic, as
+ * {@link SequenceHeader} stamps them, so subscribing to only some topics does
+ * not cause gaps. The action is fired once when the lag first exceeds the
+ * maximum, and again only after the lag has recovered, and for every gap of
+ * at least the maximum number of missed messages.
+ * <p>
+ * A monitor is not thread-safe, and should only be used from the thread that
+ * owns the subscribing socket.
+ */
+public class SubscriberLagMonitor {
+    private static final Logger log = LoggerFactory.getLogger(SubscriberLagMonitor.class);
+
+    /**
+     * The reason an action was fired.
+     */
+    public enum Reason {
+        /**
+         * The lag exceeded the maximum.
+         */
+        LAG,
+        /**
+         * Too many messages were missed at once.
+         */
+        GAP
+    }
+
+    /**
+     * Callback fired when the subscriber falls behind, e.g. to disconnect,
+     * raise an alert or resynchronize state.
+     */
+    public interface Action {
+        /**
+         * @param monitor The monitor that detected the condition
+         * @param reason Whether the subscriber lagged or missed messages
+         */
+        void execute(SubscriberLagMonitor monitor, Reason reason);
+    }
+
+    private final long maxLag;
+    private final long maxGap;
+    private final Action action;
+
+    private final Map<ByteBuffer, Long> sequences = new HashMap<>();
+    private long sequence = -1;
+    private long lag;
+    private long maxObservedLag;
+    private long received;
+    private long gaps;
+    private long missed;
+    private boolean lagging;
+
+    /**
+     * Create a new monitor.
+     *
+     * @param maxLag The maximum lag, in milliseconds, or 0 to ignore lag
+     * @param maxGap The maximum number of messages missed at once, or 0 to ignore gaps
+     * @param action The action fired when either maximum is exceeded
+     */
+    public SubscriberLagMonitor(long maxLag, long maxGap, Action action) {
+        this.maxLag = maxLag;
+        this.maxGap = maxGap;
+        this.action = action;
+    }
+
+    /**
+     * Remove the header from a received message and update the statistics,
+     * firing the action if the subscriber has fallen behind.
+     *
+     * @param message The stamped message
+     * @return The message, without its header
+     */
+    public Message receive(Message message) {
+        Frame header = SequenceHeader.strip(message);
+        ByteBuffer topic = SequenceHeader.topic(message.getFirstFrame());
+        update(topic, SequenceHeader.getSequence(header), SequenceHeader.getTimestamp(header));
+        return message;
+    }
+
+    /**
+     * Update the statistics with a received sequence number and timestamp,
+     * firing the action if the subscriber has fallen behind.
+     *
+     * @param topic The topic of the message
+     * @param sequence The sequence number of the message
+     * @param timestamp The timestamp of the message, in milliseconds
+     */
+    public void update(byte[] topic, long sequence, long timestamp) {
+        update(ByteBuffer.wrap(topic), sequence, timestamp);
+    }
+
+    /**
+     * Update the statistics of a single sequence, for messages without a
+     * topic, firing the action if the subscriber has fallen behind.
+     *
+     * @param sequence The sequence number of the message
+     * @param timestamp The timestamp of the message, in milliseconds
+     */
+    public void update(long sequence, long timestamp) {
+        update(ByteBuffer.allocate(0), sequence, timestamp);
+    }
+
+    private void update(ByteBuffer topic, long sequence, long timestamp) {
+        received++;
+        Long last = sequences.put(topic, sequence);
+        this.sequence = sequence;
+        long expected = last == null ? 0 : last + 1;
+        if (expected > 0 && sequence > expected) {
+            long count = sequence - expected;
+            gaps++;
+            missed += count;
+            if (maxGap > 0 && count >= maxGap) {
+                action.execute(this, Reason.GAP);
+            }
+        }
+
+        lag = System.currentTimeMillis() - timestamp;
+        if (lag > maxObservedLag) {
+            maxObservedLag = lag;
+        }
+        if (maxLag > 0) {
+            if (lag > maxLag && !lagging) {
+                lagging = true;
+                action.execute(this, Reason.LAG);
+            } else if (lag <= maxLag) {
+                lagging = false;
+            }
+        }
+    }
+
+    /**
+     * Forget the last sequence numbers, e.g. after resynchronizing state, so
+     * the next message on each topic does not count as a gap.
+     */
+    public void reset() {
+        sequences.clear();
+        sequence = -1;
+        lagging = false;
+    }
+
+    /**
+     * @return The sequence number of the last message on any topic, or -1 if none
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    /**
+     * @return The lag of the last message, in milliseconds
+     */
+    public long getLag() {
+        return lag;
+    }
+
+    /**
+     * @return The largest lag observed, in milliseconds
+     */
+    public long getMaxLag() {
+        return maxObservedLag;
+    }
+
+    /**
+     * @return The number of messages received
+     */
+    public long getReceived() {
+        return received;
+    }
+
+    /**
+     * @return The number of gaps detected
+     */
+    public long getGaps() {
+        return gaps;
+    }
+
+    /**
+     * @return The total number of messages missed
+     */
+    public long getMissed() {
+        return missed;
+    }
+
+    /**
+     * @return true if the lag currently exceeds the maximum
+     */
+    public boolean isLagging() {
+        return lagging;
+    }
+
+    /**
+     * Create an action which closes the subscribing socket, so a subscriber
+     * that cannot keep up stops rather than processing stale data.
+     *
+     * @param socket The subscribing socket
+     * @return The action
+     */
+    public static Action disconnect(final Socket socket) {
+        return new Action() {
+            @Override
+            public void execute(SubscriberLagMonitor monitor, Reason reason) {
+                log.error("Slow subscriber ({}), disconnecting: lag {} ms, {} messages missed", reason, monitor.getLag(), monitor.getMissed());
+                socket.close();
+            }
+        };
+    }
+
+    /**
+     * Create an action which logs a warning.
+     *
+     * @return The action
+     */
+    public static Action alert() {
+        return new Action() {
+            @Override
+            public void execute(SubscriberLagMonitor monitor, Reason reason) {
+                log.warn("Slow subscriber ({}): lag {} ms, {} messages missed", reason, monitor.getLag(), monitor.getMissed());
+            }
+        };
+    }
+}
@@ -0,0 +1,163 @@
+package org.zeromq.jzmq.pubsub;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.MessageHandler;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.PollerType;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.Socket;
+import org.zeromq.jzmq.reactor.SerialExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Demultiplexes the messages of a SUB or XSUB socket to handlers registered
+ * by topic prefix, and keeps the socket subscribed to exactly the registered
+ * prefixes.
+ * <p>
+ * Each message is dispatched to the handler of the longest registered prefix
+ * of its first frame, which is matched as raw bytes. Handlers run on the
+ * reactor thread, or on an executor given at registration, in which case the
+ * messages of that topic are still handled one at a time and in order.
+ * <p>
+ * Topics may be added and removed at any time from the reactor thread, e.g.
+ * from inside a handler, but not from other threads.
+ */
+public class TopicDispatcher implements LoopHandler {
+    private static final Logger log = LoggerFactory.getLogger(TopicDispatcher.class);
+
+    private final Socket socket;
+    private final TopicTrie<Topic> topics = new TopicTrie<>();
+
+    /**
+     * Create a new dispatcher. The socket should not have any subscriptions
+     * other than those added through the dispatcher.
+     *
+     * @param socket A SUB or XSUB socket
+     */
+    public TopicDispatcher(Socket socket) {
+        this.socket = socket;
+    }
+
+    /**
+     * Subscribe to a topic prefix, and handle its messages on the reactor
+     * thread. Replaces the handler of a prefix which is already registered.
+     *
+     * @param prefix The topic prefix
+     * @param handler The handler for messages of the topic
+     * @return This dispatcher, for method chaining
+     */
+    public TopicDispatcher addTopic(byte[] prefix, MessageHandler handler) {
+        return addTopic(prefix, handler, null);
+    }
+
+    /**
+     * Subscribe to a topic prefix, and handle its messages on an executor.
+     * Replaces the handler of a prefix which is already registered. If the
+     * executor is unchanged, messages already handed to it are handled before
+     * any message given to the new handler; if it changes, the messages of the
+     * old and new executors may be handled concurrently.
+     *
+     * @param prefix The topic prefix
+     * @param handler The handler for messages of the topic
+     * @param executor The executor, or null to handle messages on the reactor thread
+     * @return This dispatcher, for method chaining
+     */
+    public TopicDispatcher addTopic(byte[] prefix, MessageHandler handler, Executor executor) {
+        Topic topic = topics.get(prefix);
+        if (topic != null && topic.executor == executor) {
+            // keep the serial executor, so the topic's messages stay in order
+            topic.handler = handler;
+            return this;
+        }
+
+        if (topics.put(prefix, new Topic(handler, executor)) == null) {
+            socket.subscribe(prefix);
+        }
+        return this;
+    }
+
+    /**
+     * Unsubscribe from a topic prefix. Messages of the topic which have
+     * already been handed to an executor are still handled.
+     *
+     * @param prefix The topic prefix
+     * @return This dispatcher, for method chaining
+     */
+    public TopicDispatcher removeTopic(byte[] prefix) {
+        if (topics.remove(prefix) != null) {
+            socket.unsubscribe(prefix);
+        }
+        return this;
+    }
+
+    /**
+     * @return The number of registered topics
+     */
+    public int getTopicCount() {
+        return topics.size();
+    }
+
+    /**
+     * Poll the socket on the given reactor, dispatching its messages.
+     *
+     * @param reactor The reactor
+     */
+    public void register(Reactor reactor) {
+        reactor.addPollable(socket.getContext().newPollable(socket, PollerType.POLL_IN), this);
+    }
+
+    @Override
+    public void execute(Reactor reactor, Pollable pollable) {
+        Message message;
+        while ((message = socket.receiveMessage(MessageFlag.DONT_WAIT)) != null) {
+            if (message.isEmpty()) {
+                continue;
+            }
+
+            // a message may still arrive for a topic that was just removed
+            Topic topic = topics.longestMatch(message.getFirstFrame());
+            if (topic == null) {
+                log.debug("No handler for topic: {}", message.getFirstFrame());
+                continue;
+            }
+            topic.dispatch(reactor, message);
+        }
+    }
+
+    private class Topic {
+        private final Executor executor;
+        private final SerialExecutor serialExecutor;
+
+        /**
+         * Only changed on the reactor thread, and read there when a message
+         * is dispatched.
+         */
+        private MessageHandler handler;
+
+        public Topic(MessageHandler handler, Executor executor) {
+            this.handler = handler;
+            this.executor = executor;
+            this.serialExecutor = executor == null ? null : new SerialExecutor(executor);
+        }
+
+        public void dispatch(final Reactor reactor, final Message message) {
+            final MessageHandler handler = this.handler;
+            if (serialExecutor == null) {
+                handler.execute(reactor, socket, message);
+                return;
+            }
+
+            serialExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    handler.execute(reactor, socket, message);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,394 @@
+package org.zeromq.jzmq.pubsub;
+
+import org.zeromq.api.Message.Frame;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Byte-wise prefix tree of topics, for matching messages against
+ * subscriptions without decoding their topic frames into Strings.
+ * <p>
+ * Each entry holds a value and a reference count. Subscriptions are counted,
+ * so a prefix subscribed twice must be unsubscribed twice before it is
+ * removed, while {@link #put(byte[], Object)} and {@link #remove(byte[])}
+ * treat the trie as a map of keys to values. Entries may be matched by prefix
+ * (every entry which is a prefix of a topic) or listed by subtree (every
+ * entry which starts with a prefix).
+ * <p>
+ * A trie is not thread-safe.
+ *
+ * @param <V> The type of value stored with each entry
+ */
+public class TopicTrie<V> {
+    private final Node<V> root = new Node<>();
+    private int size;
+
+    /**
+     * Add a subscription to a prefix, or count another subscription to an
+     * existing prefix. The value of an existing prefix is replaced.
+     *
+     * @param prefix The topic prefix
+     * @param value The value to store with the prefix
+     * @return true if this is the first subscription to the prefix
+     */
+    public boolean subscribe(byte[] prefix, V value) {
+        Node<V> node = insert(prefix);
+        node.value = value;
+        if (node.refs++ == 0) {
+            size++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remove one subscription to a prefix.
+     *
+     * @param prefix The topic prefix
+     * @return true if this was the last subscription to the prefix
+     */
+    public boolean unsubscribe(byte[] prefix) {
+        Node<V>[] path = path(prefix);
+        Node<V> node = path == null ? null : path[prefix.length];
+        if (node == null || node.refs == 0) {
+            return false;
+        }
+
+        if (--node.refs > 0) {
+            return false;
+        }
+        node.value = null;
+        size--;
+        prune(prefix, path);
+        return true;
+    }
+
+    /**
+     * Store a value with a key, regardless of its subscription count.
+     *
+     * @param key The key
+     * @param value The value
+     * @return The previous value, or null if none
+     */
+    public V put(byte[] key, V value) {
+        Node<V> node = insert(key);
+        V previous = node.value;
+        node.value = value;
+        if (node.refs == 0) {
+            node.refs = 1;
+            size++;
+        }
+        return previous;
+    }
+
+    /**
+     * Remove a key, regardless of its subscription count.
+     *
+     * @param key The key
+     * @return The removed value, or null if none
+     */
+    public V remove(byte[] key) {
+        Node<V>[] path = path(key);
+        Node<V> node = path == null ? null : path[key.length];
+        if (node == null || node.refs == 0) {
+            return null;
+        }
+
+        V previous = node.value;
+        node.value = null;
+        node.refs = 0;
+        size--;
+        prune(key, path);
+        return previous;
+    }
+
+    /**
+     * @param key The key
+     * @return The value stored with the key, or null if none
+     */
+    public V get(byte[] key) {
+        Node<V> node = find(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * @param key The key
+     * @return true if the key is stored in the trie
+     */
+    public boolean contains(byte[] key) {
+        Node<V> node = find(key);
+        return node != null && node.refs > 0;
+    }
+
+    /**
+     * @param prefix The topic prefix
+     * @return The number of subscriptions to the prefix
+     */
+    public int getCount(byte[] prefix) {
+        Node<V> node = find(prefix);
+        return node == null ? 0 : node.refs;
+    }
+
+    /**
+     * @param topic The topic
+     * @return true if any entry is a prefix of the topic
+     */
+    public boolean matches(byte[] topic) {
+        Node<V> node = root;
+        for (int i = 0; node != null; i++) {
+            if (node.refs > 0) {
+                return true;
+            }
+            if (i == topic.length) {
+                break;
+            }
+            node = node.child(topic[i]);
+        }
+        return false;
+    }
+
+    /**
+     * @param topic The topic frame
+     * @return true if any entry is a prefix of the topic
+     */
+    public boolean matches(Frame topic) {
+        return matches(topic.getData());
+    }
+
+    /**
+     * Find the longest entry which is a prefix of the topic.
+     *
+     * @param topic The topic
+     * @return The value of the longest matching entry, or null if none
+     */
+    public V longestMatch(byte[] topic) {
+        V match = null;
+        Node<V> node = root;
+        for (int i = 0; node != null; i++) {
+            if (node.refs > 0) {
+                match = node.value;
+            }
+            if (i == topic.length) {
+                break;
+            }
+            node = node.child(topic[i]);
+        }
+        return match;
+    }
+
+    /**
+     * Find the longest entry which is a prefix of the topic frame.
+     *
+     * @param topic The topic frame
+     * @return The value of the longest matching entry, or null if none
+     */
+    public V longestMatch(Frame topic) {
+        return longestMatch(topic.getData());
+    }
+
+    /**
+     * Find every entry which is a prefix of the topic, shortest first.
+     *
+     * @param topic The topic
+     * @param matches The collection to add the values of matching entries to
+     * @return The number of matching entries
+     */
+    public int matchAll(byte[] topic, Collection<? super V> matches) {
+        int count = 0;
+        Node<V> node = root;
+        for (int i = 0; node != null; i++) {
+            if (node.refs > 0) {
+                matches.add(node.value);
+                count++;
+            }
+            if (i == topic.length) {
+                break;
+            }
+            node = node.child(topic[i]);
+        }
+        return count;
+    }
+
+    /**
+     * Find every entry which is a prefix of the topic frame, shortest first.
+     *
+     * @param topic The topic frame
+     * @return The values of matching entries
+     */
+    public List<V> matchAll(Frame topic) {
+        List<V> matches = new ArrayList<>();
+        matchAll(topic.getData(), matches);
+        return matches;
+    }
+
+    /**
+     * Find every entry which starts with the prefix, in byte order.
+     *
+     * @param prefix The prefix
+     * @param values The collection to add the values of the entries to
+     */
+    public void collect(byte[] prefix, Collection<? super V> values) {
+        Node<V> node = find(prefix);
+        if (node != null) {
+            collect(node, values);
+        }
+    }
+
+    /**
+     * @return The number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return true if there are no entries
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Remove all entries.
+     */
+    public void clear() {
+        root.clear();
+        size = 0;
+    }
+
+    private Node<V> insert(byte[] key) {
+        Node<V> node = root;
+        for (byte b : key) {
+            Node<V> child = node.child(b);
+            if (child == null) {
+                child = node.addChild(b);
+            }
+            node = child;
+        }
+        return node;
+    }
+
+    private Node<V> find(byte[] key) {
+        Node<V> node = root;
+        for (int i = 0; node != null && i < key.length; i++) {
+            node = node.child(key[i]);
+        }
+        return node;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Node<V>[] path(byte[] key) {
+        Node<V>[] path = new Node[key.length + 1];
+        Node<V> node = root;
+        path[0] = node;
+        for (int i = 0; i < key.length; i++) {
+            node = node.child(key[i]);
+            if (node == null) {
+                return null;
+            }
+            path[i + 1] = node;
+        }
+        return path;
+    }
+
+    /**
+     * Remove nodes along the path which no longer lead to an entry.
+     */
+    private void prune(byte[] key, Node<V>[] path) {
+        for (int i = key.length; i > 0; i--) {
+            Node<V> node = path[i];
+            if (node.refs > 0 || node.count > 0) {
+                return;
+            }
+            path[i - 1].removeChild(key[i - 1]);
+        }
+    }
+
+    private void collect(Node<V> node, Collection<? super V> values) {
+        if (node.refs > 0) {
+            values.add(node.value);
+        }
+        for (int i = 0; i < node.count; i++) {
+            collect(node.children[i], values);
+        }
+    }
+
+    /**
+     * Node with children kept in unsigned byte order, which suits the small
+     * fan-out of typical topic names.
+     */
+    private static class Node<V> {
+        private static final byte[] NO_LABELS = new byte[0];
+
+        private byte[] labels = NO_LABELS;
+        private Node<V>[] children;
+        private int count;
+        private V value;
+        private int refs;
+
+        private Node<V> child(byte label) {
+            int index = indexOf(label);
+            return index < 0 ? null : children[index];
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private Node<V> addChild(byte label) {
+            int index = -(indexOf(label) + 1);
+            if (count == labels.length) {
+                int capacity = Math.max(2, count * 2);
+                labels = Arrays.copyOf(labels, capacity);
+                children = children == null ? new Node[capacity] : Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(labels, index, labels, index + 1, count - index);
+            System.arraycopy(children, index, children, index + 1, count - index);
+
+            Node<V> child = new Node<>();
+            labels[index] = label;
+            children[index] = child;
+            count++;
+            return child;
+        }
+
+        private void removeChild(byte label) {
+            int index = indexOf(label);
+            if (index >= 0) {
+                count--;
+                System.arraycopy(labels, index + 1, labels, index, count - index);
+                System.arraycopy(children, index + 1, children, index, count - index);
+                children[count] = null;
+            }
+        }
+
+        private void clear() {
+            labels = NO_LABELS;
+            children = null;
+            count = 0;
+            value = null;
+            refs = 0;
+        }
+
+        /**
+         * Binary search of the labels, comparing bytes as unsigned values.
+         */
+        private int indexOf(byte label) {
+            int key = label & 0xff;
+            int low = 0;
+            int high = count - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int value = labels[mid] & 0xff;
+                if (value < key) {
+                    low = mid + 1;
+                } else if (value > key) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+}
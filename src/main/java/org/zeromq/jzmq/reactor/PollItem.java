@@ -1,39 +1,104 @@
 package org.zeromq.jzmq.reactor;
 
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQException;
 import org.zeromq.api.LoopHandler;
 import org.zeromq.api.PollAdapter;
 import org.zeromq.api.Pollable;
+import org.zeromq.api.PollerType;
 import org.zeromq.api.Reactor;
+import org.zeromq.api.Socket;
+import org.zeromq.api.exception.ZMQExceptions;
 
 class PollItem extends PollAdapter {
-    private Reactor reactor;
+    private ReactorImpl reactor;
 
     public Pollable pollable;
     public LoopHandler handler;
+    public int maxBatch = 1;
+    public Reactor.Priority priority = Reactor.Priority.NORMAL;
+    public ReactorImpl.Link link;
+    public boolean cancelled;
+    public int readyEvents;
     public Object[] args;
 
-    public PollItem(Reactor reactor, Pollable pollable, LoopHandler handler) {
+    public PollItem(ReactorImpl reactor, Pollable pollable, LoopHandler handler) {
         this.reactor = reactor;
         this.pollable = pollable;
         this.handler = handler;
     }
 
+    public PollItem(ReactorImpl reactor, Pollable pollable, LoopHandler handler, int maxBatch, Reactor.Priority priority) {
+        this(reactor, pollable, handler);
+        this.maxBatch = maxBatch;
+        this.priority = priority;
+    }
+
     @Override
     public void handleIn(Pollable pollable) {
-        execute(pollable);
+        ready(PollerType.POLL_IN);
     }
 
     @Override
     public void handleOut(Pollable pollable) {
-        execute(pollable);
+        ready(PollerType.POLL_OUT);
     }
 
     @Override
     public void handleError(Pollable pollable) {
-        execute(pollable);
+        ready(PollerType.POLL_ERROR);
+    }
+
+    private void ready(PollerType event) {
+        // Defer to the reactor, which dispatches in order of priority
+        if (readyEvents == 0) {
+            reactor.ready(this);
+        }
+        readyEvents |= event.getType();
+    }
+
+    /**
+     * Invoke the handler for events reported by the poller.
+     */
+    public void dispatch() {
+        int events = readyEvents;
+        readyEvents = 0;
+
+        if (!cancelled && (events & PollerType.POLL_IN.getType()) != 0) {
+            // Drain a burst of input without re-entering poll, up to maxBatch
+            // invocations so other pollables are not starved
+            int count = 0;
+            do {
+                execute(pollable);
+            } while (++count < maxBatch && hasMoreInput(pollable));
+        }
+        if (!cancelled && (events & PollerType.POLL_OUT.getType()) != 0) {
+            execute(pollable);
+        }
+        if (!cancelled && (events & PollerType.POLL_ERROR.getType()) != 0) {
+            execute(pollable);
+        }
     }
 
     private void execute(Pollable pollable) {
         handler.execute(reactor, pollable);
     }
-}
\ No newline at end of file
+
+    private boolean hasMoreInput(Pollable pollable) {
+        Socket socket = pollable.getSocket();
+        if (cancelled || socket == null || !socket.isActive()) {
+            return false;
+        }
+
+        // Stop draining once a linked output socket is full
+        if (link != null && !link.isWritable()) {
+            return false;
+        }
+
+        try {
+            return (socket.getZMQSocket().getEvents() & ZMQ.Poller.POLLIN) != 0;
+        } catch (ZMQException ex) {
+            throw ZMQExceptions.wrap(ex);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package org.zeromq.jzmq.reactor;
 
 import org.zeromq.api.LoopHandler;
+import org.zeromq.api.MessageHandler;
 import org.zeromq.api.Pollable;
 import org.zeromq.api.PollerType;
 import org.zeromq.api.Reactor;
@@ -8,6 +9,7 @@ import org.zeromq.api.Socket;
 import org.zeromq.jzmq.ManagedContext;
 
 import java.nio.channels.SelectableChannel;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
 public class ReactorBuilder {
@@ -28,10 +30,46 @@ public class ReactorBuilder {
         return this;
     }
 
+    public ReactorBuilder withPollable(Pollable pollable, LoopHandler handler, int maxBatch) {
+        reactor.addPollable(pollable, handler, maxBatch);
+        return this;
+    }
+
+    public ReactorBuilder withPollable(Pollable pollable, LoopHandler handler, Reactor.Priority priority) {
+        reactor.addPollable(pollable, handler, priority);
+        return this;
+    }
+
+    public ReactorBuilder withPollable(Pollable pollable, MessageHandler handler, Executor executor) {
+        reactor.addPollable(pollable, handler, executor);
+        return this;
+    }
+
+    public ReactorBuilder withPollable(Pollable pollable, MessageHandler handler, Executor executor, int lanes) {
+        reactor.addPollable(pollable, handler, executor, lanes);
+        return this;
+    }
+
     public ReactorBuilder withInPollable(Socket socket, LoopHandler handler) {
         return withPollable(context.newPollable(socket, PollerType.POLL_IN), handler);
     }
 
+    public ReactorBuilder withInPollable(Socket socket, LoopHandler handler, int maxBatch) {
+        return withPollable(context.newPollable(socket, PollerType.POLL_IN), handler, maxBatch);
+    }
+
+    public ReactorBuilder withInPollable(Socket socket, LoopHandler handler, Reactor.Priority priority) {
+        return withPollable(context.newPollable(socket, PollerType.POLL_IN), handler, priority);
+    }
+
+    public ReactorBuilder withInPollable(Socket socket, MessageHandler handler, Executor executor) {
+        return withPollable(context.newPollable(socket, PollerType.POLL_IN), handler, executor);
+    }
+
+    public ReactorBuilder withInPollable(Socket socket, MessageHandler handler, Executor executor, int lanes) {
+        return withPollable(context.newPollable(socket, PollerType.POLL_IN), handler, executor, lanes);
+    }
+
     public ReactorBuilder withOutPollable(Socket socket, LoopHandler handler) {
         return withPollable(context.newPollable(socket, PollerType.POLL_OUT), handler);
     }
@@ -97,6 +135,45 @@ public class ReactorBuilder {
         return withTimer(unit.toMillis(initialDelay), -1, handler);
     }
 
+    public ReactorBuilder withTimerFixedRate(long initialDelay, long period, int numIterations, Reactor.CatchUp catchUp, long jitter, LoopHandler handler) {
+        reactor.addTimer(initialDelay, period, numIterations, catchUp, jitter, handler);
+        return this;
+    }
+
+    public ReactorBuilder withTimerFixedRate(long period, Reactor.CatchUp catchUp, LoopHandler handler) {
+        return withTimerFixedRate(period, period, -1, catchUp, 0, handler);
+    }
+
+    public ReactorBuilder withTimerFixedRate(long period, TimeUnit unit, Reactor.CatchUp catchUp, LoopHandler handler) {
+        return withTimerFixedRate(unit.toMillis(period), catchUp, handler);
+    }
+
+    /*
+     * Options.
+     */
+
+    public ReactorBuilder withLink(Pollable input, Socket output) {
+        reactor.link(input, output);
+        return this;
+    }
+
+    /**
+     * Poll with a {@link java.nio.channels.Selector} instead of the ØMQ
+     * poller, which scales to large numbers of SelectableChannels.
+     *
+     * @return This builder object
+     * @see org.zeromq.jzmq.poll.SelectorPollerImpl
+     */
+    public ReactorBuilder withSelector() {
+        reactor.useSelector();
+        return this;
+    }
+
+    public ReactorBuilder withBudget(int budget) {
+        reactor.setBudget(budget);
+        return this;
+    }
+
     public Reactor build() {
         return reactor;
     }
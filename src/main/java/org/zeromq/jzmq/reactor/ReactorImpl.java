@@ -1,49 +1,142 @@
 package org.zeromq.jzmq.reactor;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQException;
 import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.MessageHandler;
 import org.zeromq.api.Pollable;
 import org.zeromq.api.Poller;
+import org.zeromq.api.PollerType;
 import org.zeromq.api.Reactor;
+import org.zeromq.api.Socket;
 import org.zeromq.api.exception.ContextTerminatedException;
 import org.zeromq.api.exception.InvalidSocketException;
+import org.zeromq.api.exception.ZMQExceptions;
 import org.zeromq.jzmq.ManagedContext;
 
 public class ReactorImpl implements Reactor, Runnable {
     private static final Logger log = LoggerFactory.getLogger(Reactor.class);
+    private static final Priority[] LOWER_PRIORITIES = { Priority.NORMAL, Priority.LOW };
 
     private final Thread thread = new Thread(this);
     private final AtomicBoolean running = new AtomicBoolean(false);
 
-    private final Poller poller;
+    private Poller poller;
     private final List<PollItem> pollItems;
     private final Queue<ReactorTimer> timers;
+    private final Map<Priority, List<PollItem>> readyItems;
+    private int budget = Integer.MAX_VALUE;
+    private int rotation;
+
+    private final ManagedContext context;
+    private final Map<Pollable, Link> links = new HashMap<>();
+
+    private final Pipe wakeup;
+    private final AtomicBoolean wakeupPending = new AtomicBoolean(false);
+    private final Queue<Outgoing> outbox = new ConcurrentLinkedQueue<>();
 
     public ReactorImpl(ManagedContext context) {
+        this.context = context;
         this.pollItems = new ArrayList<>();
         this.timers = new PriorityQueue<>();
+        this.readyItems = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            readyItems.put(priority, new ArrayList<PollItem>());
+        }
         this.poller = context.buildPoller().build();
+        this.wakeup = openWakeupPipe();
+        addPollable(context.newPollable(wakeup.source(), PollerType.POLL_IN), new WakeupHandler(), Priority.HIGH);
+    }
+
+    private static Pipe openWakeupPipe() {
+        try {
+            Pipe pipe = Pipe.open();
+            pipe.source().configureBlocking(false);
+            return pipe;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open reactor wakeup pipe", ex);
+        }
     }
 
     @Override
     public void addPollable(Pollable pollable, LoopHandler handler) {
-        PollItem pollItem = new PollItem(this, pollable, handler);
+        addPollable(pollable, handler, 1);
+    }
+
+    @Override
+    public void addPollable(Pollable pollable, LoopHandler handler, int maxBatch) {
+        addPollable(pollable, handler, maxBatch, Priority.NORMAL);
+    }
+
+    @Override
+    public void addPollable(Pollable pollable, LoopHandler handler, Priority priority) {
+        addPollable(pollable, handler, 1, priority);
+    }
+
+    private void addPollable(Pollable pollable, LoopHandler handler, int maxBatch, Priority priority) {
+        if (maxBatch < 1) {
+            throw new IllegalArgumentException("maxBatch must be positive");
+        }
+        PollItem pollItem = new PollItem(this, pollable, handler, maxBatch, priority);
+        pollItem.link = links.get(pollable);
         pollItems.add(pollItem);
         poller.register(pollable, pollItem);
     }
 
+    @Override
+    public void addPollable(Pollable pollable, MessageHandler handler, Executor executor) {
+        addPollable(pollable, handler, executor, 1);
+    }
+
+    @Override
+    public void addPollable(Pollable pollable, MessageHandler handler, Executor executor, int lanes) {
+        if (pollable.getSocket() == null) {
+            throw new IllegalArgumentException("Only socket pollables can be offloaded");
+        }
+        if (lanes < 1) {
+            throw new IllegalArgumentException("lanes must be positive");
+        }
+        addPollable(pollable, new OffloadHandler(handler, executor, lanes));
+    }
+
     @Override
     public void addTimer(long initialDelay, int numIterations, LoopHandler handler) {
         ReactorTimer timer = new ReactorTimer(initialDelay, numIterations, handler);
-        timer.recalculate(System.currentTimeMillis());
+        timer.schedule(System.currentTimeMillis());
+
+        timers.add(timer);
+    }
+
+    @Override
+    public void addTimer(long initialDelay, long period, int numIterations, CatchUp catchUp, long jitter, LoopHandler handler) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period must be positive");
+        }
+        if (jitter < 0) {
+            throw new IllegalArgumentException("jitter cannot be negative");
+        }
+        ReactorTimer timer = new ReactorTimer(initialDelay, period, numIterations, catchUp, jitter, handler);
+        timer.schedule(System.currentTimeMillis());
 
         timers.add(timer);
     }
@@ -55,13 +148,8 @@ public class ReactorImpl implements Reactor, Runnable {
             PollItem item = it.next();
             if (item.handler == handler) {
                 it.remove();
-                if (poller != null) {
-                    if (item.pollable.getChannel() != null) {
-                        poller.disable(item.pollable.getChannel());
-                    } else {
-                        poller.disable(item.pollable.getSocket());
-                    }
-                }
+                item.cancelled = true;
+                poller.unregister(item.pollable);
             }
         }
 
@@ -73,6 +161,127 @@ public class ReactorImpl implements Reactor, Runnable {
         }
     }
 
+    @Override
+    public void cancel(MessageHandler handler) {
+        List<LoopHandler> handlers = new ArrayList<>();
+        for (PollItem item : pollItems) {
+            if (item.handler instanceof OffloadHandler
+                    && ((OffloadHandler) item.handler).handler == handler) {
+                handlers.add(item.handler);
+            }
+        }
+
+        for (LoopHandler loopHandler : handlers) {
+            cancel(loopHandler);
+        }
+    }
+
+    @Override
+    public void link(Pollable input, Socket output) {
+        Link link = new Link(input, output);
+        links.put(input, link);
+        for (PollItem item : pollItems) {
+            if (item.pollable == input) {
+                item.link = link;
+            }
+        }
+    }
+
+    @Override
+    public void send(Socket socket, Message message) {
+        if (Thread.currentThread() == thread) {
+            socket.send(message);
+            return;
+        }
+
+        outbox.offer(new Outgoing(socket, message));
+        wakeup();
+    }
+
+    private void wakeup() {
+        // Coalesce wakeups, only one byte is ever outstanding in the pipe
+        if (wakeupPending.compareAndSet(false, true)) {
+            try {
+                wakeup.sink().write(ByteBuffer.wrap(new byte[] { 0 }));
+            } catch (IOException ex) {
+                log.warn("Unable to wake up reactor", ex);
+            }
+        }
+    }
+
+    /**
+     * Poll with a {@link java.nio.channels.Selector}, which scales to large
+     * numbers of registered channels. Pollables already added are moved to
+     * the new poller. Must be called before the reactor is started.
+     */
+    public void useSelector() {
+        if (running.get()) {
+            throw new IllegalStateException("Reactor is already running");
+        }
+
+        Poller selectorPoller = context.buildPoller().withSelector().build();
+        for (PollItem item : pollItems) {
+            selectorPoller.register(item.pollable, item);
+        }
+        poller.close();
+        poller = selectorPoller;
+    }
+
+    /**
+     * Set the maximum number of NORMAL and LOW priority pollables dispatched
+     * per loop iteration. Pollables left over are dispatched on a later
+     * iteration, after any HIGH priority pollables.
+     * 
+     * @param budget The dispatch budget per loop iteration
+     */
+    public void setBudget(int budget) {
+        if (budget < 1) {
+            throw new IllegalArgumentException("budget must be positive");
+        }
+        this.budget = budget;
+    }
+
+    void ready(PollItem item) {
+        readyItems.get(item.priority).add(item);
+    }
+
+    private void dispatch() {
+        // High priority pollables are always serviced, and serviced first
+        List<PollItem> high = readyItems.get(Priority.HIGH);
+        for (int i = 0; i < high.size(); i++) {
+            dispatch(high.get(i));
+        }
+        high.clear();
+
+        // Lower priorities share a bounded budget, rotating the starting
+        // point so the same pollables are not always left over
+        int remaining = budget;
+        rotation++;
+        for (Priority priority : LOWER_PRIORITIES) {
+            List<PollItem> items = readyItems.get(priority);
+            int size = items.size();
+            // rotation eventually overflows, so it is reduced before use
+            int start = size > 0 ? Math.floorMod(rotation, size) : 0;
+            for (int i = 0; i < size; i++) {
+                PollItem item = items.get((i + start) % size);
+                if (remaining > 0) {
+                    remaining--;
+                    dispatch(item);
+                } else {
+                    item.readyEvents = 0;
+                }
+            }
+            items.clear();
+        }
+    }
+
+    private void dispatch(PollItem item) {
+        item.dispatch();
+        if (item.link != null && !item.cancelled) {
+            item.link.check();
+        }
+    }
+
     @Override
     public void start() {
         thread.start();
@@ -81,6 +290,7 @@ public class ReactorImpl implements Reactor, Runnable {
     @Override
     public void stop() {
         running.set(false);
+        wakeup();
         try {
             thread.join();
         } catch (InterruptedException ignored) {
@@ -96,12 +306,14 @@ public class ReactorImpl implements Reactor, Runnable {
             long wait = ticklessTimer();
             try {
                 /*
-                 * Pollers will execute internally.
+                 * Pollers will report ready items, which are then dispatched
+                 * in order of priority.
                  * 
                  * NOTE: This call can cause new timers and pollers to be
                  * registered internally, using a handle to this Reactor.
                  */
                 poller.poll(wait);
+                dispatch();
             } catch (ContextTerminatedException | InvalidSocketException ex) {
                 break;
             }
@@ -132,9 +344,19 @@ public class ReactorImpl implements Reactor, Runnable {
             }
         }
 
+        closeWakeupPipe();
+        poller.close();
         log.info("Exiting reactor");
     }
 
+    private void closeWakeupPipe() {
+        try {
+            wakeup.sink().close();
+            wakeup.source().close();
+        } catch (IOException ignored) {
+        }
+    }
+
     private long ticklessTimer() {
         // Calculate tickless timer, up to 1 hour
         long now = System.currentTimeMillis();
@@ -150,4 +372,135 @@ public class ReactorImpl implements Reactor, Runnable {
 
         return timeout;
     }
+
+    /**
+     * A message to be sent from the reactor thread.
+     */
+    private static class Outgoing {
+        private final Socket socket;
+        private final Message message;
+
+        public Outgoing(Socket socket, Message message) {
+            this.socket = socket;
+            this.message = message;
+        }
+    }
+
+    /**
+     * Drains the wakeup pipe and sends messages queued by other threads.
+     */
+    private class WakeupHandler implements LoopHandler {
+        private final ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            try {
+                while (wakeup.source().read(buffer) > 0) {
+                    buffer.clear();
+                }
+            } catch (IOException ex) {
+                log.warn("Unable to read reactor wakeup pipe", ex);
+            }
+
+            // Clear flag before draining, so later sends trigger a new wakeup
+            wakeupPending.set(false);
+
+            Outgoing outgoing;
+            while ((outgoing = outbox.poll()) != null) {
+                if (outgoing.socket.isActive()) {
+                    outgoing.socket.send(outgoing.message);
+                }
+            }
+        }
+    }
+
+    /**
+     * Flow control between an input pollable and an output socket. Input is
+     * paused while the output socket cannot accept messages, and resumed
+     * once the output socket becomes writable again.
+     */
+    class Link implements LoopHandler {
+        private final Pollable input;
+        private final Socket output;
+        private final Pollable resume;
+        private boolean paused;
+
+        public Link(Pollable input, Socket output) {
+            this.input = input;
+            this.output = output;
+            this.resume = context.newPollable(output, PollerType.POLL_OUT);
+        }
+
+        public boolean isWritable() {
+            if (!output.isActive()) {
+                return true;
+            }
+
+            try {
+                return (output.getZMQSocket().getEvents() & ZMQ.Poller.POLLOUT) != 0;
+            } catch (ZMQException ex) {
+                throw ZMQExceptions.wrap(ex);
+            }
+        }
+
+        public void check() {
+            if (!paused && !isWritable()) {
+                log.debug("Output socket is full, pausing input");
+                paused = true;
+                poller.disable(input);
+                addPollable(resume, this, Priority.HIGH);
+            }
+        }
+
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            log.debug("Output socket is writable, resuming input");
+            paused = false;
+            cancel(this);
+            poller.enable(input);
+        }
+    }
+
+    /**
+     * Receives messages on the reactor thread and hands them to an executor,
+     * preserving order per lane.
+     */
+    private class OffloadHandler implements LoopHandler {
+        private final MessageHandler handler;
+        private final SerialExecutor[] lanes;
+
+        public OffloadHandler(MessageHandler handler, Executor executor, int lanes) {
+            this.handler = handler;
+            this.lanes = new SerialExecutor[lanes];
+            for (int i = 0; i < lanes; i++) {
+                this.lanes[i] = new SerialExecutor(executor);
+            }
+        }
+
+        @Override
+        public void execute(final Reactor reactor, Pollable pollable) {
+            final Socket socket = pollable.getSocket();
+            final Message message = socket.receiveMessage(MessageFlag.DONT_WAIT);
+            if (message == null) {
+                return;
+            }
+
+            lane(message).execute(new Runnable() {
+                @Override
+                public void run() {
+                    handler.execute(reactor, socket, message);
+                }
+            });
+        }
+
+        private SerialExecutor lane(Message message) {
+            if (lanes.length == 1 || message.isEmpty()) {
+                return lanes[0];
+            }
+
+            // Order per routing key, which is the first frame
+            int hash = message.getFirstFrame().hashCode();
+            return lanes[(hash & Integer.MAX_VALUE) % lanes.length];
+        }
+    }
 }
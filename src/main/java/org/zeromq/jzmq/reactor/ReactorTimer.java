@@ -2,6 +2,8 @@ package org.zeromq.jzmq.reactor;
 
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
 import org.zeromq.api.LoopHandler;
 import org.zeromq.api.Reactor;
 
@@ -10,6 +12,11 @@ class ReactorTimer implements Comparable<ReactorTimer> {
     public int numIterations;
     public LoopHandler handler;
 
+    public long period = -1;
+    public Reactor.CatchUp catchUp;
+    public long jitter;
+
+    public long scheduledTime = -1;
     public long nextFireTime = -1;
 
     public ReactorTimer(long initialDelay, int numIterations, LoopHandler handler) {
@@ -18,8 +25,53 @@ class ReactorTimer implements Comparable<ReactorTimer> {
         this.handler = handler;
     }
 
+    public ReactorTimer(long initialDelay, long period, int numIterations, Reactor.CatchUp catchUp, long jitter, LoopHandler handler) {
+        this(initialDelay, numIterations, handler);
+        this.period = period;
+        this.catchUp = catchUp;
+        this.jitter = jitter;
+    }
+
+    /**
+     * Schedule the first run of this timer.
+     * 
+     * @param now The current time
+     */
+    public void schedule(long now) {
+        if (period < 0) {
+            recalculate(now);
+        } else {
+            scheduleAt(now + initialDelay);
+        }
+    }
+
     public void recalculate(long now) {
-        nextFireTime = now + initialDelay;
+        if (period < 0) {
+            nextFireTime = now + initialDelay;
+            return;
+        }
+
+        // Anchor to the original schedule, rather than the current time
+        long next = scheduledTime + period;
+        if (next <= now && catchUp != Reactor.CatchUp.FIRE_ALL) {
+            long missed = (now - next) / period + 1;
+            next += missed * period;
+
+            // Missed runs count toward the iterations, but the last run always fires
+            if (catchUp == Reactor.CatchUp.COALESCE && numIterations > 0) {
+                numIterations = (int) Math.max(1, numIterations - missed);
+            }
+        }
+
+        scheduleAt(next);
+    }
+
+    private void scheduleAt(long time) {
+        scheduledTime = time;
+        nextFireTime = time;
+        if (jitter > 0) {
+            nextFireTime += ThreadLocalRandom.current().nextLong(jitter + 1);
+        }
     }
 
     public void execute(Reactor reactor) {
@@ -67,6 +119,9 @@ class ReactorTimer implements Comparable<ReactorTimer> {
         if (this.numIterations != other.numIterations) {
             return false;
         }
+        if (this.period != other.period) {
+            return false;
+        }
         if (this.nextFireTime != other.nextFireTime) {
             return false;
         }
@@ -77,4 +132,4 @@ class ReactorTimer implements Comparable<ReactorTimer> {
     }
     
     
-}
\ No newline at end of file
+}
@@ -0,0 +1,49 @@
+package org.zeromq.jzmq.reactor;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor which runs tasks one at a time, in submission order, on an
+ * underlying (possibly multi-threaded) executor.
+ */
+public class SerialExecutor implements Executor {
+    private static final Logger log = LoggerFactory.getLogger(SerialExecutor.class);
+
+    private final Executor executor;
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Runnable drainer = new Drainer();
+
+    public SerialExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        tasks.offer(task);
+
+        // Only the first pending task schedules a drainer
+        if (pending.getAndIncrement() == 0) {
+            executor.execute(drainer);
+        }
+    }
+
+    private class Drainer implements Runnable {
+        @Override
+        public void run() {
+            do {
+                try {
+                    tasks.poll().run();
+                } catch (RuntimeException ex) {
+                    log.error("Uncaught exception in offloaded handler", ex);
+                }
+            } while (pending.decrementAndGet() > 0);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package org.zeromq.jzmq.rpc;
+
+import org.zeromq.api.RpcClient;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+public class RpcClientBuilder {
+    public class Spec {
+        public long timeout = RpcClient.TIMEOUT;
+        public int maxPending = RpcClient.MAX_PENDING;
+        public long tickDuration = RpcClient.TICK_DURATION;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public RpcClientBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Set the default timeout of each request.
+     *
+     * @param timeout The request timeout, in milliseconds
+     * @return This builder object
+     */
+    public RpcClientBuilder withTimeout(long timeout) {
+        if (timeout <= 0) {
+            throw new IllegalArgumentException("timeout must be positive");
+        }
+        spec.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Set the maximum number of requests in flight. The socket's high water
+     * marks are set to match, so sending never blocks the network thread.
+     *
+     * @param maxPending The maximum number of requests in flight
+     * @return This builder object
+     */
+    public RpcClientBuilder withMaxPending(int maxPending) {
+        if (maxPending < 1) {
+            throw new IllegalArgumentException("maxPending must be positive");
+        }
+        spec.maxPending = maxPending;
+        return this;
+    }
+
+    /**
+     * Set the resolution at which request timeouts are checked.
+     *
+     * @param tickDuration The tick duration, in milliseconds
+     * @return This builder object
+     */
+    public RpcClientBuilder withTickDuration(long tickDuration) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be positive");
+        }
+        spec.tickDuration = tickDuration;
+        return this;
+    }
+
+    /**
+     * Connect to one or more servers, which share requests round-robin.
+     *
+     * @param url The url of a server
+     * @param additionalUrls The urls of any other servers
+     * @return A new RpcClient
+     */
+    public RpcClient connect(String url, String... additionalUrls) {
+        Socket socket = context.buildSocket(SocketType.DEALER)
+            .withLinger(0)
+            .withSendHighWatermark(spec.maxPending)
+            .withReceiveHighWatermark(spec.maxPending)
+            .connect(url, additionalUrls);
+
+        return new RpcClientImpl(context, socket, spec.timeout, spec.maxPending, spec.tickDuration);
+    }
+}
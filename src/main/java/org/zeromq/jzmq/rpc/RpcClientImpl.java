@@ -0,0 +1,287 @@
+package org.zeromq.jzmq.rpc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.ZMQ;
+import org.zeromq.ZMQException;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.RpcClient;
+import org.zeromq.api.Socket;
+import org.zeromq.api.exception.ZMQExceptions;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RpcClientImpl implements RpcClient {
+    private static final Logger log = LoggerFactory.getLogger(RpcClient.class);
+
+    private static final int WHEEL_SIZE = 512;
+
+    private final Reactor reactor;
+    private final Socket socket;
+    private final long timeout;
+    private final int maxPending;
+
+    /**
+     * Requests waiting for a reply, by request ID.
+     */
+    private final ConcurrentMap<Long, Call> pending = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * New requests, handed to the network thread to be sent and to add their
+     * deadlines to the timer wheel. The network thread is woken through the
+     * wakeup pipe.
+     */
+    private final Queue<Call> submissions = new ConcurrentLinkedQueue<>();
+    private final Pipe wakeup;
+    private final AtomicBoolean wakeupPending = new AtomicBoolean(false);
+
+    /**
+     * Requests the socket could not accept yet, by request ID, retried in
+     * order on every tick. Only the network thread uses the queue and the
+     * wheel, which holds request IDs so completed requests are not kept.
+     */
+    private final Map<Long, Call> unsent = new LinkedHashMap<>();
+    private final TimerWheel<Long> wheel;
+    private final List<Long> expired = new ArrayList<>();
+
+    public RpcClientImpl(ManagedContext context, Socket socket, long timeout, int maxPending, long tickDuration) {
+        this.socket = socket;
+        this.timeout = timeout;
+        this.maxPending = maxPending;
+        this.wheel = new TimerWheel<>(tickDuration, WHEEL_SIZE, System.currentTimeMillis());
+        this.wakeup = openWakeupPipe();
+
+        this.reactor = context.buildReactor()
+            .withInPollable(socket, new ReceiveReply())
+            .withInPollable(wakeup.source(), new Submit())
+            .withTimerFixedRate(tickDuration, Reactor.CatchUp.SKIP, new Tick())
+            .build();
+        reactor.start();
+    }
+
+    private static Pipe openWakeupPipe() {
+        try {
+            Pipe pipe = Pipe.open();
+            pipe.source().configureBlocking(false);
+            return pipe;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to open RPC client wakeup pipe", ex);
+        }
+    }
+
+    @Override
+    public CompletableFuture<Message> request(Message request) {
+        return request(request, timeout);
+    }
+
+    @Override
+    public CompletableFuture<Message> request(Message request, long timeout) {
+        long id = sequence.incrementAndGet();
+
+        // ["", id, "", body...], where the request ID is a second envelope
+        Message message = new Message().addEmptyFrame().addLong(id).addEmptyFrame().addFrames(request);
+        Call call = new Call(id, System.currentTimeMillis() + timeout, message);
+        if (closed) {
+            call.completeExceptionally(new IllegalStateException("Client is closed"));
+            return call;
+        }
+        if (pending.size() >= maxPending) {
+            call.completeExceptionally(new RejectedExecutionException("Too many requests in flight"));
+            return call;
+        }
+
+        pending.put(id, call);
+        submissions.offer(call);
+        wakeup();
+        return call;
+    }
+
+    private void wakeup() {
+        // Coalesce wakeups, only one byte is ever outstanding in the pipe
+        if (wakeupPending.compareAndSet(false, true)) {
+            try {
+                wakeup.sink().write(ByteBuffer.wrap(new byte[] { 0 }));
+            } catch (IOException ex) {
+                log.warn("Unable to wake up RPC client", ex);
+            }
+        }
+    }
+
+    @Override
+    public int getPending() {
+        return pending.size();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        reactor.stop();
+        socket.close();
+        try {
+            wakeup.sink().close();
+            wakeup.source().close();
+        } catch (IOException ignored) {
+        }
+
+        for (Call call : pending.values()) {
+            if (pending.remove(call.id, call)) {
+                call.completeExceptionally(new IllegalStateException("Client is closed"));
+            }
+        }
+    }
+
+    private class ReceiveReply implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            Message reply = pollable.getSocket().receiveMessage();
+            if (reply == null || reply.size() < 3) {
+                return;
+            }
+
+            reply.popFrame();
+            long id = reply.popLong();
+            reply.popFrame();
+
+            // a late reply, to a request which timed out or was cancelled, is dropped
+            Call call = pending.remove(id);
+            if (call != null) {
+                call.complete(reply);
+            }
+        }
+    }
+
+    /**
+     * Take new requests from other threads, and send as many queued requests
+     * as the socket accepts without blocking.
+     */
+    private void flush() {
+        Call call;
+        while ((call = submissions.poll()) != null) {
+            if (!call.isDone()) {
+                wheel.add(call.id, call.deadline);
+                unsent.put(call.id, call);
+            }
+        }
+
+        Iterator<Call> it = unsent.values().iterator();
+        while (it.hasNext()) {
+            call = it.next();
+            if (!call.isDone()) {
+                if (!send(call.message)) {
+                    break;
+                }
+                call.message = null;
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * Send a message without blocking the network thread.
+     *
+     * @return true if the message was sent, false if the socket is full
+     */
+    private boolean send(Message message) {
+        List<Frame> frames = message.getFrames();
+        int last = frames.size() - 1;
+        try {
+            if (!socket.getZMQSocket().send(frames.get(0).getData(), ZMQ.DONTWAIT | ZMQ.SNDMORE)) {
+                return false;
+            }
+        } catch (ZMQException ex) {
+            throw ZMQExceptions.wrap(ex);
+        }
+
+        // once the first frame is queued, the rest of the message is too
+        for (int i = 1; i <= last; i++) {
+            socket.send(frames.get(i).getData(), i < last ? MessageFlag.SEND_MORE : MessageFlag.NONE);
+        }
+        return true;
+    }
+
+    /**
+     * Drains the wakeup pipe and sends new requests.
+     */
+    private class Submit implements LoopHandler {
+        private final ByteBuffer buffer = ByteBuffer.allocate(64);
+
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            try {
+                while (wakeup.source().read(buffer) > 0) {
+                    buffer.clear();
+                }
+            } catch (IOException ex) {
+                log.warn("Unable to read RPC client wakeup pipe", ex);
+            }
+
+            // Clear flag before draining, so later requests trigger a new wakeup
+            wakeupPending.set(false);
+            flush();
+        }
+    }
+
+    private class Tick implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            flush();
+
+            wheel.advance(System.currentTimeMillis(), expired);
+            for (Long id : expired) {
+                // a request which was never sent is dropped with its deadline
+                unsent.remove(id);
+                Call call = pending.remove(id);
+                if (call != null) {
+                    call.completeExceptionally(new TimeoutException("Request " + id + " timed out"));
+                }
+            }
+            expired.clear();
+        }
+    }
+
+    private class Call extends CompletableFuture<Message> {
+        private final long id;
+        private final long deadline;
+        private Message message;
+
+        public Call(long id, long deadline, Message message) {
+            this.id = id;
+            this.deadline = deadline;
+            this.message = message;
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                pending.remove(id, this);
+            }
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.zeromq.jzmq.rpc;
+
+import org.zeromq.api.Message;
+import org.zeromq.api.RpcServer;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.function.Function;
+
+public class RpcServerBuilder {
+    public class Spec {
+        public int workers = Runtime.getRuntime().availableProcessors();
+        public int queueSize = RpcServer.QUEUE_SIZE;
+        public Function<Message, Message> handler;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public RpcServerBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Set the number of worker threads. By default, there is one worker
+     * per available processor.
+     *
+     * @param workers The number of workers
+     * @return This builder object
+     */
+    public RpcServerBuilder withWorkers(int workers) {
+        if (workers < 1) {
+            throw new IllegalArgumentException("workers must be positive");
+        }
+        spec.workers = workers;
+        return this;
+    }
+
+    /**
+     * Set the number of requests each worker may have queued or in
+     * progress. Once every worker is full, requests wait in the frontend
+     * socket. The sockets between the dispatcher and the workers are sized
+     * to hold a full queue, so no request is dropped on the way.
+     *
+     * @param queueSize The queue size per worker, or 0 for unbounded
+     * @return This builder object
+     */
+    public RpcServerBuilder withQueueSize(int queueSize) {
+        if (queueSize < 0) {
+            throw new IllegalArgumentException("queueSize cannot be negative");
+        }
+        spec.queueSize = queueSize;
+        return this;
+    }
+
+    /**
+     * Set the function which handles each request, on a worker thread. A
+     * null reply, or an exception, drops the request.
+     *
+     * @param handler The request handler
+     * @return This builder object
+     */
+    public RpcServerBuilder withHandler(Function<Message, Message> handler) {
+        spec.handler = handler;
+        return this;
+    }
+
+    /**
+     * Bind the frontend to one or more urls, and start the server.
+     *
+     * @param url The url to bind to
+     * @param additionalUrls Any other urls to bind to
+     * @return A new, started RpcServer
+     */
+    public RpcServer bind(String url, String... additionalUrls) {
+        assert spec.handler != null;
+
+        Socket frontend = context.buildSocket(SocketType.ROUTER)
+            .bind(url, additionalUrls);
+        RpcServer server = new RpcServerImpl(context, frontend, spec.workers, spec.queueSize, spec.handler);
+        server.start();
+
+        return server;
+    }
+}
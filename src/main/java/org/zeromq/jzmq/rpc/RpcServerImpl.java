@@ -0,0 +1,242 @@
+package org.zeromq.jzmq.rpc;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.LoopHandler;
+import org.zeromq.api.Message;
+import org.zeromq.api.MessageFlag;
+import org.zeromq.api.Pollable;
+import org.zeromq.api.PollerType;
+import org.zeromq.api.Reactor;
+import org.zeromq.api.RoutedMessage;
+import org.zeromq.api.RoutedMessage.Route;
+import org.zeromq.api.RpcServer;
+import org.zeromq.api.Socket;
+import org.zeromq.api.SocketType;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class RpcServerImpl implements RpcServer {
+    private static final Logger log = LoggerFactory.getLogger(RpcServer.class);
+
+    /**
+     * Signals from a worker: ready for requests, and finished a request
+     * without a reply.
+     */
+    private static final byte[] READY = new byte[] { 1 };
+    private static final byte[] DONE = new byte[] { 2 };
+
+    private final Reactor reactor;
+    private final Socket frontend;
+    private final Socket backend;
+    private final Pollable frontendPollable;
+    private final int queueSize;
+    private final List<Reactor> workerReactors = new ArrayList<>();
+
+    /**
+     * Workers which have announced themselves, by address. Only used by the
+     * dispatcher thread.
+     */
+    private final Map<Route, Worker> workers = new LinkedHashMap<>();
+    private final LoopHandler frontendHandler = new FrontendHandler();
+    private boolean frontendEnabled;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong replied = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public RpcServerImpl(ManagedContext context, Socket frontend, int workerCount, int queueSize, Function<Message, Message> handler) {
+        String backendUrl = String.format("inproc://rpc-server-%d", System.identityHashCode(this));
+
+        // a ROUTER drops messages for a full peer, so each pipe to a worker
+        // holds a full queue and the READY signal, or is unbounded like it
+        int hwm = queueSize == 0 ? 0 : queueSize + 1;
+        this.frontend = frontend;
+        this.backend = context.buildSocket(SocketType.ROUTER)
+            .withSendHighWatermark(hwm)
+            .withReceiveHighWatermark(hwm)
+            .bind(backendUrl);
+        this.frontendPollable = context.newPollable(frontend, PollerType.POLL_IN);
+        this.queueSize = queueSize;
+
+        this.reactor = context.buildReactor()
+            .withInPollable(backend, new BackendHandler())
+            .build();
+
+        for (int i = 0; i < workerCount; i++) {
+            Socket socket = context.buildSocket(SocketType.DEALER)
+                .withSendHighWatermark(hwm)
+                .withReceiveHighWatermark(hwm)
+                .connect(backendUrl);
+            socket.send(new Message().addEmptyFrame().addBytes(READY));
+            workerReactors.add(context.buildReactor()
+                .withInPollable(socket, new WorkerHandler(handler))
+                .build());
+        }
+    }
+
+    @Override
+    public void start() {
+        reactor.start();
+        for (Reactor workerReactor : workerReactors) {
+            workerReactor.start();
+        }
+    }
+
+    @Override
+    public void stop() {
+        reactor.stop();
+        for (Reactor workerReactor : workerReactors) {
+            workerReactor.stop();
+        }
+    }
+
+    @Override
+    public long getReceived() {
+        return received.get();
+    }
+
+    @Override
+    public long getReplied() {
+        return replied.get();
+    }
+
+    @Override
+    public long getFailed() {
+        return failed.get();
+    }
+
+    @Override
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return The worker with the fewest requests, or null if every worker's queue is full
+     */
+    private Worker leastLoaded() {
+        Worker leastLoaded = null;
+        for (Worker worker : workers.values()) {
+            if ((queueSize == 0 || worker.load < queueSize)
+                    && (leastLoaded == null || worker.load < leastLoaded.load)) {
+                leastLoaded = worker;
+            }
+        }
+        return leastLoaded;
+    }
+
+    /**
+     * Only poll the frontend while some worker can take a request, so
+     * requests wait in the frontend socket rather than being read with
+     * nowhere to go.
+     */
+    private void updateFrontend() {
+        boolean available = leastLoaded() != null;
+        if (available && !frontendEnabled) {
+            reactor.addPollable(frontendPollable, frontendHandler);
+        } else if (!available && frontendEnabled) {
+            reactor.cancel(frontendHandler);
+        }
+        frontendEnabled = available;
+    }
+
+    private class FrontendHandler implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            Worker worker;
+            Message request;
+            while ((worker = leastLoaded()) != null && (request = pollable.getSocket().receiveMessage(MessageFlag.DONT_WAIT)) != null) {
+                worker.load++;
+                inFlight.incrementAndGet();
+                received.incrementAndGet();
+                backend.send(new RoutedMessage(worker.route, request));
+            }
+            updateFrontend();
+        }
+    }
+
+    private class BackendHandler implements LoopHandler {
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            RoutedMessage message = pollable.getSocket().receiveRoutedMessage();
+            if (message == null || message.getRoutes().isEmpty()) {
+                return;
+            }
+
+            Route route = message.unwrap();
+            Worker worker = workers.get(route);
+            if (worker == null) {
+                if (message.size() == 1 && Arrays.equals(READY, message.getFirstFrame().getData())) {
+                    workers.put(route, new Worker(route));
+                    updateFrontend();
+                } else {
+                    log.warn("Message from unknown worker {}", route);
+                }
+                return;
+            }
+
+            worker.load--;
+            inFlight.decrementAndGet();
+            if (message.size() != 1 || !Arrays.equals(DONE, message.getFirstFrame().getData())) {
+                frontend.send(message);
+                replied.incrementAndGet();
+            }
+            updateFrontend();
+        }
+    }
+
+    private class WorkerHandler implements LoopHandler {
+        private final Function<Message, Message> handler;
+
+        public WorkerHandler(Function<Message, Message> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void execute(Reactor reactor, Pollable pollable) {
+            Socket socket = pollable.getSocket();
+            Message message = socket.receiveMessage(MessageFlag.DONT_WAIT);
+            if (message == null || message.size() < 2) {
+                return;
+            }
+
+            // ["", envelope..., body...]
+            message.popFrame();
+            RoutedMessage request = new RoutedMessage();
+            request.addFrames(message);
+
+            Message reply;
+            try {
+                reply = handler.apply(request.getPayload());
+            } catch (RuntimeException ex) {
+                log.warn("Request handler failed, dropping request", ex);
+                failed.incrementAndGet();
+                reply = null;
+            }
+
+            if (reply == null) {
+                socket.send(new Message().addEmptyFrame().addBytes(DONE));
+            } else {
+                socket.send(new Message().addEmptyFrame().addFrames(new RoutedMessage(request.getRoutes(), reply)));
+            }
+        }
+    }
+
+    private static class Worker {
+        private final Route route;
+        private int load;
+
+        public Worker(Route route) {
+            this.route = route;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package org.zeromq.jzmq.rpc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hashed timer wheel, which holds a large number of deadlines at a fixed
+ * resolution. Adding a deadline and expiring one are constant time, and
+ * deadlines more than one turn of the wheel away stay in their slot until
+ * the turn in which they are due. Not thread-safe.
+ *
+ * @param <T> The type of items with deadlines
+ */
+class TimerWheel<T> {
+    private final long tickDuration;
+    private final List<List<Entry<T>>> slots;
+    private long currentTick;
+
+    /**
+     * @param tickDuration The resolution of the wheel, in milliseconds
+     * @param size The number of slots in the wheel
+     * @param now The current time, in milliseconds
+     */
+    TimerWheel(long tickDuration, int size, long now) {
+        this.tickDuration = tickDuration;
+        this.slots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            slots.add(new ArrayList<Entry<T>>());
+        }
+        this.currentTick = now / tickDuration;
+    }
+
+    /**
+     * Add an item, which expires at the first tick at or after its
+     * deadline.
+     *
+     * @param item The item
+     * @param deadline The deadline, in milliseconds
+     */
+    void add(T item, long deadline) {
+        long tick = Math.max((deadline + tickDuration - 1) / tickDuration, currentTick + 1);
+        slots.get((int) (tick % slots.size())).add(new Entry<>(item, tick));
+    }
+
+    /**
+     * Advance the wheel to the current time.
+     *
+     * @param now The current time, in milliseconds
+     * @param expired The collection to add expired items to
+     */
+    void advance(long now, Collection<T> expired) {
+        long target = now / tickDuration;
+
+        // after a long pause, visit each slot once rather than every tick
+        long steps = Math.min(target - currentTick, slots.size());
+        for (long i = 1; i <= steps; i++) {
+            List<Entry<T>> slot = slots.get((int) ((currentTick + i) % slots.size()));
+            for (int j = slot.size() - 1; j >= 0; j--) {
+                Entry<T> entry = slot.get(j);
+                if (entry.tick <= target) {
+                    expired.add(entry.item);
+
+                    // order within a slot does not matter, so swap-remove
+                    slot.set(j, slot.get(slot.size() - 1));
+                    slot.remove(slot.size() - 1);
+                }
+            }
+        }
+        currentTick = Math.max(currentTick, target);
+    }
+
+    private static class Entry<T> {
+        private final T item;
+        private final long tick;
+
+        public Entry(T item, long tick) {
+            this.item = item;
+            this.tick = tick;
+        }
+    }
+}
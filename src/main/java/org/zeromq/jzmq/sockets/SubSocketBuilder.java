@@ -31,9 +31,6 @@ public class SubSocketBuilder extends SocketBuilder implements Subscribable {
 
     @Override
     public Socket connect(String url, String... additionalUrls) {
-        if (subscriptions.isEmpty()) {
-            throw new IllegalStateException("You must have a SUB socket subscribe to something before you can connect it.");
-        }
         ZMQ.Socket socket = createConnectableSocketWithStandardSettings();
         for (byte[] subscription : subscriptions) {
             socket.subscribe(subscription);
@@ -44,9 +41,6 @@ public class SubSocketBuilder extends SocketBuilder implements Subscribable {
     
     @Override
     public Socket bind(String url, String... additionalUrls) {
-        if (subscriptions.isEmpty()) {
-            throw new IllegalStateException("You must have a SUB socket subscribe to something before you can bind it.");
-        }
         ZMQ.Socket socket = createConnectableSocketWithStandardSettings();
         for (byte[] subscription : subscriptions) {
             socket.subscribe(subscription);
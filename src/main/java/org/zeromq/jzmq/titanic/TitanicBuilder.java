@@ -0,0 +1,123 @@
+package org.zeromq.jzmq.titanic;
+
+import org.zeromq.api.MajordomoBroker;
+import org.zeromq.api.Titanic;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.io.File;
+
+public class TitanicBuilder {
+    public class Spec {
+        public String broker;
+        public File directory;
+        public long fileSize = Titanic.FILE_SIZE;
+        public int timeout = Titanic.TIMEOUT;
+        public long retryInterval = Titanic.RETRY_INTERVAL;
+        public long heartbeatInterval = MajordomoBroker.HEARTBEAT_INTERVAL;
+        public int requestWorkers = Titanic.REQUEST_WORKERS;
+    }
+
+    private ManagedContext context;
+    private Spec spec = new Spec();
+
+    public TitanicBuilder(ManagedContext context) {
+        this.context = context;
+    }
+
+    public TitanicBuilder withBrokerUrl(String broker) {
+        spec.broker = broker;
+        return this;
+    }
+
+    /**
+     * Set the directory holding the journal files of the request store.
+     * Open requests in existing journals are recovered.
+     *
+     * @param directory The store directory
+     * @return This builder object
+     */
+    public TitanicBuilder withDirectory(File directory) {
+        spec.directory = directory;
+        return this;
+    }
+
+    /**
+     * Set the size at which journal files are rolled, in bytes.
+     *
+     * @param fileSize The journal file size
+     * @return This builder object
+     */
+    public TitanicBuilder withFileSize(long fileSize) {
+        if (fileSize < 1) {
+            throw new IllegalArgumentException("fileSize must be positive");
+        }
+        spec.fileSize = fileSize;
+        return this;
+    }
+
+    /**
+     * Set how long to wait for a service to reply to a dispatched request.
+     *
+     * @param timeout The reply timeout, in milliseconds
+     * @return This builder object
+     */
+    public TitanicBuilder withTimeout(int timeout) {
+        spec.timeout = timeout;
+        return this;
+    }
+
+    /**
+     * Set how long to wait before dispatching requests again, when their
+     * service is unavailable or did not reply.
+     *
+     * @param retryInterval The retry interval, in milliseconds
+     * @return This builder object
+     */
+    public TitanicBuilder withRetryInterval(long retryInterval) {
+        spec.retryInterval = retryInterval;
+        return this;
+    }
+
+    /**
+     * Set the heartbeat interval of the Titanic services, which must match
+     * the broker's.
+     *
+     * @param heartbeatInterval The heartbeat interval, in milliseconds
+     * @return This builder object
+     */
+    public TitanicBuilder withHeartbeatInterval(long heartbeatInterval) {
+        spec.heartbeatInterval = heartbeatInterval;
+        return this;
+    }
+
+    /**
+     * Set the number of workers of the request service. Requests stored by
+     * different workers at the same time are forced to disk together, so
+     * more workers allow more requests per fsync.
+     *
+     * @param requestWorkers The number of request workers
+     * @return This builder object
+     */
+    public TitanicBuilder withRequestWorkers(int requestWorkers) {
+        if (requestWorkers < 1) {
+            throw new IllegalArgumentException("requestWorkers must be positive");
+        }
+        spec.requestWorkers = requestWorkers;
+        return this;
+    }
+
+    public Titanic build() {
+        assert spec.broker != null;
+        assert spec.directory != null;
+
+        return new TitanicImpl(context, spec.broker, spec.directory, spec.fileSize, spec.timeout,
+            spec.retryInterval, spec.heartbeatInterval, spec.requestWorkers);
+    }
+
+    public Titanic start() {
+        Titanic titanic = build();
+        titanic.start();
+
+        return titanic;
+    }
+}
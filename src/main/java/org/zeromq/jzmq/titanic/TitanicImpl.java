@@ -0,0 +1,244 @@
+package org.zeromq.jzmq.titanic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.MajordomoClient;
+import org.zeromq.api.MajordomoWorker;
+import org.zeromq.api.Message;
+import org.zeromq.api.Titanic;
+import org.zeromq.api.exception.ContextTerminatedException;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.io.File;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+public class TitanicImpl implements Titanic, Runnable {
+    private static final Logger log = LoggerFactory.getLogger(Titanic.class);
+
+    private static final String MMI_SERVICE = "mmi.service";
+
+    private final ManagedContext context;
+    private final String brokerUrl;
+    private final int timeout;
+    private final long retryInterval;
+    private final TitanicStore store;
+    private final List<MajordomoWorker> requestWorkers = new ArrayList<>();
+    private final MajordomoWorker replyWorker;
+    private final MajordomoWorker closeWorker;
+    private final Thread thread = new Thread(this);
+    private volatile boolean running;
+
+    /**
+     * Requests waiting to be dispatched, fed by the request service.
+     */
+    private final BlockingQueue<UUID> queue = new LinkedBlockingQueue<>();
+
+    /**
+     * Requests whose service was unavailable, retried together after the
+     * retry interval. Only used by the dispatcher thread.
+     */
+    private final Queue<UUID> deferred = new ArrayDeque<>();
+    private final Set<String> unavailable = new HashSet<>();
+    private long retryAt;
+    private MajordomoClient client;
+
+    public TitanicImpl(ManagedContext context, String brokerUrl, File directory, long fileSize, int timeout, long retryInterval, long heartbeatInterval, int requestWorkers) {
+        this.context = context;
+        this.brokerUrl = brokerUrl;
+        this.timeout = timeout;
+        this.retryInterval = retryInterval;
+        this.store = new TitanicStore(directory, fileSize);
+
+        // each request worker waits for its own fsync, so concurrent
+        // requests are only committed together by separate workers
+        for (int i = 0; i < requestWorkers; i++) {
+            this.requestWorkers.add(newWorker(REQUEST, new RequestService(), heartbeatInterval));
+        }
+        this.replyWorker = newWorker(REPLY, new ReplyService(), heartbeatInterval);
+        this.closeWorker = newWorker(CLOSE, new CloseService(), heartbeatInterval);
+    }
+
+    private MajordomoWorker newWorker(String service, Function<Message, Message> handler, long heartbeatInterval) {
+        return context.buildMajordomoWorker()
+            .withBrokerUrl(brokerUrl)
+            .withService(service)
+            .withHandler(handler)
+            .withHeartbeatInterval(heartbeatInterval)
+            .build();
+    }
+
+    @Override
+    public void start() {
+        // requests left over from a previous run are dispatched first
+        queue.addAll(store.getPending());
+
+        running = true;
+        thread.start();
+        for (MajordomoWorker requestWorker : requestWorkers) {
+            requestWorker.start();
+        }
+        replyWorker.start();
+        closeWorker.start();
+    }
+
+    @Override
+    public void stop() {
+        for (MajordomoWorker requestWorker : requestWorkers) {
+            requestWorker.stop();
+        }
+        replyWorker.stop();
+        closeWorker.stop();
+
+        running = false;
+        try {
+            thread.join();
+        } catch (InterruptedException ignored) {
+        }
+        store.close();
+    }
+
+    @Override
+    public void run() {
+        client = newClient();
+        try {
+            while (running) {
+                long wait = deferred.isEmpty() ? retryInterval : Math.max(0, retryAt - System.currentTimeMillis());
+                UUID uuid = queue.poll(wait, TimeUnit.MILLISECONDS);
+                if (uuid != null) {
+                    dispatch(uuid);
+                }
+
+                if (!deferred.isEmpty() && System.currentTimeMillis() >= retryAt) {
+                    queue.addAll(deferred);
+                    deferred.clear();
+                    unavailable.clear();
+                }
+            }
+        } catch (InterruptedException | ContextTerminatedException ignored) {
+        } finally {
+            client.close();
+        }
+    }
+
+    private MajordomoClient newClient() {
+        return context.buildMajordomoClient()
+            .withBrokerUrl(brokerUrl)
+            .withTimeout(timeout)
+            .build();
+    }
+
+    /**
+     * Send a stored request to its service, and store the reply.
+     */
+    private void dispatch(UUID uuid) {
+        Message request = store.getRequest(uuid);
+        if (request == null) {
+            // closed before it was dispatched
+            return;
+        }
+
+        String service = request.popString();
+        if (unavailable.contains(service)) {
+            defer(uuid);
+            return;
+        }
+
+        Message status = client.request(MMI_SERVICE, new Message(service));
+        if (status == null || !OK.equals(status.popString())) {
+            if (status == null) {
+                resetClient();
+            }
+            unavailable.add(service);
+            defer(uuid);
+            return;
+        }
+
+        Message reply = client.request(service, request);
+        if (reply == null) {
+            log.warn("Request {} to service {} timed out", uuid, service);
+            resetClient();
+            defer(uuid);
+            return;
+        }
+        store.storeReply(uuid, reply);
+    }
+
+    private void defer(UUID uuid) {
+        if (deferred.isEmpty()) {
+            retryAt = System.currentTimeMillis() + retryInterval;
+        }
+        deferred.add(uuid);
+    }
+
+    /**
+     * Replace the client after a timeout, so a late reply to the abandoned
+     * request cannot be taken for the reply to the next one.
+     */
+    private void resetClient() {
+        client.close();
+        client = newClient();
+    }
+
+    private static UUID parse(Message request) {
+        try {
+            return request.isEmpty() ? null : UUID.fromString(request.popString());
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    private class RequestService implements Function<Message, Message> {
+        @Override
+        public Message apply(Message request) {
+            if (request.isEmpty()) {
+                return new Message(UNKNOWN);
+            }
+
+            UUID uuid;
+            try {
+                uuid = store.storeRequest(request);
+            } catch (UncheckedIOException ex) {
+                log.error("Unable to store request", ex);
+                return new Message(FAILED);
+            }
+
+            queue.add(uuid);
+            return new Message(OK).addString(uuid.toString());
+        }
+    }
+
+    private class ReplyService implements Function<Message, Message> {
+        @Override
+        public Message apply(Message request) {
+            UUID uuid = parse(request);
+            if (uuid == null || !store.contains(uuid)) {
+                return new Message(UNKNOWN);
+            }
+
+            Message reply = store.getReply(uuid);
+            return reply == null ? new Message(PENDING) : new Message(OK).addFrames(reply);
+        }
+    }
+
+    private class CloseService implements Function<Message, Message> {
+        @Override
+        public Message apply(Message request) {
+            UUID uuid = parse(request);
+            if (uuid != null) {
+                store.close(uuid);
+            }
+            return new Message(OK);
+        }
+    }
+}
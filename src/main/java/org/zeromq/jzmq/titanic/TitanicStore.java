@@ -0,0 +1,505 @@
+package org.zeromq.jzmq.titanic;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.zeromq.api.Message;
+import org.zeromq.api.Message.Frame;
+import org.zeromq.api.Message.FrameBuilder;
+import org.zeromq.api.Titanic;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent store of Titanic requests and replies, in append-only journal
+ * files indexed in memory by UUID.
+ * <p>
+ * Each record is an int length and an int checksum, followed by a frame
+ * built with {@link FrameBuilder} holding the record type, the UUID and the
+ * frames of a message. Writers append under a lock and then wait for an
+ * fsync covering their record, so the request workers, the dispatcher and
+ * the close service share an fsync when they write at the same time. Journals are rolled when
+ * full. A journal is deleted once every request and reply it holds has been
+ * closed, and no older journal still holds a request one of its closes
+ * cancels, so closed requests are not recovered again.
+ */
+class TitanicStore implements Closeable {
+    private static final Logger log = LoggerFactory.getLogger(Titanic.class);
+
+    private static final String SUFFIX = ".journal";
+    private static final int HEADER_SIZE = 8;
+
+    private static final byte REQUEST = 1;
+    private static final byte REPLY = 2;
+    private static final byte CLOSE = 3;
+
+    private final File directory;
+    private final long fileSize;
+
+    /**
+     * Open requests, in the order they were stored.
+     */
+    private final Map<UUID, Entry> entries = new LinkedHashMap<>();
+    private final List<Journal> journals = new ArrayList<>();
+    private Journal active;
+
+    /**
+     * Bytes appended and bytes known to be on disk, across all journals.
+     */
+    private long written;
+    private final Object syncLock = new Object();
+    private long synced;
+
+    TitanicStore(File directory, long fileSize) {
+        this.directory = directory;
+        this.fileSize = fileSize;
+
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new UncheckedIOException(new IOException("Unable to create store directory " + directory));
+        }
+
+        File[] files = directory.listFiles(new FilenameFilter() {
+            @Override
+            public boolean accept(File dir, String name) {
+                return name.endsWith(SUFFIX);
+            }
+        });
+        Arrays.sort(files);
+        for (File file : files) {
+            String name = file.getName();
+            Journal journal = new Journal(Long.parseLong(name.substring(0, name.length() - SUFFIX.length())), file);
+            journals.add(journal);
+            recover(journal);
+        }
+
+        if (journals.isEmpty()) {
+            active = new Journal(0, journalFile(0));
+            journals.add(active);
+        } else {
+            active = journals.get(journals.size() - 1);
+        }
+
+        // journals whose requests were all closed before the last shutdown
+        for (Journal journal : new ArrayList<>(journals)) {
+            collect(journal);
+        }
+    }
+
+    /**
+     * Store a new request, and wait until it is on disk.
+     *
+     * @param request The service name, followed by the request body
+     * @return The UUID of the request
+     */
+    UUID storeRequest(Message request) {
+        UUID uuid = UUID.randomUUID();
+        long end;
+        synchronized (this) {
+            Entry entry = new Entry();
+            entry.request = append(REQUEST, uuid, request);
+            entries.put(uuid, entry);
+            end = written;
+        }
+        commit(end);
+        return uuid;
+    }
+
+    /**
+     * Store the reply to a request, and wait until it is on disk. The reply
+     * is discarded if the request has been closed.
+     *
+     * @param uuid The UUID of the request
+     * @param reply The reply body
+     */
+    void storeReply(UUID uuid, Message reply) {
+        long end;
+        synchronized (this) {
+            Entry entry = entries.get(uuid);
+            if (entry == null || entry.reply != null) {
+                return;
+            }
+            entry.reply = append(REPLY, uuid, reply);
+            end = written;
+        }
+        commit(end);
+    }
+
+    /**
+     * Discard a request and its reply.
+     *
+     * @param uuid The UUID of the request
+     */
+    void close(UUID uuid) {
+        long end;
+        synchronized (this) {
+            Entry entry = entries.get(uuid);
+            if (entry == null) {
+                return;
+            }
+            Location location = append(CLOSE, uuid, new Message());
+            end = written;
+            remove(uuid, location.journal);
+        }
+        commit(end);
+    }
+
+    /**
+     * @return true if the request is open, false otherwise
+     */
+    synchronized boolean contains(UUID uuid) {
+        return entries.containsKey(uuid);
+    }
+
+    /**
+     * @return The service name and request body, or null if the request is not open
+     */
+    synchronized Message getRequest(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        return entry == null ? null : entry.request.read();
+    }
+
+    /**
+     * @return The reply body, or null if there is no reply yet
+     */
+    synchronized Message getReply(UUID uuid) {
+        Entry entry = entries.get(uuid);
+        return entry == null || entry.reply == null ? null : entry.reply.read();
+    }
+
+    /**
+     * @return The open requests which have no reply yet, in the order they were stored
+     */
+    synchronized List<UUID> getPending() {
+        List<UUID> pending = new ArrayList<>();
+        for (Map.Entry<UUID, Entry> entry : entries.entrySet()) {
+            if (entry.getValue().reply == null) {
+                pending.add(entry.getKey());
+            }
+        }
+        return pending;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Journal journal : journals) {
+            journal.close();
+        }
+    }
+
+    private File journalFile(long id) {
+        return new File(directory, String.format("%020d%s", id, SUFFIX));
+    }
+
+    private Location append(byte type, UUID uuid, Message message) {
+        int size = 1 + 8 + 8 + 4;
+        for (Frame frame : message) {
+            size += 4 + frame.getData().length;
+        }
+
+        FrameBuilder builder = new FrameBuilder(size)
+            .putByte(type)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .putInt(message.size());
+        for (Frame frame : message) {
+            builder.putBlob(frame.getData());
+        }
+        byte[] body = builder.build().getData();
+
+        if (active.size > 0 && active.size + HEADER_SIZE + body.length > fileSize) {
+            roll();
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(body.length).putInt((int) crc.getValue()).flip();
+
+        Location location = new Location(active, active.size);
+        active.write(header, ByteBuffer.wrap(body));
+        if (type != CLOSE) {
+            active.live++;
+        }
+        written += HEADER_SIZE + body.length;
+        return location;
+    }
+
+    /**
+     * Start a new journal. The old journal is forced to disk first, so
+     * forcing the active journal always covers every earlier write.
+     */
+    private void roll() {
+        Journal journal = active;
+        journal.force();
+        active = new Journal(journal.id + 1, journalFile(journal.id + 1));
+        journals.add(active);
+        collect(journal);
+    }
+
+    /**
+     * Discard a request closed by a record in the given journal. While the
+     * journal holding the request exists, the journal holding the close must
+     * be kept too, or the request would be recovered again.
+     */
+    private void remove(UUID uuid, Journal closedIn) {
+        Entry entry = entries.remove(uuid);
+        Journal journal = entry.request.journal;
+        if (journal != closedIn) {
+            closedIn.closes++;
+            journal.dependents.add(closedIn);
+        }
+
+        journal.live--;
+        collect(journal);
+        if (entry.reply != null) {
+            entry.reply.journal.live--;
+            collect(entry.reply.journal);
+        }
+    }
+
+    /**
+     * Delete a journal which holds nothing that is still needed, followed by
+     * the journals which were only kept for it.
+     */
+    private void collect(Journal journal) {
+        // while recovering, there is no active journal yet and empty
+        // journals are deleted once all of them have been read
+        if (active == null || journal == active || journal.live > 0 || journal.closes > 0) {
+            return;
+        }
+
+        // a journal may be reached again once it has been deleted
+        if (!journals.remove(journal)) {
+            return;
+        }
+        journal.delete();
+        for (Journal dependent : journal.dependents) {
+            dependent.closes--;
+            collect(dependent);
+        }
+    }
+
+    /**
+     * Wait until the journals are on disk up to the given point, forcing
+     * them if no other writer has done so already.
+     */
+    private void commit(long end) {
+        synchronized (syncLock) {
+            if (synced >= end) {
+                return;
+            }
+
+            long target;
+            Journal journal;
+            synchronized (this) {
+                target = written;
+                journal = active;
+            }
+            journal.force();
+            synced = target;
+        }
+    }
+
+    /**
+     * Index the records of a journal, truncating a torn record at the end.
+     */
+    private void recover(Journal journal) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        while (true) {
+            header.clear();
+            if (!journal.read(header, journal.size)) {
+                break;
+            }
+            header.flip();
+            int length = header.getInt();
+            int checksum = header.getInt();
+            if (length <= 0 || journal.size + HEADER_SIZE + length > journal.length()) {
+                break;
+            }
+
+            ByteBuffer body = ByteBuffer.allocate(length);
+            journal.read(body, journal.size + HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            crc.update(body.array());
+            if ((int) crc.getValue() != checksum) {
+                break;
+            }
+
+            Frame frame = new Frame(body.array());
+            byte type = frame.getByte();
+            UUID uuid = new UUID(frame.getLong(), frame.getLong());
+            Location location = new Location(journal, journal.size);
+            if (type == REQUEST) {
+                Entry entry = new Entry();
+                entry.request = location;
+                entries.put(uuid, entry);
+                journal.live++;
+            } else if (type == REPLY && entries.containsKey(uuid)) {
+                entries.get(uuid).reply = location;
+                journal.live++;
+            } else if (type == CLOSE && entries.containsKey(uuid)) {
+                remove(uuid, journal);
+            }
+            journal.size += HEADER_SIZE + length;
+        }
+
+        if (journal.size < journal.length()) {
+            log.warn("Truncating journal {} at {}", journal.file, journal.size);
+            journal.truncate();
+        }
+        written += journal.size;
+        synced = written;
+    }
+
+    private static class Entry {
+        private Location request;
+        private Location reply;
+    }
+
+    private static class Location {
+        private final Journal journal;
+        private final long position;
+
+        public Location(Journal journal, long position) {
+            this.journal = journal;
+            this.position = position;
+        }
+
+        /**
+         * Decode the message in the record at this location.
+         */
+        public Message read() {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            journal.read(header, position);
+            ByteBuffer body = ByteBuffer.allocate(header.getInt(0));
+            journal.read(body, position + HEADER_SIZE);
+
+            Frame frame = new Frame(body.array());
+            frame.getByte();
+            frame.getLong();
+            frame.getLong();
+            Message message = new Message();
+            for (int i = frame.getInt(); i > 0; i--) {
+                message.addBytes(frame.getBlob());
+            }
+            return message;
+        }
+    }
+
+    private static class Journal {
+        private final long id;
+        private final File file;
+        private final FileChannel channel;
+        private long size;
+
+        /**
+         * Requests and replies which have not been closed.
+         */
+        private int live;
+
+        /**
+         * Closes of requests held by older journals which still exist.
+         */
+        private int closes;
+
+        /**
+         * Journals holding closes of requests in this journal.
+         */
+        private final List<Journal> dependents = new ArrayList<>();
+
+        public Journal(long id, File file) {
+            this.id = id;
+            this.file = file;
+            try {
+                this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to open journal " + file, ex);
+            }
+        }
+
+        public long length() {
+            try {
+                return channel.size();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        /**
+         * Read until the buffer is full.
+         *
+         * @return true if the buffer was filled, false at the end of the journal
+         */
+        public boolean read(ByteBuffer buffer, long position) {
+            try {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) {
+                        return false;
+                    }
+                }
+                return true;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to read journal " + file, ex);
+            }
+        }
+
+        public void write(ByteBuffer header, ByteBuffer body) {
+            try {
+                long position = size;
+                while (header.hasRemaining()) {
+                    position += channel.write(header, position);
+                }
+                while (body.hasRemaining()) {
+                    position += channel.write(body, position);
+                }
+                size = position;
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to write journal " + file, ex);
+            }
+        }
+
+        public void force() {
+            try {
+                channel.force(false);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to sync journal " + file, ex);
+            }
+        }
+
+        public void truncate() {
+            try {
+                channel.truncate(size);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to truncate journal " + file, ex);
+            }
+        }
+
+        public void close() {
+            try {
+                channel.close();
+            } catch (IOException ex) {
+                log.warn("Unable to close journal {}", file, ex);
+            }
+        }
+
+        public void delete() {
+            close();
+            if (!file.delete()) {
+                log.warn("Unable to delete journal {}", file);
+            }
+        }
+    }
+}
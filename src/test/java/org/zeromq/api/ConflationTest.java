@@ -0,0 +1,92 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.jzmq.ManagedContext;
+import org.zeromq.jzmq.pubsub.ConflatingPublisher;
+import org.zeromq.jzmq.pubsub.ConflatingSubscriber;
+
+import java.util.List;
+
+public class ConflationTest {
+    private ManagedContext context;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 5000)
+    public void testConflatingSubscriber() throws Exception {
+        Socket publisher = context.buildSocket(SocketType.PUB).bind("inproc://conflate-subscriber");
+        Socket socket = context.buildSocket(SocketType.SUB)
+            .asSubscribable().subscribeAll()
+            .connect("inproc://conflate-subscriber");
+        ConflatingSubscriber subscriber = new ConflatingSubscriber(socket);
+
+        // Give slow joiner some time
+        Thread.sleep(25);
+
+        for (int i = 0; i < 10; i++) {
+            publisher.send(new Message("B").addInt(i));
+            publisher.send(new Message("A").addInt(i));
+        }
+        publisher.send(new Message("C").addInt(0));
+
+        int received = 0;
+        while (received < 21) {
+            received += subscriber.pump();
+        }
+        assertEquals(18, subscriber.getConflated());
+
+        List<Message> messages = subscriber.drain();
+        assertEquals(3, messages.size());
+        assertEquals("B", messages.get(0).popString());
+        assertEquals(9, messages.get(0).popInt());
+        assertEquals("A", messages.get(1).popString());
+        assertEquals(9, messages.get(1).popInt());
+        assertEquals("C", messages.get(2).popString());
+        assertEquals(0, subscriber.size());
+    }
+
+    @Test(timeout = 5000)
+    public void testConflatingPublisher() throws Exception {
+        Socket socket = context.buildSocket(SocketType.PUB).bind("inproc://conflate-publisher");
+        Socket subscriber = context.buildSocket(SocketType.SUB)
+            .withReceiveTimeout(100)
+            .asSubscribable().subscribeAll()
+            .connect("inproc://conflate-publisher");
+        ConflatingPublisher publisher = new ConflatingPublisher(socket, ConflatingSubscriber.frameKey(1));
+
+        // Give slow joiner some time
+        Thread.sleep(25);
+
+        // keyed by the second frame
+        for (int i = 0; i < 10; i++) {
+            publisher.offer(new Message("prices").addString("X").addInt(i));
+            publisher.offer(new Message("prices").addString("Y").addInt(i));
+        }
+        assertEquals(2, publisher.flush());
+        assertEquals(0, publisher.flush());
+
+        Message message = subscriber.receiveMessage();
+        assertEquals("prices", message.popString());
+        assertEquals("X", message.popString());
+        assertEquals(9, message.popInt());
+        message = subscriber.receiveMessage();
+        message.popString();
+        assertEquals("Y", message.popString());
+        assertEquals(9, message.popInt());
+        assertNull(subscriber.receiveMessage());
+    }
+}
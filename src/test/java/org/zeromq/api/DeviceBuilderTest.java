@@ -1,11 +1,15 @@
 package org.zeromq.api;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import org.zeromq.jzmq.ManagedContext;
+import org.zeromq.jzmq.device.DeviceBuilder;
+import org.zeromq.jzmq.device.LoadBalancerWorker;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -120,4 +124,213 @@ public class DeviceBuilderTest {
         messages.add(frontend2.receiveMessage().popInt());
         assertEquals(4, messages.size());
     }
+
+    @Test(timeout = 5000)
+    public void testSteerableDevice() throws Exception {
+        Device device = context.buildDevice(DeviceType.STREAMER)
+            .withFrontendUrl("inproc://steerable-frontend")
+            .withBackendUrl("inproc://steerable-backend")
+            .withCaptureUrl("inproc://steerable-capture")
+            .withControlUrl("inproc://steerable-control")
+            .start();
+
+        Socket frontend = context.buildSocket(SocketType.PUSH)
+            .withSendTimeout(100)
+            .connect("inproc://steerable-frontend");
+        Socket backend = context.buildSocket(SocketType.PULL)
+            .withReceiveTimeout(100)
+            .connect("inproc://steerable-backend");
+        Socket control = context.buildSocket(SocketType.REQ)
+            .connect("inproc://steerable-control");
+        Socket capture = context.buildSocket(SocketType.SUB)
+            .asSubscribable().subscribeAll()
+            .connect("inproc://steerable-capture");
+
+        // allow the subscription to reach the capture socket
+        Thread.sleep(100);
+
+        frontend.send(new Message("hello").addString("world"));
+        assertEquals("hello", backend.receiveMessage().popString());
+        assertEquals("hello", capture.receiveMessage().popString());
+
+        device.pause();
+        frontend.send(new Message(1));
+        assertNull(backend.receive());
+
+        control.send(new Message("RESUME"));
+        assertEquals("RESUME", control.receiveMessage().popString());
+        assertEquals(1, backend.receiveMessage().popInt());
+
+        control.send(new Message("STATISTICS"));
+        Message statistics = control.receiveMessage();
+        assertEquals(2, statistics.popLong());
+        assertEquals(14, statistics.popLong());
+        assertEquals(0, statistics.popLong());
+        assertEquals(0, statistics.popLong());
+        assertEquals(2, device.getFrontendMessages());
+        assertEquals(14, device.getFrontendBytes());
+
+        device.terminate();
+        frontend.send(new Message(2));
+        assertNull(backend.receive());
+    }
+
+    @Test(timeout = 5000)
+    public void testDeviceWithBlockedBackend() throws Exception {
+        Device device = context.buildDevice(DeviceType.STREAMER)
+            .withFrontendUrl("inproc://blocked-frontend")
+            .withBackendUrl("inproc://blocked-backend")
+            .start();
+
+        // nothing is connected to the backend, so it cannot accept messages
+        Socket frontend = context.buildSocket(SocketType.PUSH)
+            .withSendTimeout(100)
+            .connect("inproc://blocked-frontend");
+        frontend.send(new Message(1));
+        Thread.sleep(100);
+
+        device.pause();
+        device.resume();
+        assertEquals(0, device.getFrontendMessages());
+
+        Socket backend = context.buildSocket(SocketType.PULL)
+            .connect("inproc://blocked-backend");
+        assertEquals(1, backend.receiveMessage().popInt());
+        assertEquals(1, device.getFrontendMessages());
+
+        device.terminate();
+    }
+
+    @Test(timeout = 5000)
+    public void testShardedQueue() throws Exception {
+        Device device = context.buildDevice(DeviceType.QUEUE)
+            .withFrontendUrl("inproc://sharded-frontend")
+            .withBackendUrl("inproc://sharded-backend")
+            .withThreads(2)
+            .start();
+
+        Socket frontend = context.buildSocket(SocketType.REQ)
+            .connect("inproc://sharded-frontend", DeviceBuilder.shardUrl("inproc://sharded-frontend", 1));
+        Socket backend = context.buildSocket(SocketType.REP)
+            .connect("inproc://sharded-backend", DeviceBuilder.shardUrl("inproc://sharded-backend", 1));
+
+        Set<Integer> messages = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            frontend.send(new Message(i));
+            backend.send(backend.receiveMessage());
+            messages.add(frontend.receiveMessage().popInt());
+        }
+        assertEquals(4, messages.size());
+
+        device.terminate();
+        assertEquals(4, device.getFrontendMessages());
+        assertEquals(4, device.getBackendMessages());
+    }
+
+    @Test
+    public void testShardUrl() {
+        assertEquals("tcp://*:5555", DeviceBuilder.shardUrl("tcp://*:5555", 0));
+        assertEquals("tcp://*:5557", DeviceBuilder.shardUrl("tcp://*:5555", 2));
+        assertEquals("inproc://device-1", DeviceBuilder.shardUrl("inproc://device", 1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testShardedPortsOverlap() throws Exception {
+        context.buildDevice(DeviceType.STREAMER)
+            .withFrontendUrl("tcp://*:5559")
+            .withBackendUrl("tcp://*:5560")
+            .withThreads(2)
+            .start();
+    }
+
+    @Test(timeout = 5000)
+    public void testLoadBalancer() throws Exception {
+        Device device = context.buildDevice(DeviceType.LOAD_BALANCER)
+            .withFrontendUrl("inproc://lb-frontend")
+            .withBackendUrl("inproc://lb-backend")
+            .start();
+
+        Socket client = context.buildSocket(SocketType.DEALER)
+            .connect("inproc://lb-frontend");
+        LoadBalancerWorker worker1 = new LoadBalancerWorker(context, "inproc://lb-backend");
+        LoadBalancerWorker worker2 = new LoadBalancerWorker(context, "inproc://lb-backend");
+
+        client.send(new Message().addEmptyFrame().addInt(1));
+        LoadBalancerWorker busy = null;
+        LoadBalancerWorker idle = null;
+        while (busy == null) {
+            if (worker1.receiveRequest(MessageFlag.DONT_WAIT) != null) {
+                busy = worker1;
+                idle = worker2;
+            } else if (worker2.receiveRequest(MessageFlag.DONT_WAIT) != null) {
+                busy = worker2;
+                idle = worker1;
+            }
+        }
+
+        // the busy worker must not be given any more work
+        for (int i = 2; i <= 3; i++) {
+            client.send(new Message().addEmptyFrame().addInt(i));
+            assertEquals(i, idle.receiveRequest().popInt());
+            idle.sendReply(new Message(i));
+        }
+        busy.sendReply(new Message(1));
+
+        Set<Integer> replies = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            Message reply = client.receiveMessage();
+            assertTrue(reply.popFrame().isBlank());
+            replies.add(reply.popInt());
+        }
+        assertEquals(3, replies.size());
+
+        device.terminate();
+        assertEquals(3, device.getFrontendMessages());
+        assertEquals(3, device.getBackendMessages());
+    }
+
+    @Test(timeout = 5000)
+    public void testLastValueCache() throws Exception {
+        Device device = context.buildDevice(DeviceType.LAST_VALUE_CACHE)
+            .withFrontendUrl("inproc://lvc-frontend")
+            .withBackendUrl("inproc://lvc-backend")
+            .withCacheSize(2)
+            .start();
+
+        Socket publisher = context.buildSocket(SocketType.PUB)
+            .connect("inproc://lvc-frontend");
+
+        // Give slow joiner some time
+        Thread.sleep(50);
+
+        publisher.send(new Message("A").addString("a1"));
+        publisher.send(new Message("B").addString("b1"));
+        publisher.send(new Message("A").addString("a2"));
+        publisher.send(new Message("C").addString("c1"));
+        Thread.sleep(50);
+
+        // late joiners receive the latest value without waiting for an update
+        Socket subscriber1 = context.buildSocket(SocketType.SUB)
+            .asSubscribable().subscribe("A".getBytes())
+            .connect("inproc://lvc-backend");
+        Message message = subscriber1.receiveMessage();
+        assertEquals("A", message.popString());
+        assertEquals("a2", message.popString());
+
+        // B was evicted as the least recently updated topic
+        Socket subscriber2 = context.buildSocket(SocketType.SUB)
+            .withReceiveTimeout(100)
+            .asSubscribable().subscribeAll()
+            .connect("inproc://lvc-backend");
+        assertEquals("A", subscriber2.receiveMessage().popString());
+        assertEquals("C", subscriber2.receiveMessage().popString());
+        assertNull(subscriber2.receiveMessage());
+
+        // live updates are forwarded
+        publisher.send(new Message("B").addString("b2"));
+        message = subscriber2.receiveMessage();
+        assertEquals("B", message.popString());
+        assertEquals("b2", message.popString());
+        device.terminate();
+    }
 }
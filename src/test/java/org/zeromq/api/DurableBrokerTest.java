@@ -0,0 +1,115 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.zeromq.jzmq.ManagedContext;
+import org.zeromq.jzmq.durable.SegmentLog;
+
+import java.io.File;
+
+public class DurableBrokerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ManagedContext context;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 5000)
+    public void testReplayAndTail() throws Exception {
+        DurableBroker broker = context.buildDurableBroker()
+            .withFrontendUrl("inproc://durable-frontend")
+            .withFrontendType(SocketType.PULL)
+            .withReplayUrl("inproc://durable-replay")
+            .withDirectory(folder.newFolder())
+            .withSegmentSize(256)
+            .withBatchSize(3)
+            .start();
+
+        Socket push = context.buildSocket(SocketType.PUSH)
+            .connect("inproc://durable-frontend");
+        for (int i = 0; i < 10; i++) {
+            push.send(new Message("topic").addInt(i));
+        }
+        while (broker.getEndOffset() < 10) {
+            Thread.sleep(10);
+        }
+
+        Socket reader = context.buildSocket(SocketType.DEALER)
+            .connect("inproc://durable-replay");
+        reader.send(new Message().addEmptyFrame().addString(DurableBroker.REPLAY).addLong(4));
+        for (int i = 4; i < 10; i++) {
+            assertReceived(reader, i);
+        }
+
+        // once caught up, new messages arrive as they are appended
+        for (int i = 10; i < 15; i++) {
+            push.send(new Message("topic").addInt(i));
+        }
+        for (int i = 10; i < 15; i++) {
+            assertReceived(reader, i);
+        }
+
+        reader.send(new Message().addEmptyFrame().addString(DurableBroker.STOP));
+        broker.stop();
+    }
+
+    @Test
+    public void testSegmentLog() throws Exception {
+        File directory = folder.newFolder();
+        SegmentLog log = new SegmentLog(directory, 128, 0);
+        for (int i = 0; i < 20; i++) {
+            log.append(new Message("topic").addInt(i), 1000 + i * 10);
+        }
+        assertEquals(20, log.getEndOffset());
+        assertEquals(5, log.findOffset(1045));
+        assertEquals(20, log.findOffset(2000));
+        log.close();
+
+        // segments are indexed again when the log is reopened
+        log = new SegmentLog(directory, 128, 3);
+        assertEquals(0, log.getStartOffset());
+        assertEquals(20, log.getEndOffset());
+        assertEquals(1070, log.getTimestamp(7));
+        Message message = log.read(13);
+        assertEquals("topic", message.popString());
+        assertEquals(13, message.popInt());
+
+        // rolling removes the oldest segments beyond the limit
+        for (int i = 20; i < 40; i++) {
+            log.append(new Message("topic").addInt(i));
+        }
+        assertEquals(3, directory.list().length);
+        assertEquals(40, log.getEndOffset());
+        assertTrue(log.getStartOffset() > 30);
+        assertEquals(2, log.read(log.getStartOffset()).size());
+        log.close();
+
+        // closing releases the segments, and closing again does nothing
+        log.close();
+    }
+
+    private static void assertReceived(Socket reader, int expected) {
+        Message message = reader.receiveMessage();
+        assertEquals(0, message.popFrame().size());
+        assertEquals(expected, message.popLong());
+        message.popLong();
+        assertEquals("topic", message.popString());
+        assertEquals(expected, message.popInt());
+    }
+}
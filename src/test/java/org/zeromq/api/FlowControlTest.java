@@ -0,0 +1,91 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.jzmq.ManagedContext;
+import org.zeromq.jzmq.flow.CreditReceiver;
+import org.zeromq.jzmq.flow.CreditSender;
+import org.zeromq.jzmq.flow.CreditUnit;
+
+public class FlowControlTest {
+    private ManagedContext context;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 5000)
+    public void testMessageCredit() throws Exception {
+        Socket router = context.buildSocket(SocketType.ROUTER).bind("inproc://credit-messages");
+        Socket dealer = context.buildSocket(SocketType.DEALER).connect("inproc://credit-messages");
+        CreditReceiver receiver = new CreditReceiver(router, CreditUnit.MESSAGES, 10);
+        final CreditSender sender = new CreditSender(dealer, CreditUnit.MESSAGES, 10, 5);
+
+        // only one window is sent, and a few more are queued
+        final int[] next = new int[1];
+        while (sender.send(new Message(next[0]))) {
+            next[0]++;
+        }
+        assertEquals(15, next[0]);
+        assertEquals(0, sender.getCredit());
+        assertEquals(5, sender.getPending());
+
+        Reactor reactor = context.buildReactor().build();
+        sender.register(reactor, new LoopAdapter() {
+            @Override
+            protected void execute(Reactor reactor, Socket socket) {
+                while (next[0] < 100 && sender.send(new Message(next[0]))) {
+                    next[0]++;
+                }
+            }
+        });
+        reactor.start();
+
+        for (int i = 0; i < 100; i++) {
+            RoutedMessage message = receiver.receive();
+            assertEquals(1, message.getRoutes().size());
+            assertEquals(i, message.getPayload().popInt());
+        }
+        reactor.stop();
+    }
+
+    @Test(timeout = 5000)
+    public void testByteCredit() throws Exception {
+        Socket router = context.buildSocket(SocketType.ROUTER).bind("inproc://credit-bytes");
+        Socket dealer = context.buildSocket(SocketType.DEALER).connect("inproc://credit-bytes");
+        CreditReceiver receiver = new CreditReceiver(router, CreditUnit.BYTES, 100);
+        CreditSender sender = new CreditSender(dealer, CreditUnit.BYTES, 100, 10);
+
+        // a message larger than the remaining credit still overdraws it
+        assertTrue(sender.send(new Message(new byte[60])));
+        assertTrue(sender.send(new Message(new byte[60])));
+        assertEquals(-20, sender.getCredit());
+        assertTrue(sender.send(new Message(new byte[60])));
+        assertEquals(1, sender.getPending());
+
+        // half a window consumed grants credit back
+        receiver.receive();
+        assertTrue(sender.receiveCredit(MessageFlag.NONE));
+        assertEquals(-20, sender.getCredit());
+        assertEquals(0, sender.getPending());
+
+        receiver.receive();
+        receiver.receive();
+        assertTrue(sender.receiveCredit(MessageFlag.NONE));
+        assertTrue(sender.receiveCredit(MessageFlag.NONE));
+        assertFalse(sender.receiveCredit(MessageFlag.DONT_WAIT));
+        assertEquals(100, sender.getCredit());
+    }
+}
@@ -0,0 +1,95 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.function.Function;
+
+public class FreelanceTest {
+    private ManagedContext context;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testHedgedRequests() throws Exception {
+        FreelanceServer slow = newServer("inproc://freelance-slow", "slow", 1000);
+        FreelanceServer fast = newServer("inproc://freelance-fast", "fast", 0);
+        FreelanceClient client = context.buildFreelanceClient()
+            .withServers("inproc://freelance-slow", "inproc://freelance-fast")
+            .withTimeout(2000)
+            .withHedging(50)
+            .build();
+
+        // whichever server is tried first, the fast one answers in time
+        for (int i = 0; i < 5; i++) {
+            long start = System.currentTimeMillis();
+            Message reply = client.request(new Message("hello").addInt(i));
+            assertTrue(System.currentTimeMillis() - start < 600);
+            assertEquals("fast", reply.popString());
+            assertEquals("hello", reply.popString());
+            assertEquals(i, reply.popInt());
+        }
+
+        client.close();
+        slow.stop();
+        fast.stop();
+    }
+
+    @Test(timeout = 5000)
+    public void testFailover() throws Exception {
+        FreelanceServer first = newServer("inproc://freelance-first", "first", 0);
+        FreelanceServer second = newServer("inproc://freelance-second", "second", 0);
+        FreelanceClient client = context.buildFreelanceClient()
+            .withServers("inproc://freelance-first", "inproc://freelance-second")
+            .withTimeout(1000)
+            .withPingInterval(50, 150)
+            .build();
+        assertEquals("hello", client.request(new Message("hello")).getFrames().get(1).toString());
+
+        // once a server stops answering pings, it is no longer used
+        first.stop();
+        Thread.sleep(300);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("second", client.request(new Message("hello")).popString());
+        }
+
+        second.stop();
+        Thread.sleep(300);
+        assertNull(client.request(new Message("hello")));
+
+        client.close();
+    }
+
+    private FreelanceServer newServer(String url, final String name, final long delay) {
+        return context.buildFreelanceServer()
+            .withUrl(url)
+            .withHandler(new Function<Message, Message>() {
+                @Override
+                public Message apply(Message request) {
+                    if (delay > 0) {
+                        try {
+                            Thread.sleep(delay);
+                        } catch (InterruptedException ignored) {
+                        }
+                    }
+                    return new Message(name).addFrames(request);
+                }
+            })
+            .start();
+    }
+}
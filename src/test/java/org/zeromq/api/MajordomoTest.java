@@ -0,0 +1,214 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.function.Function;
+
+public class MajordomoTest {
+    private ManagedContext context;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 5000)
+    public void testServices() throws Exception {
+        MajordomoBroker broker = context.buildMajordomoBroker()
+            .withUrl("inproc://mdp-broker")
+            .withHeartbeatInterval(100)
+            .start();
+        MajordomoWorker echo = newWorker("echo", "echo");
+        MajordomoWorker upper = newWorker("upper", "upper");
+
+        MajordomoClient client = context.buildMajordomoClient()
+            .withBrokerUrl("inproc://mdp-broker")
+            .withTimeout(1000)
+            .build();
+
+        Message reply = client.request("echo", new Message("hello"));
+        assertEquals("echo", reply.popString());
+        assertEquals("hello", reply.popString());
+
+        reply = client.request("upper", new Message("hello"));
+        assertEquals("upper", reply.popString());
+        assertEquals("hello", reply.popString());
+
+        // pipelined requests to one service
+        for (int i = 0; i < 10; i++) {
+            client.send("echo", new Message(i));
+        }
+        for (int i = 0; i < 10; i++) {
+            reply = client.receive();
+            assertEquals("echo", reply.popString());
+            assertEquals(i, reply.popInt());
+        }
+
+        assertEquals("200", client.request("mmi.service", new Message("echo")).popString());
+        assertEquals("404", client.request("mmi.service", new Message("missing")).popString());
+        assertEquals("501", client.request("mmi.unknown", new Message()).popString());
+
+        echo.stop();
+        upper.stop();
+        broker.stop();
+    }
+
+    @Test(timeout = 5000)
+    public void testQueuedRequest() throws Exception {
+        MajordomoBroker broker = context.buildMajordomoBroker()
+            .withUrl("inproc://mdp-queued")
+            .withHeartbeatInterval(100)
+            .start();
+        MajordomoClient client = context.buildMajordomoClient()
+            .withBrokerUrl("inproc://mdp-queued")
+            .withTimeout(200)
+            .build();
+
+        // the request waits in the broker until a worker for the service arrives
+        client.send("late", new Message("hello"));
+        assertNull(client.receive());
+
+        MajordomoWorker worker = newWorker("late", "inproc://mdp-queued", "late");
+        Message reply = client.receive();
+        assertEquals("late", reply.popString());
+        assertEquals("hello", reply.popString());
+
+        worker.stop();
+        broker.stop();
+    }
+
+    @Test(timeout = 5000)
+    public void testBusyWorkerExpires() throws Exception {
+        MajordomoBroker broker = context.buildMajordomoBroker()
+            .withUrl("inproc://mdp-busy")
+            .withHeartbeatInterval(100)
+            .withRequestTimeout(300)
+            .start();
+        MajordomoClient client = context.buildMajordomoClient()
+            .withBrokerUrl("inproc://mdp-busy")
+            .withTimeout(1000)
+            .build();
+
+        // a worker which takes a request and then goes silent
+        Socket worker = context.buildSocket(SocketType.DEALER)
+            .connect("inproc://mdp-busy");
+        worker.send(new Message().addEmptyFrame().addString("MDPW01").addByte((byte) 1).addString("stuck"));
+        Thread.sleep(50);
+
+        client.send("stuck", new Message("hello"));
+        Message request = worker.receiveMessage();
+        request.popFrame();
+        assertEquals("MDPW01", request.popString());
+        assertEquals(2, request.popByte());
+        assertEquals("200", client.request("mmi.service", new Message("stuck")).popString());
+
+        Thread.sleep(600);
+        assertEquals("404", client.request("mmi.service", new Message("stuck")).popString());
+
+        broker.stop();
+    }
+
+    @Test(timeout = 5000)
+    public void testMaxRequests() throws Exception {
+        MajordomoBroker broker = context.buildMajordomoBroker()
+            .withUrl("inproc://mdp-bounded")
+            .withHeartbeatInterval(100)
+            .withMaxRequests(2)
+            .start();
+        MajordomoClient client = context.buildMajordomoClient()
+            .withBrokerUrl("inproc://mdp-bounded")
+            .withTimeout(200)
+            .build();
+
+        // the third request is dropped while no worker is available
+        for (int i = 0; i < 3; i++) {
+            client.send("late", new Message(i));
+        }
+        Thread.sleep(50);
+
+        MajordomoWorker worker = newWorker("late", "inproc://mdp-bounded", "late");
+        for (int i = 0; i < 2; i++) {
+            Message reply = client.receive();
+            assertEquals("late", reply.popString());
+            assertEquals(i, reply.popInt());
+        }
+        assertNull(client.receive());
+
+        worker.stop();
+        broker.stop();
+    }
+
+    @Test(timeout = 5000)
+    public void testMalformedAndExpiredRequests() throws Exception {
+        MajordomoBroker broker = context.buildMajordomoBroker()
+            .withUrl("inproc://mdp-expired")
+            .withHeartbeatInterval(100)
+            .withRequestTimeout(300)
+            .withMaxRequests(2)
+            .start();
+        MajordomoClient client = context.buildMajordomoClient()
+            .withBrokerUrl("inproc://mdp-expired")
+            .withTimeout(1000)
+            .build();
+
+        // messages with missing frames are dropped without stopping the broker
+        Socket peer = context.buildSocket(SocketType.DEALER)
+            .connect("inproc://mdp-expired");
+        peer.send(new Message().addEmptyFrame().addString("MDPC01"));
+        peer.send(new Message().addEmptyFrame().addString("MDPW01"));
+        peer.send(new Message().addEmptyFrame().addString("MDPW01").addByte((byte) 1));
+
+        // requests for a service which never gets a worker expire, and free
+        // the queue for other services
+        for (int i = 0; i < 2; i++) {
+            client.send("nobody", new Message(i));
+        }
+        Thread.sleep(600);
+
+        MajordomoWorker worker = newWorker("late", "inproc://mdp-expired", "late");
+        Message reply = client.request("late", new Message("hello"));
+        assertEquals("late", reply.popString());
+        assertEquals("hello", reply.popString());
+
+        worker.stop();
+        broker.stop();
+    }
+
+    private MajordomoWorker newWorker(String service, String name) {
+        return newWorker(service, "inproc://mdp-broker", name);
+    }
+
+    private MajordomoWorker newWorker(String service, String url, String name) {
+        return context.buildMajordomoWorker()
+            .withBrokerUrl(url)
+            .withService(service)
+            .withHandler(new Echo(name))
+            .withHeartbeatInterval(100)
+            .start();
+    }
+
+    private static class Echo implements Function<Message, Message> {
+        private final String name;
+
+        public Echo(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Message apply(Message request) {
+            return new Message(name).addFrames(request);
+        }
+    }
+}
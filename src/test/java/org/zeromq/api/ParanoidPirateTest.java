@@ -0,0 +1,125 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.function.Function;
+
+public class ParanoidPirateTest {
+    private ManagedContext context;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 5000)
+    public void testRequestReply() throws Exception {
+        ParanoidPirateBroker broker = context.buildParanoidPirateBroker()
+            .withFrontendUrl("inproc://ppp-frontend")
+            .withBackendUrl("inproc://ppp-backend")
+            .withHeartbeatInterval(100)
+            .start();
+        ParanoidPirateWorker worker = newWorker("worker", "inproc://ppp-backend");
+
+        Socket client = context.buildSocket(SocketType.REQ)
+            .connect("inproc://ppp-frontend");
+        for (int i = 0; i < 3; i++) {
+            client.send(new Message("hello").addInt(i));
+            Message reply = client.receiveMessage();
+            assertEquals("worker", reply.popString());
+            assertEquals("hello", reply.popString());
+            assertEquals(i, reply.popInt());
+        }
+
+        worker.stop();
+        broker.stop();
+    }
+
+    @Test(timeout = 5000)
+    public void testWorkerExpiry() throws Exception {
+        ParanoidPirateBroker broker = context.buildParanoidPirateBroker()
+            .withFrontendUrl("inproc://ppp-expiry-frontend")
+            .withBackendUrl("inproc://ppp-expiry-backend")
+            .withHeartbeatInterval(50)
+            .start();
+        ParanoidPirateWorker worker1 = newWorker("worker1", "inproc://ppp-expiry-backend");
+        Thread.sleep(100);
+        ParanoidPirateWorker worker2 = newWorker("worker2", "inproc://ppp-expiry-backend");
+
+        // worker1 dies silently, and must be expired by the broker
+        worker1.stop();
+        Thread.sleep(500);
+
+        Socket client = context.buildSocket(SocketType.REQ)
+            .connect("inproc://ppp-expiry-frontend");
+        for (int i = 0; i < 3; i++) {
+            client.send(new Message("hello"));
+            assertEquals("worker2", client.receiveMessage().popString());
+        }
+
+        worker2.stop();
+        broker.stop();
+    }
+
+    @Test(timeout = 5000)
+    public void testWorkerReconnect() throws Exception {
+        // the worker starts before the broker, and gives up on it at least once
+        ParanoidPirateWorker worker = context.buildParanoidPirateWorker()
+            .withBrokerUrl("inproc://ppp-reconnect-backend")
+            .withHandler(new Echo("worker"))
+            .withHeartbeatInterval(50)
+            .withReconnectInterval(50, 200)
+            .start();
+        Thread.sleep(300);
+
+        ParanoidPirateBroker broker = context.buildParanoidPirateBroker()
+            .withFrontendUrl("inproc://ppp-reconnect-frontend")
+            .withBackendUrl("inproc://ppp-reconnect-backend")
+            .withHeartbeatInterval(50)
+            .start();
+
+        // READY messages queued by abandoned sockets may reach the broker, so
+        // wait for those workers to expire
+        Thread.sleep(500);
+
+        Socket client = context.buildSocket(SocketType.REQ)
+            .connect("inproc://ppp-reconnect-frontend");
+        client.send(new Message("hello"));
+        assertEquals("worker", client.receiveMessage().popString());
+
+        worker.stop();
+        broker.stop();
+    }
+
+    private ParanoidPirateWorker newWorker(String name, String url) {
+        return context.buildParanoidPirateWorker()
+            .withBrokerUrl(url)
+            .withHandler(new Echo(name))
+            .withHeartbeatInterval(50)
+            .start();
+    }
+
+    private static class Echo implements Function<Message, Message> {
+        private final String name;
+
+        public Echo(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Message apply(Message request) {
+            return new Message(name).addFrames(request);
+        }
+    }
+}
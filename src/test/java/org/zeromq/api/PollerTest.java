@@ -5,7 +5,12 @@ import org.junit.Before;
 import org.junit.Test;
 import org.zeromq.jzmq.ManagedContext;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Pipe;
+import java.nio.channels.SelectableChannel;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static junit.framework.Assert.assertTrue;
 import static org.junit.Assert.assertArrayEquals;
@@ -66,5 +71,114 @@ public class PollerTest {
         assertArrayEquals("hello".getBytes(), message);
     }
 
+    @Test(timeout = 1000)
+    public void testDisableAndRegister() throws Exception {
+        Socket pull1 = context.buildSocket(SocketType.PULL).bind("inproc://pull1");
+        Socket pull2 = context.buildSocket(SocketType.PULL).bind("inproc://pull2");
+        Socket push = context.buildSocket(SocketType.PUSH).connect("inproc://pull2");
+
+        final AtomicInteger received = new AtomicInteger();
+        Poller testClass = context.buildPoller()
+                .withInPollable(pull1, new PollAdapter())
+                .build();
+        testClass.disable(pull1);
+        testClass.register(context.newPollable(pull2, PollerType.POLL_IN), new PollAdapter() {
+            @Override
+            public void handleIn(Socket socket) {
+                assertArrayEquals("hello".getBytes(), socket.receive());
+                received.incrementAndGet();
+            }
+        });
+        testClass.enable(pull1);
+
+        push.send("hello".getBytes());
+        while (received.get() < 1) {
+            testClass.poll(100L);
+        }
+    }
+
+    @Test(timeout = 1000)
+    public void testSelectorPoller() throws Exception {
+        Socket server = context.buildSocket(SocketType.REP).bind("inproc://repSocket");
+        Pipe pipe = Pipe.open();
+        pipe.source().configureBlocking(false);
+
+        final AtomicInteger received = new AtomicInteger();
+        Poller testClass = context.buildPoller()
+                .withSelector()
+                .withInPollable(server, new PollAdapter() {
+                    @Override
+                    public void handleIn(Socket socket) {
+                        assertArrayEquals("hello".getBytes(), socket.receive());
+                        received.incrementAndGet();
+                    }
+                })
+                .withInPollable(pipe.source(), new PollAdapter() {
+                    @Override
+                    public void handleIn(SelectableChannel channel) {
+                        try {
+                            pipe.source().read(ByteBuffer.allocate(16));
+                        } catch (IOException ex) {
+                            throw new RuntimeException(ex);
+                        }
+                        received.incrementAndGet();
+                    }
+                })
+                .build();
+
+        Socket request = context.buildSocket(SocketType.REQ).connect("inproc://repSocket");
+        request.send("hello".getBytes());
+        pipe.sink().write(ByteBuffer.wrap("hello".getBytes()));
+
+        while (received.get() < 2) {
+            testClass.poll(100L);
+        }
+        testClass.close();
+        pipe.sink().close();
+        pipe.source().close();
+    }
+
+    @Test(timeout = 1000)
+    public void testSelectorPollerSharedSocket() throws Exception {
+        Socket server = context.buildSocket(SocketType.DEALER).bind("inproc://dealerSocket");
+        Socket client = context.buildSocket(SocketType.DEALER).connect("inproc://dealerSocket");
+
+        // separate input and output pollables for the same socket
+        final AtomicInteger received = new AtomicInteger();
+        final AtomicInteger writable = new AtomicInteger();
+        Pollable output = context.newPollable(server, PollerType.POLL_OUT);
+        Poller testClass = context.buildPoller()
+                .withSelector()
+                .withInPollable(server, new PollAdapter() {
+                    @Override
+                    public void handleIn(Socket socket) {
+                        assertArrayEquals("hello".getBytes(), socket.receive());
+                        received.incrementAndGet();
+                    }
+                })
+                .withPollable(output, new PollAdapter() {
+                    @Override
+                    public void handleOut(Socket socket) {
+                        writable.incrementAndGet();
+                    }
+                })
+                .build();
+
+        client.send("hello".getBytes());
+        while (received.get() < 1 || writable.get() < 1) {
+            testClass.poll(100L);
+        }
+
+        // disabling the output pollable leaves the input pollable polled
+        testClass.disable(output);
+        writable.set(0);
+        client.send("hello".getBytes());
+        while (received.get() < 2) {
+            testClass.poll(100L);
+        }
+        assertTrue(writable.get() == 0);
+        testClass.close();
+    }
+
     //todo write a test for the error polling...how do we reliably generate an error on a socket?
 }
@@ -0,0 +1,123 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.jzmq.ManagedContext;
+
+public class ProxyPipelineTest {
+    private ManagedContext context;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 5000)
+    public void testStages() throws Exception {
+        MessageStage filter = new MessageStage() {
+            @Override
+            public Message process(Message message) {
+                return message.getFirstFrame().toString().startsWith("drop") ? null : message;
+            }
+        };
+        MessageStage tagger = new MessageStage() {
+            @Override
+            public Message process(Message message) {
+                return message.addString("tenant-1");
+            }
+        };
+
+        ProxyPipeline pipeline = context.buildProxyPipeline(DeviceType.STREAMER)
+            .withFrontendUrl("inproc://pipeline-frontend")
+            .withBackendUrl("inproc://pipeline-backend")
+            .withFrontendStage(filter)
+            .withFrontendStage(tagger)
+            .withBatchSize(10)
+            .start();
+
+        Socket frontend = context.buildSocket(SocketType.PUSH)
+            .connect("inproc://pipeline-frontend");
+        Socket backend = context.buildSocket(SocketType.PULL)
+            .connect("inproc://pipeline-backend");
+
+        for (int i = 0; i < 100; i++) {
+            frontend.send(new Message(i % 2 == 0 ? "keep" : "drop"));
+        }
+        for (int i = 0; i < 50; i++) {
+            Message message = backend.receiveMessage();
+            assertEquals("keep", message.popString());
+            assertEquals("tenant-1", message.popString());
+        }
+
+        pipeline.terminate();
+        assertEquals(100, pipeline.getFrontendMessages());
+        assertEquals(400, pipeline.getFrontendBytes());
+        assertEquals(50, pipeline.getStageDrops(filter));
+        assertEquals(0, pipeline.getStageDrops(tagger));
+        assertTrue(pipeline.getStageTime(tagger) > 0);
+    }
+
+    @Test(timeout = 5000)
+    public void testQueue() throws Exception {
+        ProxyPipeline pipeline = context.buildProxyPipeline(DeviceType.QUEUE)
+            .withFrontendUrl("inproc://pipeline-queue-frontend")
+            .withBackendUrl("inproc://pipeline-queue-backend")
+            .start();
+
+        Socket frontend = context.buildSocket(SocketType.REQ)
+            .connect("inproc://pipeline-queue-frontend");
+        Socket backend = context.buildSocket(SocketType.REP)
+            .connect("inproc://pipeline-queue-backend");
+
+        pipeline.pause();
+        frontend.send(new Message("hello"));
+        pipeline.resume();
+
+        assertEquals("hello", backend.receiveMessage().popString());
+        backend.send(new Message("world"));
+        assertEquals("world", frontend.receiveMessage().popString());
+
+        pipeline.terminate();
+        assertEquals(1, pipeline.getBackendMessages());
+    }
+
+    @Test(timeout = 5000)
+    public void testBlockedBackend() throws Exception {
+        ProxyPipeline pipeline = context.buildProxyPipeline(DeviceType.STREAMER)
+            .withFrontendUrl("inproc://pipeline-blocked-frontend")
+            .withBackendUrl("inproc://pipeline-blocked-backend")
+            .withBatchSize(10)
+            .start();
+
+        // nothing is connected to the backend, so it cannot accept messages
+        Socket frontend = context.buildSocket(SocketType.PUSH)
+            .connect("inproc://pipeline-blocked-frontend");
+        for (int i = 0; i < 25; i++) {
+            frontend.send(new Message(i));
+        }
+        Thread.sleep(100);
+
+        pipeline.pause();
+        pipeline.resume();
+        assertTrue(pipeline.getFrontendMessages() <= 10);
+
+        Socket backend = context.buildSocket(SocketType.PULL)
+            .connect("inproc://pipeline-blocked-backend");
+        for (int i = 0; i < 25; i++) {
+            assertEquals(i, backend.receiveMessage().popInt());
+        }
+
+        pipeline.terminate();
+        assertEquals(25, pipeline.getFrontendMessages());
+    }
+}
@@ -5,7 +5,11 @@ import org.junit.Before;
 import org.junit.Test;
 import org.zeromq.jzmq.ManagedContext;
 
+import java.util.Arrays;
+import java.util.Collections;
+
 import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNull;
 
 public class PubSubTest {
     private ManagedContext context;
@@ -38,4 +42,49 @@ public class PubSubTest {
         assertEquals("Hello", new String(subscriber1.receive()));
         assertEquals("Hello", new String(subscriber2.receive()));
     }
+
+    @Test(timeout = 5000)
+    public void testRuntimeSubscriptions() throws Exception {
+        Socket publisher = context.buildSocket(SocketType.PUB).bind("inproc://publisher");
+        Socket subscriber = context.buildSocket(SocketType.SUB).withReceiveTimeout(100).connect("inproc://publisher");
+        subscriber.subscribe("A".getBytes());
+        Thread.sleep(25);
+
+        publisher.send("A1".getBytes());
+        publisher.send("B1".getBytes());
+        assertEquals("A1", new String(subscriber.receive()));
+        assertNull(subscriber.receive());
+
+        subscriber.updateSubscriptions(Arrays.asList("B".getBytes(), "C".getBytes()), Collections.singletonList("A".getBytes()));
+        Thread.sleep(25);
+
+        publisher.send("A2".getBytes());
+        publisher.send("B2".getBytes());
+        publisher.send("C2".getBytes());
+        assertEquals("B2", new String(subscriber.receive()));
+        assertEquals("C2", new String(subscriber.receive()));
+        assertNull(subscriber.receive());
+    }
+
+    @Test(timeout = 5000)
+    public void testXSubSubscriptions() throws Exception {
+        Socket publisher = context.buildSocket(SocketType.XPUB).bind("inproc://publisher");
+        Socket subscriber = context.buildSocket(SocketType.XSUB).connect("inproc://publisher");
+        subscriber.subscribe("A".getBytes());
+
+        // the subscription arrives at the publisher as a message
+        byte[] subscription = publisher.receive();
+        assertEquals(1, subscription[0]);
+        assertEquals("A", new String(subscription, 1, subscription.length - 1));
+
+        subscriber.unsubscribe("A".getBytes());
+        subscription = publisher.receive();
+        assertEquals(0, subscription[0]);
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSubscribeUnsupported() throws Exception {
+        Socket publisher = context.buildSocket(SocketType.PUB).bind("inproc://publisher");
+        publisher.subscribe("A".getBytes());
+    }
 }
@@ -1,6 +1,7 @@
 package org.zeromq.api;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.After;
 import org.junit.Before;
@@ -8,6 +9,11 @@ import org.junit.Test;
 import org.zeromq.jzmq.ManagedContext;
 import org.zeromq.jzmq.reactor.ReactorBuilder;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class ReactorTest {
@@ -47,6 +53,58 @@ public class ReactorTest {
         assertEquals(25, safe.get());
     }
 
+    @Test
+    public void testFixedRateTimer() throws Exception {
+        Reactor reactor = context.buildReactor()
+            .withTimerFixedRate(10, 10, 25, Reactor.CatchUp.FIRE_ALL, 2, new LoopHandler() {
+                @Override
+                public void execute(Reactor reactor, Pollable pollable) {
+                    safe.incrementAndGet();
+                }
+            })
+            .build();
+
+        reactor.start();
+        Thread.sleep(500);
+        assertEquals(25, safe.get());
+    }
+
+    @Test
+    public void testFixedRateCatchUp() throws Exception {
+        final AtomicInteger skipped = new AtomicInteger();
+        LoopHandler blocker = new LoopHandler() {
+            @Override
+            public void execute(Reactor reactor, Pollable pollable) {
+                try {
+                    Thread.sleep(200);
+                } catch (InterruptedException ignored) {
+                }
+            }
+        };
+
+        Reactor reactor = context.buildReactor()
+            .withTimerOnce(5, blocker)
+            .withTimerFixedRate(10, Reactor.CatchUp.FIRE_ALL, new LoopHandler() {
+                @Override
+                public void execute(Reactor reactor, Pollable pollable) {
+                    safe.incrementAndGet();
+                }
+            })
+            .withTimerFixedRate(10, Reactor.CatchUp.SKIP, new LoopHandler() {
+                @Override
+                public void execute(Reactor reactor, Pollable pollable) {
+                    skipped.incrementAndGet();
+                }
+            })
+            .build();
+
+        reactor.start();
+        Thread.sleep(300);
+        reactor.stop();
+        assertTrue(safe.get() >= 25);
+        assertTrue(skipped.get() < 15);
+    }
+
     @Test
     public void testTimers_1000() throws Exception {
         LoopHandler handler = new LoopHandler() {
@@ -108,6 +166,166 @@ public class ReactorTest {
         assertEquals(3, safe.get());
     }
 
+    @Test
+    public void testPollerBatch() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            out.send("Hello".getBytes());
+        }
+        Thread.sleep(50);
+
+        // The PUB socket is always writable, so its handler runs first in
+        // every reactor loop, and records how many messages were handled since
+        final List<Integer> batches = new CopyOnWriteArrayList<>();
+        final AtomicInteger handled = new AtomicInteger();
+        Reactor reactor = context.buildReactor()
+            .withInPollable(in, new LoopHandler() {
+                @Override
+                public void execute(Reactor reactor, Pollable pollable) {
+                    assertEquals("Hello", new String(pollable.getSocket().receive()));
+                    handled.incrementAndGet();
+                    safe.incrementAndGet();
+                }
+            }, 10)
+            .withPollable(context.newPollable(out, PollerType.POLL_OUT), new LoopHandler() {
+                @Override
+                public void execute(Reactor reactor, Pollable pollable) {
+                    int count = handled.getAndSet(0);
+                    if (count > 0) {
+                        batches.add(count);
+                    }
+                    if (safe.get() == 50) {
+                        reactor.cancel(this);
+                    }
+                }
+            }, Reactor.Priority.HIGH)
+            .build();
+
+        reactor.start();
+        Thread.sleep(250);
+        assertEquals(50, safe.get());
+        assertEquals(Arrays.asList(10, 10, 10, 10, 10), batches);
+    }
+
+    @Test
+    public void testPriority() throws Exception {
+        final List<String> order = new CopyOnWriteArrayList<>();
+        Socket control = context.buildSocket(SocketType.PULL).bind("inproc://control");
+        Socket sender = context.buildSocket(SocketType.PUSH).connect("inproc://control");
+        out.send("data".getBytes());
+        sender.send("control".getBytes());
+        Thread.sleep(50);
+
+        Reactor reactor = context.buildReactor()
+            .withInPollable(in, new LoopHandler() {
+                @Override
+                public void execute(Reactor reactor, Pollable pollable) {
+                    order.add(new String(pollable.getSocket().receive()));
+                }
+            }, Reactor.Priority.LOW)
+            .withInPollable(control, new LoopHandler() {
+                @Override
+                public void execute(Reactor reactor, Pollable pollable) {
+                    order.add(new String(pollable.getSocket().receive()));
+                }
+            }, Reactor.Priority.HIGH)
+            .withBudget(1)
+            .build();
+
+        reactor.start();
+        Thread.sleep(100);
+        assertEquals(Arrays.asList("control", "data"), order);
+    }
+
+    @Test
+    public void testLink() throws Exception {
+        link(context.buildReactor());
+    }
+
+    @Test
+    public void testLinkWithSelector() throws Exception {
+        link(context.buildReactor().withSelector());
+    }
+
+    private void link(ReactorBuilder builder) throws Exception {
+        final AtomicInteger failed = new AtomicInteger();
+        Socket producer = context.buildSocket(SocketType.PUSH).bind("inproc://link-frontend");
+        Socket frontend = context.buildSocket(SocketType.PULL).connect("inproc://link-frontend");
+        final Socket backend = context.buildSocket(SocketType.PUSH).withSendHighWatermark(1).bind("inproc://link-backend");
+        Socket consumer = context.buildSocket(SocketType.PULL).withReceiveHighWatermark(1).connect("inproc://link-backend");
+
+        Pollable input = context.newPollable(frontend, PollerType.POLL_IN);
+        Reactor reactor = builder
+            .withPollable(input, new LoopHandler() {
+                @Override
+                public void execute(Reactor reactor, Pollable pollable) {
+                    byte[] data = pollable.getSocket().receive();
+                    if (!backend.send(data, MessageFlag.DONT_WAIT)) {
+                        failed.incrementAndGet();
+                    }
+                    safe.incrementAndGet();
+                }
+            })
+            .withLink(input, backend)
+            .build();
+
+        reactor.start();
+        for (int i = 0; i < 100; i++) {
+            producer.send(new Message(i));
+        }
+
+        Thread.sleep(100);
+        assertTrue(safe.get() < 100);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, consumer.receiveMessage().popInt());
+        }
+        assertEquals(0, failed.get());
+        reactor.stop();
+    }
+
+    @Test
+    public void testOffload() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Socket router = context.buildSocket(SocketType.ROUTER).bind("inproc://offload");
+        Socket client1 = context.buildSocket(SocketType.DEALER).connect("inproc://offload");
+        Socket client2 = context.buildSocket(SocketType.DEALER).connect("inproc://offload");
+
+        // assertions on the executor threads would only be logged, so the
+        // handlers record what they saw for the test thread to check
+        final List<Socket> sockets = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        Reactor reactor = context.buildReactor()
+            .withInPollable(router, new MessageHandler() {
+                @Override
+                public void execute(Reactor reactor, Socket socket, Message message) {
+                    sockets.add(socket);
+                    threads.add(Thread.currentThread().getName());
+                    reactor.send(socket, message);
+                }
+            }, executor, 4)
+            .build();
+
+        reactor.start();
+        for (int i = 0; i < 100; i++) {
+            client1.send(new Message(i));
+            client2.send(new Message(i));
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, client1.receiveMessage().popInt());
+            assertEquals(i, client2.receiveMessage().popInt());
+        }
+
+        assertEquals(200, sockets.size());
+        for (Socket socket : sockets) {
+            assertTrue(socket == router);
+        }
+        for (String thread : threads) {
+            assertTrue(thread.startsWith("pool-"));
+        }
+
+        reactor.stop();
+        executor.shutdown();
+    }
+
     @Test
     public void testPollers_1000() throws Exception {
         ReactorBuilder builder = context.buildReactor();
@@ -0,0 +1,174 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class ReliablePubSubTest {
+    private ManagedContext context;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 5000)
+    public void testRecovery() throws Exception {
+        ReliablePublisher publisher = context.buildReliablePublisher()
+            .withPublishUrl("inproc://reliable-publisher")
+            .withRecoveryUrl("inproc://reliable-recovery")
+            .withRingSize(4)
+            .start();
+
+        // drop messages on the way, as a slow subscriber would at its HWM
+        Socket input = context.buildSocket(SocketType.SUB)
+            .asSubscribable().subscribeAll()
+            .connect("inproc://reliable-publisher");
+        Socket output = context.buildSocket(SocketType.PUB)
+            .bind("inproc://reliable-lossy");
+        new Thread(new LossyProxy(input, output)).start();
+
+        final BlockingQueue<Integer> receivedA = new LinkedBlockingQueue<>();
+        final BlockingQueue<Integer> receivedB = new LinkedBlockingQueue<>();
+        final BlockingQueue<String> lost = new LinkedBlockingQueue<>();
+        ReliableSubscriber subscriber = context.buildReliableSubscriber()
+            .withPublishUrl("inproc://reliable-lossy")
+            .withRecoveryUrl("inproc://reliable-recovery")
+            .withHandler(new MessageHandler() {
+                @Override
+                public void execute(Reactor reactor, Socket socket, Message message) {
+                    String topic = message.popString();
+                    (topic.equals("A") ? receivedA : receivedB).add(message.popInt());
+                }
+            })
+            .withLossHandler(new ReliableSubscriber.LossHandler() {
+                @Override
+                public void execute(byte[] topic, long from, long to) {
+                    lost.add(new String(topic, Message.CHARSET) + from + "-" + to);
+                }
+            })
+            .start();
+
+        // Give slow joiner some time
+        Thread.sleep(100);
+
+        for (int i = 1; i <= 10; i++) {
+            publisher.publish(new Message("A").addInt(i));
+            publisher.publish(new Message("B").addInt(i));
+        }
+
+        // A9 is recovered from the ring, in sequence with the live messages
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(i, (int) receivedA.take());
+        }
+
+        // B3 to B8 were dropped, and only the last 4 are still in the ring
+        String loss = lost.take();
+        assertTrue(loss, loss.startsWith("B3-"));
+        int to = Integer.parseInt(loss.substring(3));
+        assertTrue(to >= 4 && to <= 6);
+        assertEquals(1, (int) receivedB.take());
+        assertEquals(2, (int) receivedB.take());
+        for (int i = to + 1; i <= 10; i++) {
+            assertEquals(i, (int) receivedB.take());
+        }
+
+        subscriber.stop();
+        publisher.stop();
+    }
+
+    @Test(timeout = 5000)
+    public void testPublishCopiesMessage() throws Exception {
+        ReliablePublisher publisher = context.buildReliablePublisher()
+            .withPublishUrl("inproc://reliable-copy-publisher")
+            .withRecoveryUrl("inproc://reliable-copy-recovery")
+            .start();
+
+        // the caller keeps using its message after publishing it
+        Message message = new Message("A").addString("first");
+        publisher.publish(message);
+        message.addString("changed");
+
+        Socket recovery = context.buildSocket(SocketType.DEALER)
+            .connect("inproc://reliable-copy-recovery");
+        recovery.send(new Message().addEmptyFrame().addString("A").addLong(1).addLong(1));
+        Message reply = recovery.receiveMessage();
+        reply.popFrame();
+        assertEquals(3, reply.size());
+        assertEquals("A", reply.popString());
+        assertEquals(1, reply.popLong());
+        assertEquals("first", reply.popString());
+
+        publisher.stop();
+    }
+
+    @Test(timeout = 5000)
+    public void testInvalidRecoveryRequest() throws Exception {
+        ReliablePublisher publisher = context.buildReliablePublisher()
+            .withPublishUrl("inproc://reliable-invalid-publisher")
+            .withRecoveryUrl("inproc://reliable-invalid-recovery")
+            .start();
+        publisher.publish(new Message("A").addString("first"));
+
+        // malformed requests are dropped, and later requests still answered
+        Socket recovery = context.buildSocket(SocketType.DEALER)
+            .connect("inproc://reliable-invalid-recovery");
+        recovery.send(new Message().addEmptyFrame().addString("A"));
+        recovery.send(new Message().addEmptyFrame().addString("A").addString("x").addString("y"));
+        recovery.send(new Message().addEmptyFrame().addString("A").addLong(1).addLong(1));
+        Message reply = recovery.receiveMessage();
+        reply.popFrame();
+        assertEquals("A", reply.popString());
+        assertEquals(1, reply.popLong());
+        assertEquals("first", reply.popString());
+
+        publisher.stop();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPublishWithoutTopic() throws Exception {
+        ReliablePublisher publisher = context.buildReliablePublisher()
+            .withPublishUrl("inproc://reliable-empty-publisher")
+            .withRecoveryUrl("inproc://reliable-empty-recovery")
+            .build();
+
+        publisher.publish(new Message());
+    }
+
+    private static class LossyProxy implements Runnable {
+        private final Socket input;
+        private final Socket output;
+
+        public LossyProxy(Socket input, Socket output) {
+            this.input = input;
+            this.output = output;
+        }
+
+        @Override
+        public void run() {
+            Message message;
+            while ((message = input.receiveMessage()) != null) {
+                // [topic, sequence, payload]
+                String topic = message.getFrames().get(0).toString();
+                long sequence = message.getFrames().get(1).getLong();
+                if ((topic.equals("A") && sequence == 9) || (topic.equals("B") && sequence >= 3 && sequence <= 8)) {
+                    continue;
+                }
+                output.send(message);
+            }
+        }
+    }
+}
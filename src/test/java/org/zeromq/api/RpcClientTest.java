@@ -0,0 +1,134 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+public class RpcClientTest {
+    private ManagedContext context;
+    private Reactor server;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+
+        // echo every request, except those asking to be dropped
+        Socket socket = context.buildSocket(SocketType.ROUTER)
+            .bind("inproc://rpc-client");
+        server = context.buildReactor()
+            .withInPollable(socket, new LoopAdapter() {
+                @Override
+                protected void execute(Reactor reactor, Socket socket) {
+                    Message message = socket.receiveMessage();
+                    if (!"drop".equals(message.getFrames().get(message.size() - 1).toString())) {
+                        socket.send(message);
+                    }
+                }
+            })
+            .build();
+        server.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        server.stop();
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testPipelinedRequests() throws Exception {
+        RpcClient client = context.buildRpcClient()
+            .connect("inproc://rpc-client");
+
+        List<CompletableFuture<Message>> futures = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            futures.add(client.request(new Message("hello").addInt(i)));
+        }
+        for (int i = 0; i < 5000; i++) {
+            Message reply = futures.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals("hello", reply.popString());
+            assertEquals(i, reply.popInt());
+        }
+        assertEquals(0, client.getPending());
+
+        client.close();
+    }
+
+    @Test(timeout = 5000)
+    public void testTimeoutAndCancel() throws Exception {
+        RpcClient client = context.buildRpcClient()
+            .withMaxPending(2)
+            .connect("inproc://rpc-client");
+
+        CompletableFuture<Message> dropped = client.request(new Message("drop"), 100);
+        CompletableFuture<Message> cancelled = client.request(new Message("drop"), 5000);
+        assertEquals(2, client.getPending());
+
+        // no more requests fit in flight
+        try {
+            client.request(new Message("hello")).get();
+            fail("Expected request to be rejected");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof RejectedExecutionException);
+        }
+
+        assertTrue(cancelled.cancel(false));
+        try {
+            dropped.get();
+            fail("Expected request to time out");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof TimeoutException);
+        }
+        assertEquals(0, client.getPending());
+        assertEquals("hello", client.request(new Message("hello")).get().popString());
+
+        client.close();
+    }
+
+    @Test(timeout = 5000)
+    public void testUnreachableServer() throws Exception {
+        int port;
+        try (ServerSocket unused = new ServerSocket(0)) {
+            port = unused.getLocalPort();
+        }
+        RpcClient client = context.buildRpcClient()
+            .withMaxPending(10)
+            .withTimeout(100)
+            .connect("tcp://127.0.0.1:" + port);
+
+        // the first batch fills the socket, and the second can't be sent at
+        // all, but both time out instead of stalling the client
+        for (int batch = 0; batch < 2; batch++) {
+            List<CompletableFuture<Message>> futures = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                futures.add(client.request(new Message("hello").addInt(i)));
+            }
+            for (CompletableFuture<Message> future : futures) {
+                try {
+                    future.get();
+                    fail("Expected request to time out");
+                } catch (ExecutionException ex) {
+                    assertTrue(ex.getCause() instanceof TimeoutException);
+                }
+            }
+            assertEquals(0, client.getPending());
+        }
+
+        client.close();
+    }
+}
@@ -0,0 +1,163 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public class RpcServerTest {
+    private ManagedContext context;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testWorkerPool() throws Exception {
+        final Set<String> threads = ConcurrentHashMap.newKeySet();
+        RpcServer server = context.buildRpcServer()
+            .withWorkers(4)
+            .withHandler(new Function<Message, Message>() {
+                @Override
+                public Message apply(Message request) {
+                    threads.add(Thread.currentThread().getName());
+                    if ("fail".equals(request.getFirstFrame().toString())) {
+                        throw new IllegalArgumentException("fail");
+                    }
+                    return new Message("reply").addFrames(request);
+                }
+            })
+            .bind("inproc://rpc-server");
+        RpcClient client = context.buildRpcClient()
+            .connect("inproc://rpc-server");
+
+        List<CompletableFuture<Message>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            futures.add(client.request(new Message("hello").addInt(i)));
+        }
+        for (int i = 0; i < 1000; i++) {
+            Message reply = futures.get(i).get(5, TimeUnit.SECONDS);
+            assertEquals("reply", reply.popString());
+            assertEquals("hello", reply.popString());
+            assertEquals(i, reply.popInt());
+        }
+        assertTrue(threads.size() > 1);
+
+        // a failed request gets no reply, and the worker carries on
+        CompletableFuture<Message> failed = client.request(new Message("fail"), 100);
+        assertEquals("reply", client.request(new Message("hello")).get().popString());
+        assertTrue(failed.handle(new BiFunction<Message, Throwable, Boolean>() {
+            @Override
+            public Boolean apply(Message reply, Throwable ex) {
+                return ex != null;
+            }
+        }).get());
+
+        assertEquals(1002, server.getReceived());
+        assertEquals(1001, server.getReplied());
+        assertEquals(1, server.getFailed());
+        assertEquals(0, server.getInFlight());
+
+        client.close();
+        server.stop();
+    }
+
+    @Test(timeout = 5000)
+    public void testBoundedQueues() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        RpcServer server = context.buildRpcServer()
+            .withWorkers(2)
+            .withQueueSize(1)
+            .withHandler(new Function<Message, Message>() {
+                @Override
+                public Message apply(Message request) {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                    return request;
+                }
+            })
+            .bind("inproc://rpc-bounded");
+        RpcClient client = context.buildRpcClient()
+            .connect("inproc://rpc-bounded");
+
+        List<CompletableFuture<Message>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            futures.add(client.request(new Message(i)));
+        }
+
+        // only one request per worker is taken while the workers are busy
+        Thread.sleep(200);
+        assertEquals(2, server.getInFlight());
+        assertEquals(2, server.getReceived());
+
+        latch.countDown();
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i, futures.get(i).get(2, TimeUnit.SECONDS).popInt());
+        }
+
+        client.close();
+        server.stop();
+    }
+
+    @Test(timeout = 10000)
+    public void testUnboundedQueue() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        RpcServer server = context.buildRpcServer()
+            .withWorkers(1)
+            .withQueueSize(0)
+            .withHandler(new Function<Message, Message>() {
+                @Override
+                public Message apply(Message request) {
+                    try {
+                        latch.await();
+                    } catch (InterruptedException ignored) {
+                    }
+                    return request;
+                }
+            })
+            .bind("inproc://rpc-unbounded");
+        RpcClient client = context.buildRpcClient()
+            .connect("inproc://rpc-unbounded");
+
+        // more requests queue at the worker than the default high-water
+        // marks hold, and none of them are dropped
+        List<CompletableFuture<Message>> futures = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            futures.add(client.request(new Message(i), 8000));
+        }
+        while (server.getInFlight() < 3000) {
+            Thread.sleep(10);
+        }
+
+        latch.countDown();
+        for (int i = 0; i < 3000; i++) {
+            assertEquals(i, futures.get(i).get(5, TimeUnit.SECONDS).popInt());
+        }
+        assertEquals(0, server.getInFlight());
+
+        client.close();
+        server.stop();
+    }
+}
@@ -0,0 +1,139 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.jzmq.ManagedContext;
+import org.zeromq.jzmq.pubsub.SequenceHeader;
+import org.zeromq.jzmq.pubsub.SubscriberLagMonitor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class SubscriberLagMonitorTest {
+    private ManagedContext context;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 5000)
+    public void testSequenceHeader() throws Exception {
+        Socket publisher = context.buildSocket(SocketType.PUB).bind("inproc://lag-publisher");
+        Socket subscriber = context.buildSocket(SocketType.SUB)
+            .asSubscribable().subscribe("T".getBytes())
+            .connect("inproc://lag-publisher");
+
+        // Give slow joiner some time
+        Thread.sleep(25);
+
+        SequenceHeader header = new SequenceHeader();
+        publisher.send(header.stamp(new Message("T").addString("one")));
+        publisher.send(header.stamp(new Message("T").addString("two")));
+
+        SubscriberLagMonitor monitor = new SubscriberLagMonitor(0, 0, SubscriberLagMonitor.alert());
+        Message message = monitor.receive(subscriber.receiveMessage());
+        assertEquals("T", message.popString());
+        assertEquals("one", message.popString());
+        message = monitor.receive(subscriber.receiveMessage());
+        assertEquals("T", message.popString());
+        assertEquals("two", message.popString());
+        assertEquals(2, monitor.getSequence());
+        assertEquals(0, monitor.getGaps());
+    }
+
+    @Test(timeout = 5000)
+    public void testSubscribeToSomeTopics() throws Exception {
+        Socket publisher = context.buildSocket(SocketType.PUB).bind("inproc://lag-topics");
+        Socket subscriber = context.buildSocket(SocketType.SUB)
+            .asSubscribable().subscribe("A".getBytes())
+            .connect("inproc://lag-topics");
+
+        // Give slow joiner some time
+        Thread.sleep(25);
+
+        SequenceHeader header = new SequenceHeader();
+        for (int i = 0; i < 3; i++) {
+            publisher.send(header.stamp(new Message("A").addString("a")));
+            publisher.send(header.stamp(new Message("B").addString("b")));
+        }
+        assertEquals(4, header.getSequence("A".getBytes()));
+        assertEquals(4, header.getSequence("B".getBytes()));
+        assertEquals(1, header.getSequence("C".getBytes()));
+
+        SubscriberLagMonitor monitor = new SubscriberLagMonitor(0, 1, SubscriberLagMonitor.alert());
+        for (int i = 1; i <= 3; i++) {
+            Message message = monitor.receive(subscriber.receiveMessage());
+            assertEquals("A", message.popString());
+            assertEquals(i, monitor.getSequence());
+        }
+        assertEquals(0, monitor.getGaps());
+    }
+
+    @Test
+    public void testGapsPerTopic() throws Exception {
+        SubscriberLagMonitor monitor = new SubscriberLagMonitor(0, 0, SubscriberLagMonitor.alert());
+        long now = System.currentTimeMillis();
+        monitor.update("A".getBytes(), 1, now);
+        monitor.update("B".getBytes(), 1, now);
+        monitor.update("A".getBytes(), 2, now);
+        monitor.update("B".getBytes(), 2, now);
+        assertEquals(0, monitor.getGaps());
+
+        monitor.update("A".getBytes(), 4, now);
+        monitor.update("B".getBytes(), 3, now);
+        assertEquals(1, monitor.getGaps());
+        assertEquals(1, monitor.getMissed());
+    }
+
+    @Test
+    public void testGapsAndLag() throws Exception {
+        final List<SubscriberLagMonitor.Reason> reasons = new ArrayList<>();
+        SubscriberLagMonitor monitor = new SubscriberLagMonitor(1000, 3, new SubscriberLagMonitor.Action() {
+            @Override
+            public void execute(SubscriberLagMonitor monitor, SubscriberLagMonitor.Reason reason) {
+                reasons.add(reason);
+            }
+        });
+
+        long now = System.currentTimeMillis();
+        monitor.update(5, now);
+        monitor.update(6, now);
+        monitor.update(8, now);
+        assertEquals(1, monitor.getGaps());
+        assertEquals(1, monitor.getMissed());
+        assertTrue(reasons.isEmpty());
+
+        monitor.update(12, now);
+        assertEquals(2, monitor.getGaps());
+        assertEquals(4, monitor.getMissed());
+        assertEquals(SubscriberLagMonitor.Reason.GAP, reasons.remove(0));
+
+        // lag fires once until it recovers
+        monitor.update(13, now - 5000);
+        monitor.update(14, now - 5000);
+        assertTrue(monitor.isLagging());
+        assertEquals(SubscriberLagMonitor.Reason.LAG, reasons.remove(0));
+        assertTrue(reasons.isEmpty());
+        assertTrue(monitor.getMaxLag() >= 5000);
+
+        monitor.update(15, System.currentTimeMillis());
+        assertFalse(monitor.isLagging());
+
+        monitor.reset();
+        monitor.update(100, System.currentTimeMillis());
+        assertEquals(2, monitor.getGaps());
+        assertEquals(8, monitor.getReceived());
+    }
+}
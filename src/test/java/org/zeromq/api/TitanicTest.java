@@ -0,0 +1,199 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.zeromq.jzmq.ManagedContext;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class TitanicTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ManagedContext context;
+    private MajordomoBroker broker;
+    private MajordomoClient client;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+        broker = context.buildMajordomoBroker()
+            .withUrl("inproc://titanic-broker")
+            .withHeartbeatInterval(100)
+            .start();
+        client = context.buildMajordomoClient()
+            .withBrokerUrl("inproc://titanic-broker")
+            .withTimeout(1000)
+            .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        client.close();
+        broker.stop();
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 10000)
+    public void testRequestReply() throws Exception {
+        Titanic titanic = newTitanic(folder.newFolder());
+        String uuid = submit("echo", "hello");
+
+        // nothing can answer yet, so the reply is pending
+        assertEquals(Titanic.PENDING, client.request(Titanic.REPLY, new Message(uuid)).popString());
+
+        MajordomoWorker worker = newWorker("echo");
+        Message reply = awaitReply(uuid);
+        assertEquals("echo", reply.popString());
+        assertEquals("hello", reply.popString());
+
+        assertEquals(Titanic.OK, client.request(Titanic.CLOSE, new Message(uuid)).popString());
+        assertEquals(Titanic.UNKNOWN, client.request(Titanic.REPLY, new Message(uuid)).popString());
+
+        worker.stop();
+        titanic.stop();
+    }
+
+    @Test(timeout = 10000)
+    public void testRestart() throws Exception {
+        File directory = folder.newFolder();
+        Titanic titanic = newTitanic(directory);
+        String first = submit("late", "first");
+        String second = submit("late", "second");
+        assertEquals(Titanic.OK, client.request(Titanic.CLOSE, new Message(first)).popString());
+        titanic.stop();
+
+        // open requests survive a restart, and are dispatched once a worker arrives
+        titanic = newTitanic(directory);
+        MajordomoWorker worker = newWorker("late");
+        Message reply = awaitReply(second);
+        assertEquals("late", reply.popString());
+        assertEquals("second", reply.popString());
+        assertEquals(Titanic.UNKNOWN, client.request(Titanic.REPLY, new Message(first)).popString());
+
+        worker.stop();
+        titanic.stop();
+    }
+
+    @Test(timeout = 20000)
+    public void testClosedStaysClosed() throws Exception {
+        File directory = folder.newFolder();
+        Titanic titanic = newTitanic(directory);
+        String first = submit("late", "first");
+        String second = submit("late", "second");
+        for (int i = 0; i < 3; i++) {
+            submit("late", "filler");
+        }
+
+        // the close is written to a new journal, while the first journal
+        // is kept by the other requests, and a large request rolls again
+        assertEquals(Titanic.OK, client.request(Titanic.CLOSE, new Message(first)).popString());
+        submit("late", new String(new char[256]).replace('\0', 'x'));
+        titanic.stop();
+
+        // the journal holding only the close must survive more than one restart
+        for (int i = 0; i < 2; i++) {
+            titanic = newTitanic(directory);
+            assertEquals(Titanic.UNKNOWN, client.request(Titanic.REPLY, new Message(first)).popString());
+            assertEquals(Titanic.PENDING, client.request(Titanic.REPLY, new Message(second)).popString());
+            titanic.stop();
+        }
+    }
+
+    @Test(timeout = 20000)
+    public void testConcurrentRequests() throws Exception {
+        Titanic titanic = newTitanic(folder.newFolder());
+
+        // clients submitting at the same time are served by separate request workers
+        final int clients = 8;
+        final Set<String> uuids = Collections.synchronizedSet(new HashSet<String>());
+        final AtomicInteger failed = new AtomicInteger();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    MajordomoClient client = context.buildMajordomoClient()
+                        .withBrokerUrl("inproc://titanic-broker")
+                        .withTimeout(5000)
+                        .build();
+                    for (int j = 0; j < 10; j++) {
+                        Message reply = client.request(Titanic.REQUEST, new Message("late").addString("concurrent"));
+                        if (reply == null || !Titanic.OK.equals(reply.popString())) {
+                            failed.incrementAndGet();
+                        } else {
+                            uuids.add(reply.popString());
+                        }
+                    }
+                    client.close();
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, failed.get());
+        assertEquals(clients * 10, uuids.size());
+        for (String uuid : uuids) {
+            assertEquals(Titanic.PENDING, client.request(Titanic.REPLY, new Message(uuid)).popString());
+        }
+        titanic.stop();
+    }
+
+    private Titanic newTitanic(File directory) {
+        return context.buildTitanic()
+            .withBrokerUrl("inproc://titanic-broker")
+            .withDirectory(directory)
+            .withFileSize(256)
+            .withTimeout(500)
+            .withRetryInterval(100)
+            .withHeartbeatInterval(100)
+            .start();
+    }
+
+    private MajordomoWorker newWorker(final String name) {
+        return context.buildMajordomoWorker()
+            .withBrokerUrl("inproc://titanic-broker")
+            .withService(name)
+            .withHandler(new Function<Message, Message>() {
+                @Override
+                public Message apply(Message request) {
+                    return new Message(name).addFrames(request);
+                }
+            })
+            .withHeartbeatInterval(100)
+            .start();
+    }
+
+    private String submit(String service, String body) {
+        Message reply = client.request(Titanic.REQUEST, new Message(service).addString(body));
+        assertEquals(Titanic.OK, reply.popString());
+        return reply.popString();
+    }
+
+    private Message awaitReply(String uuid) throws InterruptedException {
+        while (true) {
+            Message reply = client.request(Titanic.REPLY, new Message(uuid));
+            if (Titanic.OK.equals(reply.popString())) {
+                return reply;
+            }
+            Thread.sleep(50);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.zeromq.jzmq.ManagedContext;
+import org.zeromq.jzmq.pubsub.TopicDispatcher;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class TopicDispatcherTest {
+    private ManagedContext context;
+
+    @Before
+    public void setUp() {
+        context = new ManagedContext();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        context.terminate();
+        context.close();
+    }
+
+    @Test(timeout = 5000)
+    public void testDispatch() throws Exception {
+        Socket publisher = context.buildSocket(SocketType.PUB).bind("inproc://dispatch-publisher");
+        Socket subscriber = context.buildSocket(SocketType.SUB).connect("inproc://dispatch-publisher");
+
+        final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        final MessageHandler handlerC = new Recorder("C", received);
+        final TopicDispatcher dispatcher = new TopicDispatcher(subscriber);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        dispatcher.addTopic("A".getBytes(), new Recorder("A", received) {
+            @Override
+            public void execute(Reactor reactor, Socket socket, Message message) {
+                super.execute(reactor, socket, message);
+                if (message.getFirstFrame().toString().equals("A-update")) {
+                    // change subscriptions at runtime, from the reactor thread
+                    dispatcher.removeTopic("AB".getBytes());
+                    dispatcher.addTopic("C".getBytes(), handlerC);
+                }
+            }
+        });
+        dispatcher.addTopic("AB".getBytes(), new Recorder("AB", received), executor);
+
+        Reactor reactor = context.buildReactor().build();
+        dispatcher.register(reactor);
+        reactor.start();
+
+        // Give slow joiner some time
+        Thread.sleep(50);
+
+        publisher.send(new Message("A1"));
+        publisher.send(new Message("AB1"));
+        publisher.send(new Message("C1"));
+        assertEquals("A:A1", received.take());
+        assertEquals("AB:AB1", received.take());
+
+        publisher.send(new Message("A-update"));
+        assertEquals("A:A-update", received.take());
+        Thread.sleep(50);
+
+        // AB is now handled by the A prefix
+        publisher.send(new Message("AB2"));
+        publisher.send(new Message("C2"));
+        assertEquals("A:AB2", received.take());
+        assertEquals("C:C2", received.take());
+        assertNull(received.poll(50, TimeUnit.MILLISECONDS));
+        assertEquals(2, dispatcher.getTopicCount());
+
+        reactor.stop();
+        executor.shutdown();
+    }
+
+    @Test(timeout = 5000)
+    public void testReplaceHandlerKeepsOrder() throws Exception {
+        Socket publisher = context.buildSocket(SocketType.PUB).bind("inproc://dispatch-replace");
+        Socket subscriber = context.buildSocket(SocketType.SUB).connect("inproc://dispatch-replace");
+
+        final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final MessageHandler second = new Recorder("second", received);
+        final TopicDispatcher dispatcher = new TopicDispatcher(subscriber);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        dispatcher.addTopic("A".getBytes(), new Recorder("first", received) {
+            @Override
+            public void execute(Reactor reactor, Socket socket, Message message) {
+                if (message.getFirstFrame().toString().equals("A1")) {
+                    blocked.countDown();
+                    try {
+                        release.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                super.execute(reactor, socket, message);
+            }
+        }, executor);
+        dispatcher.addTopic("B".getBytes(), new MessageHandler() {
+            @Override
+            public void execute(Reactor reactor, Socket socket, Message message) {
+                // replace the handler while A1 is still being handled
+                dispatcher.addTopic("A".getBytes(), second, executor);
+            }
+        });
+
+        Reactor reactor = context.buildReactor().build();
+        dispatcher.register(reactor);
+        reactor.start();
+
+        // Give slow joiner some time
+        Thread.sleep(50);
+
+        publisher.send(new Message("A1"));
+        publisher.send(new Message("A2"));
+        blocked.await();
+        publisher.send(new Message("B1"));
+        publisher.send(new Message("A3"));
+        Thread.sleep(50);
+        release.countDown();
+
+        // the new handler only runs after the messages queued before it
+        assertEquals("first:A1", received.take());
+        assertEquals("first:A2", received.take());
+        assertEquals("second:A3", received.take());
+        assertNull(received.poll(50, TimeUnit.MILLISECONDS));
+        assertEquals(2, dispatcher.getTopicCount());
+
+        reactor.stop();
+        executor.shutdown();
+    }
+
+    private static class Recorder implements MessageHandler {
+        private final String name;
+        private final BlockingQueue<String> received;
+
+        public Recorder(String name, BlockingQueue<String> received) {
+            this.name = name;
+            this.received = received;
+        }
+
+        @Override
+        public void execute(Reactor reactor, Socket socket, Message message) {
+            received.add(name + ":" + message.getFirstFrame());
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.zeromq.api;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.zeromq.jzmq.pubsub.TopicTrie;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TopicTrieTest {
+    @Test
+    public void testSubscriptions() throws Exception {
+        TopicTrie<String> trie = new TopicTrie<>();
+        assertTrue(trie.subscribe(bytes("A"), "a"));
+        assertFalse(trie.subscribe(bytes("A"), "a"));
+        assertTrue(trie.subscribe(bytes("AB"), "ab"));
+        assertTrue(trie.subscribe(bytes("B"), "b"));
+        assertEquals(3, trie.size());
+        assertEquals(2, trie.getCount(bytes("A")));
+
+        assertTrue(trie.matches(new Message.Frame("ABC")));
+        assertFalse(trie.matches(new Message.Frame("C")));
+        assertEquals("ab", trie.longestMatch(new Message.Frame("ABC")));
+        assertEquals("a", trie.longestMatch(new Message.Frame("AC")));
+        assertNull(trie.longestMatch(new Message.Frame("C")));
+        assertEquals(Arrays.asList("a", "ab"), trie.matchAll(new Message.Frame("ABC")));
+
+        // counted subscriptions are removed by the last unsubscribe
+        assertFalse(trie.unsubscribe(bytes("A")));
+        assertTrue(trie.unsubscribe(bytes("A")));
+        assertFalse(trie.unsubscribe(bytes("A")));
+        assertEquals("ab", trie.longestMatch(new Message.Frame("ABC")));
+        assertEquals(Arrays.asList("ab"), trie.matchAll(new Message.Frame("ABC")));
+        assertTrue(trie.unsubscribe(bytes("AB")));
+        assertFalse(trie.matches(new Message.Frame("ABC")));
+        assertEquals(1, trie.size());
+
+        // the empty prefix matches everything
+        trie.subscribe(new byte[0], "all");
+        assertEquals(Arrays.asList("all", "b"), trie.matchAll(new Message.Frame("B")));
+    }
+
+    @Test
+    public void testMap() throws Exception {
+        TopicTrie<Integer> trie = new TopicTrie<>();
+        assertNull(trie.put(bytes("key/b"), 2));
+        assertNull(trie.put(bytes("key/a"), 1));
+        assertNull(trie.put(bytes("other"), 3));
+        assertNull(trie.put(new byte[] { (byte) 0xff }, 4));
+        assertNull(trie.put(new byte[] { 0x01 }, 5));
+        assertEquals(Integer.valueOf(1), trie.put(bytes("key/a"), 10));
+        assertEquals(Integer.valueOf(10), trie.get(bytes("key/a")));
+        assertNull(trie.get(bytes("key")));
+        assertFalse(trie.contains(bytes("key")));
+
+        List<Integer> values = new ArrayList<>();
+        trie.collect(bytes("key/"), values);
+        assertEquals(Arrays.asList(10, 2), values);
+
+        // bytes are ordered as unsigned values
+        values.clear();
+        trie.collect(new byte[0], values);
+        assertEquals(Arrays.asList(5, 10, 2, 3, 4), values);
+
+        assertEquals(Integer.valueOf(10), trie.remove(bytes("key/a")));
+        assertNull(trie.remove(bytes("key/a")));
+        values.clear();
+        trie.collect(bytes("key"), values);
+        assertEquals(Arrays.asList(2), values);
+        assertEquals(4, trie.size());
+
+        trie.clear();
+        assertTrue(trie.isEmpty());
+        assertNull(trie.get(bytes("other")));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(Message.CHARSET);
+    }
+}